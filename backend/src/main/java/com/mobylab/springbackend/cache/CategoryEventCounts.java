@@ -0,0 +1,126 @@
+package com.mobylab.springbackend.cache;
+
+import com.mobylab.springbackend.repository.CategoryRepository;
+import com.mobylab.springbackend.repository.projection.CategoryEventCount;
+import com.mobylab.springbackend.service.event.CategoryChangedEvent;
+import com.mobylab.springbackend.service.event.EventChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Number of events per category, loaded by one aggregate query on first use and then kept up to
+ * date from committed event creations, deletions and recategorizations.
+ * <p>
+ * A change is applied once its transaction has committed, which leaves a gap where the row is
+ * visible but the change not yet applied. Changes are therefore also noted while their
+ * transaction is still open: no load starts while one is in flight, and a load that overlaps one
+ * is discarded, since it may or may not be part of what was read. The caller then falls back to
+ * counting and the next call loads again. A category change drops the counts altogether.
+ */
+@Component
+public class CategoryEventCounts {
+
+    private final CategoryRepository categoryRepository;
+    private Map<UUID, Long> counts;
+    private long changes;
+    private long started;
+    private int inFlight;
+
+    @Autowired
+    public CategoryEventCounts(CategoryRepository categoryRepository) {
+        this.categoryRepository = categoryRepository;
+    }
+
+    /**
+     * Returns the number of events in the category, or null if the counts are not loaded and
+     * could not be loaded consistently.
+     */
+    public Long get(UUID categoryId) {
+        Map<UUID, Long> loaded = load();
+        if (loaded == null) {
+            return null;
+        }
+        synchronized (this) {
+            return loaded.getOrDefault(categoryId, 0L);
+        }
+    }
+
+    @EventListener
+    public void onEventChanging(EventChangedEvent change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        synchronized (this) {
+            started++;
+            inFlight++;
+        }
+        // Runs after the commit listeners, so the change is applied by the time it leaves
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                synchronized (CategoryEventCounts.this) {
+                    inFlight--;
+                }
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onEventChanged(EventChangedEvent change) {
+        changes++;
+        if (counts == null) {
+            return;
+        }
+        UUID previous = change.getPrevious() != null ? change.getPrevious().getCategoryId() : null;
+        UUID current = change.getCurrent() != null ? change.getCurrent().getCategoryId() : null;
+        if (previous != null && !previous.equals(current)) {
+            counts.merge(previous, -1L, Long::sum);
+        }
+        if (current != null && !current.equals(previous)) {
+            counts.merge(current, 1L, Long::sum);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCategoryChanged(CategoryChangedEvent change) {
+        // Reloaded rather than patched, so no category is left with a count it does not have
+        changes++;
+        counts = null;
+    }
+
+    private Map<UUID, Long> load() {
+        long observedChanges;
+        long observedStarted;
+        synchronized (this) {
+            if (counts != null) {
+                return counts;
+            }
+            if (inFlight > 0) {
+                return null;
+            }
+            observedChanges = changes;
+            observedStarted = started;
+        }
+
+        Map<UUID, Long> loaded = new HashMap<>();
+        for (CategoryEventCount row : categoryRepository.countEventsPerCategory()) {
+            loaded.put(row.getCategoryId(), row.getEventsCount());
+        }
+
+        synchronized (this) {
+            if (counts == null && changes == observedChanges && started == observedStarted) {
+                counts = loaded;
+            }
+            return counts;
+        }
+    }
+
+}
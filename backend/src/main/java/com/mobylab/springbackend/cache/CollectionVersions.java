@@ -0,0 +1,101 @@
+package com.mobylab.springbackend.cache;
+
+import com.mobylab.springbackend.service.event.CategoryChangedEvent;
+import com.mobylab.springbackend.service.event.EventChangedEvent;
+import com.mobylab.springbackend.service.event.RegisteredCountsRecomputedEvent;
+import com.mobylab.springbackend.service.event.RegistrationChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Version counters for whole collections, bumped after every committed change that can alter
+ * any listing of the collection. They back the ETag and Last-Modified headers of list endpoints,
+ * so a client polling an unchanged listing gets a 304 without anything being read or mapped.
+ * <p>
+ * Versions live in memory and restart from zero; the tag includes the start time of this
+ * instance so tags from a previous run never match.
+ */
+@Component
+public class CollectionVersions {
+
+    public static final String EVENTS = "events";
+    public static final String CATEGORIES = "categories";
+    // Only category renames and deletions; single events carry their category name
+    public static final String CATEGORY_NAMES = "category-names";
+
+    private final String instanceTag = Long.toString(System.currentTimeMillis(), 36);
+    private final long startedAt = System.currentTimeMillis();
+    private final Map<String, Version> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Strong ETag for the current version of the collection. Read it before loading the data
+     * it describes, so a concurrent change can only make the tag older than the data.
+     */
+    public String etag(String collection) {
+        return "\"" + collection + "-" + instanceTag + "-" + version(collection) + "\"";
+    }
+
+    public long version(String collection) {
+        return current(collection).number;
+    }
+
+    public String getInstanceTag() {
+        return instanceTag;
+    }
+
+    /**
+     * Time of the last change to the collection, in epoch milliseconds.
+     */
+    public long lastModified(String collection) {
+        return current(collection).modifiedAt;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        bump(EVENTS);
+        // Categories list their number of events
+        bump(CATEGORIES);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRegistrationChanged(RegistrationChangedEvent change) {
+        if (change.getSeatsDelta() != 0) {
+            bump(EVENTS);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRegisteredCountsRecomputed(RegisteredCountsRecomputedEvent change) {
+        bump(EVENTS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent change) {
+        bump(CATEGORIES);
+        bump(CATEGORY_NAMES);
+        // Events list their category name
+        bump(EVENTS);
+    }
+
+    private Version current(String collection) {
+        return versions.getOrDefault(collection, new Version(0, startedAt));
+    }
+
+    private void bump(String collection) {
+        versions.compute(collection, (key, version) -> new Version(version == null ? 1 : version.number + 1,
+                Math.max(System.currentTimeMillis(), version == null ? startedAt : version.modifiedAt)));
+    }
+
+    private static final class Version {
+        private final long number;
+        private final long modifiedAt;
+
+        private Version(long number, long modifiedAt) {
+            this.number = number;
+            this.modifiedAt = modifiedAt;
+        }
+    }
+}
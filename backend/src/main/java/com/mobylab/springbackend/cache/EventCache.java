@@ -0,0 +1,81 @@
+package com.mobylab.springbackend.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.mobylab.springbackend.dto.EventDto;
+import com.mobylab.springbackend.dto.mapper.EntityMapper;
+import com.mobylab.springbackend.repository.EventRepository;
+import com.mobylab.springbackend.service.event.CategoryChangedEvent;
+import com.mobylab.springbackend.service.event.EventChangedEvent;
+import com.mobylab.springbackend.service.event.RegisteredCountsRecomputedEvent;
+import com.mobylab.springbackend.service.event.RegistrationChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Read-through cache of single events. Caffeine's W-TinyLFU admission keeps frequently read
+ * events resident, and concurrent misses for one ID share a single load. Entries are dropped
+ * once a change to the event or its seat count commits, so the next read picks up the
+ * registration timestamp the database wrote; the TTL bounds how long a load racing with a
+ * change can serve what it read. Cached entries are never handed out, only copies of them.
+ */
+@Component
+public class EventCache {
+
+    private final LoadingCache<UUID, EventDto> events;
+    private final EntityMapper mapper;
+
+    @Autowired
+    public EventCache(EventRepository eventRepository,
+                      EntityMapper mapper,
+                      MeterRegistry meterRegistry,
+                      @Value("${events.cache.ttl:10m}") Duration ttl,
+                      @Value("${events.cache.max-size:10000}") long maxSize) {
+        this.mapper = mapper;
+        // A missing event loads as null, which Caffeine does not store
+        this.events = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(id -> eventRepository.findViewById(id).map(mapper::toDto).orElse(null));
+        CaffeineCacheMetrics.monitor(meterRegistry, events, "events");
+    }
+
+    /**
+     * Returns the event, or null if it does not exist.
+     */
+    public EventDto get(UUID id) {
+        return mapper.copy(events.get(id));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        events.invalidate(change.getEventId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent change) {
+        // Cached events carry their category name; renames are rare enough to drop everything
+        events.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRegistrationChanged(RegistrationChangedEvent change) {
+        if (change.getSeatsDelta() == 0) {
+            return;
+        }
+        events.invalidate(change.getEventId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRegisteredCountsRecomputed(RegisteredCountsRecomputedEvent change) {
+        events.invalidateAll(change.getEventIds());
+    }
+}
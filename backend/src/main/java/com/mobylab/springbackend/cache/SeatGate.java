@@ -0,0 +1,159 @@
+package com.mobylab.springbackend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mobylab.springbackend.repository.EventRepository;
+import com.mobylab.springbackend.service.event.EventChangedEvent;
+import com.mobylab.springbackend.service.event.RegisteredCountsRecomputedEvent;
+import com.mobylab.springbackend.service.event.RegistrationChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory admission in front of seat reservations. Each event gets a counter of free seats,
+ * seeded from the database and taken with a compare-and-set, so once an event is sold out further
+ * attempts are refused without a query or a pooled connection, and only as many requests as there
+ * are seats go on to the guarded update in {@code EventRepository.reserveSeat}, which stays the
+ * source of truth.
+ * <p>
+ * The counter can drift from the database (other nodes, races with a reseed); when the database
+ * refuses a seat the gate let through, the counter is dropped and reseeded on the next attempt,
+ * and the TTL bounds how long any drift survives. A permit returned after its counter was
+ * replaced goes to the old counter and is lost, which is what keeps reseeding safe.
+ */
+@Component
+public class SeatGate {
+
+    private static final Permit NO_GATE = new Permit(Integer.MAX_VALUE, true);
+
+    private final EventRepository eventRepository;
+    private final Cache<UUID, Permit> permits;
+    private final Counter rejected;
+
+    @Autowired
+    public SeatGate(EventRepository eventRepository,
+                    MeterRegistry meterRegistry,
+                    @Value("${registrations.admission.ttl:30s}") Duration ttl,
+                    @Value("${registrations.admission.max-size:10000}") long maxSize) {
+        this.eventRepository = eventRepository;
+        this.permits = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.rejected = Counter.builder("registrations.admission.rejected")
+                .description("Registration attempts refused in memory because the event was sold out")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes one seat of the event, or returns null if it is sold out. Events without a capacity,
+     * and events that do not exist, get a permit that counts nothing so the caller can report them.
+     */
+    public Permit tryAcquire(UUID eventId) {
+        Permit permit = permits.get(eventId, this::load);
+        if (permit == null) {
+            return NO_GATE;
+        }
+        if (!permit.tryTake()) {
+            rejected.increment();
+            return null;
+        }
+        return permit;
+    }
+
+    /**
+     * Drops the event's counter after the database refused a seat the gate had let through.
+     */
+    public void resync(UUID eventId) {
+        permits.invalidate(eventId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRegistrationChanged(RegistrationChangedEvent change) {
+        // Seats are taken through tryAcquire; only returned seats need to reach the counter
+        if (change.getSeatsDelta() < 0) {
+            Permit permit = permits.getIfPresent(change.getEventId());
+            if (permit != null) {
+                permit.release();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        // Capacity may have changed or the event is gone
+        permits.invalidate(change.getEventId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRegisteredCountsRecomputed(RegisteredCountsRecomputedEvent change) {
+        permits.invalidateAll(change.getEventIds());
+    }
+
+    private Permit load(UUID eventId) {
+        return eventRepository.findCapacityById(eventId)
+                .map(capacity -> capacity.getMaxAttendees() == null
+                        ? NO_GATE
+                        : new Permit(capacity.getMaxAttendees() - capacity.getRegisteredCount(), false))
+                .orElse(null);
+    }
+
+    /**
+     * A seat taken from an event's counter. Give it back with {@link #release()} if the
+     * registration does not commit.
+     */
+    public static class Permit {
+
+        private final AtomicInteger available;
+        private final boolean unlimited;
+
+        private Permit(int available, boolean unlimited) {
+            this.available = new AtomicInteger(Math.max(available, 0));
+            this.unlimited = unlimited;
+        }
+
+        private boolean tryTake() {
+            if (unlimited) {
+                return true;
+            }
+            int current;
+            do {
+                current = available.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!available.compareAndSet(current, current - 1));
+            return true;
+        }
+
+        public void release() {
+            if (!unlimited) {
+                available.incrementAndGet();
+            }
+        }
+
+        /**
+         * Releases the permit when the current transaction rolls back.
+         */
+        public void releaseOnRollback() {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release();
+                    }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.mobylab.springbackend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mobylab.springbackend.dto.PageResponseDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Builds {@link PageResponseDto}s from count-free {@link Slice}s. Exact totals are only counted
+ * when the client asks for them; otherwise a recently counted total for the same listing is
+ * reused, and without one the total is only what the slice itself proves, flagged as not exact.
+ * Nothing is ever counted for a client that did not ask for a total.
+ */
+@Component
+public class TotalCountCache {
+
+    private final Cache<String, Long> totals;
+
+    public TotalCountCache(@Value("${pagination.total-cache.ttl:30s}") Duration ttl,
+                           @Value("${pagination.total-cache.max-size:10000}") long maxSize) {
+        this.totals = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public <T> PageResponseDto<T> toPage(List<T> content, Slice<?> slice, boolean withTotal,
+                                         String listingKey, LongSupplier counter) {
+        long offset = (long) slice.getNumber() * slice.getSize();
+
+        // A non-empty last page determines the total on its own
+        if (!slice.hasNext() && (!content.isEmpty() || slice.isFirst())) {
+            long total = offset + content.size();
+            totals.put(listingKey, total);
+            return new PageResponseDto<>(content, slice, total, true);
+        }
+
+        if (withTotal) {
+            long total = counter.getAsLong();
+            totals.put(listingKey, total);
+            return new PageResponseDto<>(content, slice, total, true);
+        }
+
+        Long cachedTotal = totals.getIfPresent(listingKey);
+        // Never report fewer elements than the slice has already proven to exist
+        long lowerBound = slice.hasNext() ? offset + content.size() + 1 : 0;
+        long total = cachedTotal != null ? Math.max(cachedTotal, lowerBound) : lowerBound;
+        return new PageResponseDto<>(content, slice, total, false);
+    }
+}
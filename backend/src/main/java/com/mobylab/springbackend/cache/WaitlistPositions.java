@@ -0,0 +1,226 @@
+package com.mobylab.springbackend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mobylab.springbackend.entity.Registration.RegistrationStatus;
+import com.mobylab.springbackend.repository.RegistrationRepository;
+import com.mobylab.springbackend.service.event.EventChangedEvent;
+import com.mobylab.springbackend.service.event.RegistrationChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Waitlist of each event in memory, so a registrant's position is a lookup instead of a count
+ * over the registrations table. An event's list is loaded in join order on first use and then
+ * follows committed status changes; newcomers are appended and promoted or cancelled entries
+ * leave a hole in a Fenwick tree, which turns a position into a prefix sum. Lists not read for
+ * a while are dropped and loaded again on their next use.
+ */
+@Component
+public class WaitlistPositions {
+
+    private static final int LOAD_ATTEMPTS = 3;
+
+    private final RegistrationRepository registrationRepository;
+    private final Cache<UUID, Waitlist> waitlists;
+
+    @Autowired
+    public WaitlistPositions(RegistrationRepository registrationRepository,
+                             @Value("${registrations.waitlist.cache.ttl:10m}") Duration ttl,
+                             @Value("${registrations.waitlist.cache.max-size:10000}") long maxSize) {
+        this.registrationRepository = registrationRepository;
+        this.waitlists = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(ttl)
+                .build();
+    }
+
+    /**
+     * Number of registrations waiting for a seat of the event.
+     */
+    public int countWaiting(UUID eventId) {
+        Waitlist waitlist = load(eventId);
+        if (waitlist == null) {
+            return 0;
+        }
+        synchronized (waitlist) {
+            return waitlist.size;
+        }
+    }
+
+    /**
+     * Returns the 1-based position of the registration in the event's waitlist, or null if it is
+     * not waiting.
+     */
+    public Long position(UUID eventId, UUID registrationId) {
+        Waitlist waitlist = load(eventId);
+        if (waitlist == null) {
+            return null;
+        }
+        synchronized (waitlist) {
+            return waitlist.position(registrationId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRegistrationChanged(RegistrationChangedEvent change) {
+        boolean wasWaiting = change.getPreviousStatus() == RegistrationStatus.WAITLISTED;
+        boolean isWaiting = change.getStatus() == RegistrationStatus.WAITLISTED;
+        if (wasWaiting == isWaiting) {
+            return;
+        }
+        // A list not created yet is loaded after this commit and already includes the change
+        Waitlist waitlist = waitlists.getIfPresent(change.getEventId());
+        if (waitlist == null) {
+            return;
+        }
+        synchronized (waitlist) {
+            waitlist.version++;
+            if (!waitlist.loaded) {
+                return;
+            }
+            if (isWaiting) {
+                waitlist.append(change.getRegistrationId());
+            } else {
+                waitlist.remove(change.getRegistrationId());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        if (change.getType() == EventChangedEvent.Type.DELETED) {
+            waitlists.invalidate(change.getEventId());
+        }
+    }
+
+    /**
+     * Returns the event's loaded waitlist, or null if changes kept racing with every load.
+     */
+    private Waitlist load(UUID eventId) {
+        Waitlist waitlist = waitlists.get(eventId, id -> new Waitlist());
+        for (int attempt = 0; attempt < LOAD_ATTEMPTS; attempt++) {
+            long version;
+            synchronized (waitlist) {
+                if (waitlist.loaded) {
+                    return waitlist;
+                }
+                version = waitlist.version;
+            }
+
+            List<UUID> registrationIds = registrationRepository.findWaitlistedIds(eventId);
+
+            synchronized (waitlist) {
+                if (waitlist.loaded) {
+                    return waitlist;
+                }
+                // A change committed during the query may or may not be part of what was read
+                if (waitlist.version == version) {
+                    registrationIds.forEach(waitlist::append);
+                    waitlist.loaded = true;
+                    return waitlist;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Registrations in join order. Each gets the next slot; a Fenwick tree over the slots counts
+     * those still waiting, and the slots are renumbered once most of them are holes.
+     */
+    private static class Waitlist {
+
+        private boolean loaded;
+        private long version;
+        private final Map<UUID, Integer> slots = new HashMap<>();
+        private UUID[] bySlot = new UUID[16];
+        private int[] tree = new int[17];
+        private int next;
+        private int size;
+
+        void append(UUID registrationId) {
+            if (slots.containsKey(registrationId)) {
+                return;
+            }
+            if (next == bySlot.length) {
+                bySlot = Arrays.copyOf(bySlot, bySlot.length * 2);
+                rebuild();
+            }
+            slots.put(registrationId, next);
+            bySlot[next] = registrationId;
+            add(next, 1);
+            next++;
+            size++;
+        }
+
+        void remove(UUID registrationId) {
+            Integer slot = slots.remove(registrationId);
+            if (slot == null) {
+                return;
+            }
+            bySlot[slot] = null;
+            add(slot, -1);
+            size--;
+            if (next > 64 && size < next / 4) {
+                compact();
+            }
+        }
+
+        Long position(UUID registrationId) {
+            Integer slot = slots.get(registrationId);
+            if (slot == null) {
+                return null;
+            }
+            long position = 0;
+            for (int i = slot + 1; i > 0; i -= i & -i) {
+                position += tree[i];
+            }
+            return position;
+        }
+
+        private void add(int slot, int delta) {
+            for (int i = slot + 1; i < tree.length; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+
+        private void compact() {
+            int kept = 0;
+            for (int slot = 0; slot < next; slot++) {
+                UUID registrationId = bySlot[slot];
+                if (registrationId != null) {
+                    bySlot[kept] = registrationId;
+                    slots.put(registrationId, kept);
+                    kept++;
+                }
+            }
+            Arrays.fill(bySlot, kept, next, null);
+            next = kept;
+            rebuild();
+        }
+
+        // Linear-time Fenwick construction over the current slots
+        private void rebuild() {
+            tree = new int[bySlot.length + 1];
+            for (int i = 1; i < tree.length; i++) {
+                if (bySlot[i - 1] != null) {
+                    tree[i]++;
+                }
+                int parent = i + (i & -i);
+                if (parent < tree.length) {
+                    tree[parent] += tree[i];
+                }
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.mobylab.springbackend.controller;
 
+import com.mobylab.springbackend.cache.CollectionVersions;
 import com.mobylab.springbackend.dto.CategoryDto;
 import com.mobylab.springbackend.dto.PageResponseDto;
 import com.mobylab.springbackend.service.CategoryService;
@@ -11,6 +12,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -21,10 +23,12 @@ import java.util.UUID;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final CollectionVersions collectionVersions;
 
     @Autowired
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService, CollectionVersions collectionVersions) {
         this.categoryService = categoryService;
+        this.collectionVersions = collectionVersions;
     }
 
     @PostMapping
@@ -37,22 +41,34 @@ public class CategoryController {
 
     @GetMapping("/{id}")
     @Operation(summary = "Get a category by ID", description = "Retrieve a category by its ID")
-    public ResponseEntity<CategoryDto> getCategory(@PathVariable UUID id) {
+    public ResponseEntity<CategoryDto> getCategory(@PathVariable UUID id, WebRequest request) {
+        if (categoriesNotModified(request)) {
+            return null;
+        }
         CategoryDto category = categoryService.getCategory(id);
         return ResponseEntity.ok(category);
     }
 
     @GetMapping("/name/{name}")
     @Operation(summary = "Get a category by name", description = "Retrieve a category by its name")
-    public ResponseEntity<CategoryDto> getCategoryByName(@PathVariable String name) {
+    public ResponseEntity<CategoryDto> getCategoryByName(@PathVariable String name, WebRequest request) {
+        if (categoriesNotModified(request)) {
+            return null;
+        }
         CategoryDto category = categoryService.getCategoryByName(name);
         return ResponseEntity.ok(category);
     }
 
     @GetMapping
-    @Operation(summary = "Get all categories", description = "Retrieve all categories")
-    public ResponseEntity<List<CategoryDto>> getAllCategories() {
-        List<CategoryDto> categories = categoryService.getAllCategories();
+    @Operation(summary = "Get all categories",
+            description = "Retrieve all categories; with upcomingOnly, eventsCount covers only events that have not started")
+    public ResponseEntity<List<CategoryDto>> getAllCategories(
+            @RequestParam(defaultValue = "false") boolean upcomingOnly,
+            WebRequest request) {
+        if (!upcomingOnly && categoriesNotModified(request)) {
+            return null;
+        }
+        List<CategoryDto> categories = categoryService.getAllCategories(upcomingOnly);
         return ResponseEntity.ok(categories);
     }
 
@@ -60,8 +76,15 @@ public class CategoryController {
     @Operation(summary = "Get all categories with pagination", description = "Retrieve all categories with pagination")
     public ResponseEntity<PageResponseDto<CategoryDto>> getAllCategoriesPaged(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        PageResponseDto<CategoryDto> categories = categoryService.getAllCategoriesPaged(page, size);
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @RequestParam(defaultValue = "false") boolean upcomingOnly,
+            WebRequest request) {
+        // Upcoming counts shrink as events start, which no collection version tracks
+        if (!upcomingOnly && categoriesNotModified(request)) {
+            return null;
+        }
+        PageResponseDto<CategoryDto> categories = categoryService.getAllCategoriesPaged(page, size, withTotal, upcomingOnly);
         return ResponseEntity.ok(categories);
     }
 
@@ -82,4 +105,13 @@ public class CategoryController {
         categoryService.deleteCategory(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Category representations include their number of events, so every category is validated
+     * against the version of the whole collection, before anything is loaded.
+     */
+    private boolean categoriesNotModified(WebRequest request) {
+        return request.checkNotModified(collectionVersions.etag(CollectionVersions.CATEGORIES),
+                collectionVersions.lastModified(CollectionVersions.CATEGORIES));
+    }
 } 
\ No newline at end of file
@@ -1,7 +1,20 @@
 package com.mobylab.springbackend.controller;
 
+import com.mobylab.springbackend.cache.CollectionVersions;
+import com.mobylab.springbackend.dto.CalendarBucketDto;
+import com.mobylab.springbackend.dto.CursorPageResponseDto;
 import com.mobylab.springbackend.dto.EventDto;
+import com.mobylab.springbackend.dto.EventFilterDto;
+import com.mobylab.springbackend.dto.EventFilterResultDto;
+import com.mobylab.springbackend.dto.EventSearchResultDto;
+import com.mobylab.springbackend.dto.ImportResultDto;
+import com.mobylab.springbackend.dto.NearbyEventDto;
 import com.mobylab.springbackend.dto.PageResponseDto;
+import com.mobylab.springbackend.dto.SuggestionDto;
+import com.mobylab.springbackend.service.CalendarGranularity;
+import com.mobylab.springbackend.service.DataFormat;
+import com.mobylab.springbackend.service.EventCalendarService;
+import com.mobylab.springbackend.service.EventImportService;
 import com.mobylab.springbackend.service.EventService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,12 +25,21 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.UUID;
 
@@ -28,10 +50,19 @@ import java.util.UUID;
 public class EventController {
 
     private final EventService eventService;
+    private final EventImportService eventImportService;
+    private final EventCalendarService eventCalendarService;
+    private final CollectionVersions collectionVersions;
 
     @Autowired
-    public EventController(EventService eventService) {
+    public EventController(EventService eventService,
+                           EventImportService eventImportService,
+                           EventCalendarService eventCalendarService,
+                           CollectionVersions collectionVersions) {
         this.eventService = eventService;
+        this.eventImportService = eventImportService;
+        this.eventCalendarService = eventCalendarService;
+        this.collectionVersions = collectionVersions;
     }
 
     @PostMapping
@@ -54,6 +85,30 @@ public class EventController {
         return new ResponseEntity<>(createdEvent, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    @PreAuthorize("hasAnyRole('ORGANIZER', 'ADMIN')")
+    @Operation(
+        summary = "Import events in bulk", 
+        description = "Stream many events at once, as NDJSON (one event per line, same fields as the create body) "
+                + "or CSV with a header row; rows are validated individually and failures are reported by row number"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import finished; see the result for rejected rows"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token is missing or invalid"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - User does not have organizer privileges"),
+        @ApiResponse(responseCode = "404", description = "Organizer not found")
+    })
+    public ResponseEntity<ImportResultDto> importEvents(
+            @Parameter(description = "User ID of the organizer", required = true) @RequestHeader("userId") UUID organizerId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        DataFormat format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? DataFormat.CSV
+                : DataFormat.NDJSON;
+        ImportResultDto result = eventImportService.importEvents(body, format, organizerId);
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/{id}")
     @Operation(
         summary = "Get an event by ID", 
@@ -62,11 +117,16 @@ public class EventController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Event found",
                      content = @Content(schema = @Schema(implementation = EventDto.class))),
+        @ApiResponse(responseCode = "304", description = "Not modified since the ETag or date sent by the client"),
         @ApiResponse(responseCode = "404", description = "Event not found")
     })
     public ResponseEntity<EventDto> getEvent(
-            @Parameter(description = "Event ID", required = true) @PathVariable UUID id) {
+            @Parameter(description = "Event ID", required = true) @PathVariable UUID id,
+            WebRequest request) {
         EventDto event = eventService.getEvent(id);
+        if (request.checkNotModified(eventTag(event), eventLastModified(event))) {
+            return null;
+        }
         return ResponseEntity.ok(event);
     }
 
@@ -76,12 +136,18 @@ public class EventController {
         description = "Retrieve a paginated list of all events"
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Successful operation")
+        @ApiResponse(responseCode = "200", description = "Successful operation"),
+        @ApiResponse(responseCode = "304", description = "Not modified since the ETag or date sent by the client")
     })
     public ResponseEntity<PageResponseDto<EventDto>> getAllEvents(
             @Parameter(description = "Page number (zero-based)") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Number of events per page") @RequestParam(defaultValue = "10") int size) {
-        PageResponseDto<EventDto> events = eventService.getAllEvents(page, size);
+            @Parameter(description = "Number of events per page") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Count the exact total; when false a recently counted total, or else a lower bound, is returned") @RequestParam(defaultValue = "true") boolean withTotal,
+            WebRequest request) {
+        if (eventsNotModified(request)) {
+            return null;
+        }
+        PageResponseDto<EventDto> events = eventService.getAllEvents(page, size, withTotal);
         return ResponseEntity.ok(events);
     }
 
@@ -92,13 +158,19 @@ public class EventController {
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successful operation"),
+        @ApiResponse(responseCode = "304", description = "Not modified since the ETag or date sent by the client"),
         @ApiResponse(responseCode = "404", description = "Organizer not found")
     })
     public ResponseEntity<PageResponseDto<EventDto>> getEventsByOrganizer(
             @Parameter(description = "Organizer's user ID", required = true) @PathVariable UUID organizerId,
             @Parameter(description = "Page number (zero-based)") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Number of events per page") @RequestParam(defaultValue = "10") int size) {
-        PageResponseDto<EventDto> events = eventService.getEventsByOrganizer(organizerId, page, size);
+            @Parameter(description = "Number of events per page") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Count the exact total; when false a recently counted total, or else a lower bound, is returned") @RequestParam(defaultValue = "true") boolean withTotal,
+            WebRequest request) {
+        if (eventsNotModified(request)) {
+            return null;
+        }
+        PageResponseDto<EventDto> events = eventService.getEventsByOrganizer(organizerId, page, size, withTotal);
         return ResponseEntity.ok(events);
     }
 
@@ -109,36 +181,227 @@ public class EventController {
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successful operation"),
+        @ApiResponse(responseCode = "304", description = "Not modified since the ETag or date sent by the client"),
         @ApiResponse(responseCode = "404", description = "Category not found")
     })
     public ResponseEntity<PageResponseDto<EventDto>> getEventsByCategory(
             @Parameter(description = "Category ID", required = true) @PathVariable UUID categoryId,
             @Parameter(description = "Page number (zero-based)") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Number of events per page") @RequestParam(defaultValue = "10") int size) {
-        PageResponseDto<EventDto> events = eventService.getEventsByCategory(categoryId, page, size);
+            @Parameter(description = "Number of events per page") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Count the exact total; when false a recently counted total, or else a lower bound, is returned") @RequestParam(defaultValue = "true") boolean withTotal,
+            WebRequest request) {
+        if (eventsNotModified(request)) {
+            return null;
+        }
+        PageResponseDto<EventDto> events = eventService.getEventsByCategory(categoryId, page, size, withTotal);
         return ResponseEntity.ok(events);
     }
 
     @GetMapping("/search")
     @Operation(
         summary = "Search events", 
-        description = "Search events by title (case-insensitive partial match)"
+        description = "Full-text search over title, description, category and city, ranked by relevance with highlighted matches"
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Successful operation")
+        @ApiResponse(responseCode = "200", description = "Successful operation"),
+        @ApiResponse(responseCode = "400", description = "Missing or invalid search text")
     })
-    public ResponseEntity<PageResponseDto<EventDto>> searchEvents(
+    public ResponseEntity<PageResponseDto<EventSearchResultDto>> searchEvents(
             @Parameter(description = "Search text", required = true) @RequestParam String query,
             @Parameter(description = "Page number (zero-based)") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Number of events per page") @RequestParam(defaultValue = "10") int size) {
-        PageResponseDto<EventDto> events = eventService.searchEvents(query, page, size);
+            @Parameter(description = "Number of events per page") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Count the exact total; when false a recently cached total is returned") @RequestParam(defaultValue = "true") boolean withTotal) {
+        PageResponseDto<EventSearchResultDto> events = eventService.searchEvents(query, page, size, withTotal);
+        return ResponseEntity.ok(events);
+    }
+
+    @GetMapping("/suggest")
+    @Operation(
+        summary = "Suggest events", 
+        description = "Autocomplete titles of upcoming events and category names from a prefix, served from memory"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successful operation"),
+        @ApiResponse(responseCode = "400", description = "Invalid limit")
+    })
+    public ResponseEntity<List<SuggestionDto>> suggestEvents(
+            @Parameter(description = "Beginning of a word in the title or category name", required = true) @RequestParam String prefix,
+            @Parameter(description = "Maximum number of event suggestions") @RequestParam(defaultValue = "5") int limit) {
+        List<SuggestionDto> suggestions = eventService.suggestEvents(prefix, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+
+    @GetMapping("/near")
+    @Operation(
+        summary = "Find events near a point", 
+        description = "Retrieve events within a radius of the given coordinates, nearest first"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successful operation"),
+        @ApiResponse(responseCode = "400", description = "Invalid coordinates, radius or limit")
+    })
+    public ResponseEntity<List<NearbyEventDto>> getEventsNear(
+            @Parameter(description = "Latitude in degrees", required = true) @RequestParam double lat,
+            @Parameter(description = "Longitude in degrees", required = true) @RequestParam double lon,
+            @Parameter(description = "Search radius in kilometres") @RequestParam(defaultValue = "10") double radiusKm,
+            @Parameter(description = "Earliest start time; defaults to now") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Latest start time") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Only events in this category") @RequestParam(required = false) UUID categoryId,
+            @Parameter(description = "Maximum number of events") @RequestParam(defaultValue = "20") int limit) {
+        List<NearbyEventDto> events = eventService.getEventsNear(lat, lon, radiusKm, from, to, categoryId, limit);
+        return ResponseEntity.ok(events);
+    }
+
+    @GetMapping("/window")
+    @Operation(
+        summary = "Get events in a time window", 
+        description = "Retrieve events running at any moment between two instants (inclusive), ordered by start time"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successful operation"),
+        @ApiResponse(responseCode = "400", description = "Invalid window or limit")
+    })
+    public ResponseEntity<List<EventDto>> getEventsInWindow(
+            @Parameter(description = "Window start", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Window end", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Maximum number of events") @RequestParam(defaultValue = "100") int limit) {
+        List<EventDto> events = eventService.getEventsInWindow(from, to, limit);
+        return ResponseEntity.ok(events);
+    }
+
+    @GetMapping("/calendar")
+    @Operation(
+        summary = "Get the event calendar", 
+        description = "Count events and seats left per day or week (starting Monday) between two dates, inclusive; "
+                + "events count on the day they start and events without a capacity add no seats"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successful operation"),
+        @ApiResponse(responseCode = "304", description = "Not modified since the ETag or date sent by the client"),
+        @ApiResponse(responseCode = "400", description = "Invalid date range")
+    })
+    public ResponseEntity<List<CalendarBucketDto>> getCalendar(
+            @Parameter(description = "First day", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Bucket size") @RequestParam(defaultValue = "DAY") CalendarGranularity granularity,
+            @Parameter(description = "Only count events of this category") @RequestParam(required = false) UUID categoryId,
+            WebRequest request) {
+        if (eventsNotModified(request)) {
+            return null;
+        }
+        List<CalendarBucketDto> calendar = eventCalendarService.getCalendar(from, to, granularity, categoryId);
+        return ResponseEntity.ok(calendar);
+    }
+
+    @GetMapping("/filter")
+    @Operation(
+        summary = "Filter events", 
+        description = "Combine category, city, country, organizer, start date range and seat availability filters; "
+                + "returns matching events ordered by start time with per-value counts for every dimension"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successful operation"),
+        @ApiResponse(responseCode = "304", description = "Not modified since the ETag or date sent by the client"),
+        @ApiResponse(responseCode = "400", description = "Invalid page or size")
+    })
+    public ResponseEntity<EventFilterResultDto> filterEvents(
+            @ParameterObject EventFilterDto filter,
+            @Parameter(description = "Page number (zero-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of events per page") @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        if (eventsNotModified(request)) {
+            return null;
+        }
+        EventFilterResultDto result = eventService.filterEvents(filter, page, size);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/search/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Rebuild the search index", 
+        description = "Drop the full-text index and rebuild it from the database; returns the number of indexed events"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Index rebuilt"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token is missing or invalid"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - User does not have admin privileges")
+    })
+    public ResponseEntity<Long> rebuildSearchIndex() {
+        long indexed = eventService.rebuildSearchIndex();
+        return ResponseEntity.ok(indexed);
+    }
+
+    @GetMapping("/scroll")
+    @Operation(
+        summary = "Scroll through all events", 
+        description = "Retrieve events ordered by start time using an opaque cursor instead of a page number"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successful operation"),
+        @ApiResponse(responseCode = "304", description = "Not modified since the ETag or date sent by the client"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
+    })
+    public ResponseEntity<CursorPageResponseDto<EventDto>> scrollEvents(
+            @Parameter(description = "Cursor returned by the previous page, omitted for the first page") @RequestParam(required = false) String after,
+            @Parameter(description = "Number of events per page") @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        if (eventsNotModified(request)) {
+            return null;
+        }
+        CursorPageResponseDto<EventDto> events = eventService.scrollEvents(after, size);
+        return ResponseEntity.ok(events);
+    }
+
+    @GetMapping("/organizer/{organizerId}/scroll")
+    @Operation(
+        summary = "Scroll through events by organizer", 
+        description = "Retrieve the events of an organizer ordered by start time using an opaque cursor"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successful operation"),
+        @ApiResponse(responseCode = "304", description = "Not modified since the ETag or date sent by the client"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or page size"),
+        @ApiResponse(responseCode = "404", description = "Organizer not found")
+    })
+    public ResponseEntity<CursorPageResponseDto<EventDto>> scrollEventsByOrganizer(
+            @Parameter(description = "Organizer's user ID", required = true) @PathVariable UUID organizerId,
+            @Parameter(description = "Cursor returned by the previous page, omitted for the first page") @RequestParam(required = false) String after,
+            @Parameter(description = "Number of events per page") @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        if (eventsNotModified(request)) {
+            return null;
+        }
+        CursorPageResponseDto<EventDto> events = eventService.scrollEventsByOrganizer(organizerId, after, size);
+        return ResponseEntity.ok(events);
+    }
+
+    @GetMapping("/category/{categoryId}/scroll")
+    @Operation(
+        summary = "Scroll through events by category", 
+        description = "Retrieve the events of a category ordered by start time using an opaque cursor"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successful operation"),
+        @ApiResponse(responseCode = "304", description = "Not modified since the ETag or date sent by the client"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
+    })
+    public ResponseEntity<CursorPageResponseDto<EventDto>> scrollEventsByCategory(
+            @Parameter(description = "Category ID", required = true) @PathVariable UUID categoryId,
+            @Parameter(description = "Cursor returned by the previous page, omitted for the first page") @RequestParam(required = false) String after,
+            @Parameter(description = "Number of events per page") @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        if (eventsNotModified(request)) {
+            return null;
+        }
+        CursorPageResponseDto<EventDto> events = eventService.scrollEventsByCategory(categoryId, after, size);
         return ResponseEntity.ok(events);
     }
 
     @GetMapping("/upcoming")
     @Operation(
         summary = "Get upcoming events", 
-        description = "Retrieve the top 5 upcoming events"
+        description = "Retrieve the next events to start, served from memory; the count is set by events.upcoming.size"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successful operation")
@@ -186,4 +449,32 @@ public class EventController {
         eventService.deleteEvent(id);
         return ResponseEntity.noContent().build();
     }
-} 
\ No newline at end of file
+
+    /**
+     * Checks the request's validators against the version of the whole events collection, so
+     * unchanged listings are answered before anything is loaded.
+     */
+    private boolean eventsNotModified(WebRequest request) {
+        return request.checkNotModified(collectionVersions.etag(CollectionVersions.EVENTS),
+                collectionVersions.lastModified(CollectionVersions.EVENTS));
+    }
+
+    /**
+     * Strong validator of a single event, built from the fields that change its representation:
+     * its own update time, its registration count and the category names version.
+     */
+    private String eventTag(EventDto event) {
+        return "\"" + event.getId() + "-" + toMillis(event.getUpdatedAt()) + "-" + event.getRegistrationsCount()
+                + "-" + toMillis(event.getRegistrationsUpdatedAt()) + "-" + collectionVersions.getInstanceTag()
+                + "-" + collectionVersions.version(CollectionVersions.CATEGORY_NAMES) + "\"";
+    }
+
+    private long eventLastModified(EventDto event) {
+        return Math.max(Math.max(toMillis(event.getUpdatedAt()), toMillis(event.getRegistrationsUpdatedAt())),
+                collectionVersions.lastModified(CollectionVersions.CATEGORY_NAMES));
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time == null ? 0 : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -1,17 +1,28 @@
 package com.mobylab.springbackend.controller;
 
+import com.mobylab.springbackend.dto.BroadcastDto;
+import com.mobylab.springbackend.dto.BroadcastRequestDto;
+import com.mobylab.springbackend.dto.CounterDriftDto;
 import com.mobylab.springbackend.dto.PageResponseDto;
 import com.mobylab.springbackend.dto.RegistrationDto;
 import com.mobylab.springbackend.entity.Registration.RegistrationStatus;
+import com.mobylab.springbackend.service.DataFormat;
+import com.mobylab.springbackend.service.EventBroadcastService;
+import com.mobylab.springbackend.service.EventService;
 import com.mobylab.springbackend.service.RegistrationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,19 +32,28 @@ import java.util.UUID;
 public class RegistrationController {
 
     private final RegistrationService registrationService;
+    private final EventService eventService;
+    private final EventBroadcastService broadcastService;
 
     @Autowired
-    public RegistrationController(RegistrationService registrationService) {
+    public RegistrationController(RegistrationService registrationService,
+                                  EventService eventService,
+                                  EventBroadcastService broadcastService) {
         this.registrationService = registrationService;
+        this.eventService = eventService;
+        this.broadcastService = broadcastService;
     }
 
     @PostMapping("/user/{userId}/event/{eventId}")
-    @Operation(summary = "Register for an event", description = "Register a user for an event")
+    @Operation(summary = "Register for an event",
+            description = "Register a user for an event; with waitlist, a full event puts the user on its waitlist "
+                    + "and the response carries their position instead of failing")
     public ResponseEntity<RegistrationDto> registerForEvent(
             @PathVariable UUID userId,
             @PathVariable UUID eventId,
-            @RequestParam(required = false) String notes) {
-        RegistrationDto registration = registrationService.registerForEvent(userId, eventId, notes);
+            @RequestParam(required = false) String notes,
+            @RequestParam(defaultValue = "false") boolean waitlist) {
+        RegistrationDto registration = registrationService.registerForEvent(userId, eventId, notes, waitlist);
         return new ResponseEntity<>(registration, HttpStatus.CREATED);
     }
 
@@ -49,8 +69,9 @@ public class RegistrationController {
     public ResponseEntity<PageResponseDto<RegistrationDto>> getUserRegistrations(
             @PathVariable UUID userId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        PageResponseDto<RegistrationDto> registrations = registrationService.getUserRegistrations(userId, page, size);
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "true") boolean withTotal) {
+        PageResponseDto<RegistrationDto> registrations = registrationService.getUserRegistrations(userId, page, size, withTotal);
         return ResponseEntity.ok(registrations);
     }
 
@@ -60,11 +81,31 @@ public class RegistrationController {
     public ResponseEntity<PageResponseDto<RegistrationDto>> getEventRegistrations(
             @PathVariable UUID eventId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        PageResponseDto<RegistrationDto> registrations = registrationService.getEventRegistrations(eventId, page, size);
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "true") boolean withTotal) {
+        PageResponseDto<RegistrationDto> registrations = registrationService.getEventRegistrations(eventId, page, size, withTotal);
         return ResponseEntity.ok(registrations);
     }
 
+    @GetMapping("/event/{eventId}/export")
+    @PreAuthorize("hasAnyRole('ORGANIZER', 'ADMIN')")
+    @Operation(summary = "Export registrations of an event", description = "Stream every registration of an event with the attendee's username and email, as CSV or NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportEventRegistrations(
+            @PathVariable UUID eventId,
+            @RequestParam(defaultValue = "CSV") DataFormat format) {
+        // Fail with 404 before the response is committed
+        eventService.getEvent(eventId);
+        
+        StreamingResponseBody body = output -> registrationService.exportEventRegistrations(eventId, format, output);
+        String extension = format == DataFormat.CSV ? "csv" : "ndjson";
+        return ResponseEntity.ok()
+                .contentType(format == DataFormat.CSV
+                        ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"registrations-" + eventId + "." + extension + "\"")
+                .body(body);
+    }
+
     @GetMapping("/event/{eventId}/status/{status}")
     @PreAuthorize("hasAnyRole('ORGANIZER', 'ADMIN')")
     @Operation(summary = "Get registrations by event and status", description = "Retrieve all registrations for a specific event with a specific status")
@@ -75,6 +116,27 @@ public class RegistrationController {
         return ResponseEntity.ok(registrations);
     }
 
+    @PostMapping("/event/{eventId}/broadcasts")
+    @PreAuthorize("hasAnyRole('ORGANIZER', 'ADMIN')")
+    @Operation(summary = "Broadcast a message to the registrants of an event",
+            description = "Queue an email to every registration of the event with one of the given statuses (confirmed ones by default). "
+                    + "The fan-out runs in the background; the response carries the broadcast ID to follow its progress with")
+    public ResponseEntity<BroadcastDto> broadcastToEventRegistrants(
+            @PathVariable UUID eventId,
+            @Valid @RequestBody BroadcastRequestDto request) {
+        BroadcastDto broadcast = broadcastService.createBroadcast(eventId, request);
+        return ResponseEntity.accepted().body(broadcast);
+    }
+
+    @GetMapping("/broadcasts/{broadcastId}")
+    @PreAuthorize("hasAnyRole('ORGANIZER', 'ADMIN')")
+    @Operation(summary = "Get the progress of a broadcast",
+            description = "Retrieve a broadcast with its recipient count and how many messages were queued, sent and given up on so far")
+    public ResponseEntity<BroadcastDto> getBroadcast(@PathVariable UUID broadcastId) {
+        BroadcastDto broadcast = broadcastService.getBroadcast(broadcastId);
+        return ResponseEntity.ok(broadcast);
+    }
+
     @PutMapping("/{id}/status")
     @PreAuthorize("hasAnyRole('ORGANIZER', 'ADMIN')")
     @Operation(summary = "Update registration status", description = "Update the status of a registration")
@@ -107,4 +169,12 @@ public class RegistrationController {
         long count = registrationService.getEventRegistrationsCount(eventId);
         return ResponseEntity.ok(count);
     }
-} 
\ No newline at end of file
+
+    @PostMapping("/reconcile")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Reconcile registration counters", description = "Recompute the stored registration counters of all events and report the ones that had drifted")
+    public ResponseEntity<List<CounterDriftDto>> reconcileRegistrationCounters() {
+        List<CounterDriftDto> drift = registrationService.reconcileRegistrationCounters();
+        return ResponseEntity.ok(drift);
+    }
+}
@@ -0,0 +1,143 @@
+package com.mobylab.springbackend.dto;
+
+import com.mobylab.springbackend.entity.EventBroadcast;
+import com.mobylab.springbackend.entity.Registration.RegistrationStatus;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A broadcast and its progress: recipients found, messages queued in the outbox so far, and how
+ * many of those the mail server accepted or were given up on.
+ */
+public class BroadcastDto {
+    private UUID id;
+    private UUID eventId;
+    private String subject;
+    private Set<RegistrationStatus> statuses;
+    private EventBroadcast.Status status;
+    private Long totalRecipients;
+    private long queuedCount;
+    private long sentCount;
+    private long failedCount;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+
+    public BroadcastDto() {
+    }
+
+    public BroadcastDto(UUID id, UUID eventId, String subject, Set<RegistrationStatus> statuses,
+                        EventBroadcast.Status status, Long totalRecipients, long queuedCount, long sentCount,
+                        long failedCount, LocalDateTime createdAt, LocalDateTime startedAt, LocalDateTime completedAt) {
+        this.id = id;
+        this.eventId = eventId;
+        this.subject = subject;
+        this.statuses = statuses;
+        this.status = status;
+        this.totalRecipients = totalRecipients;
+        this.queuedCount = queuedCount;
+        this.sentCount = sentCount;
+        this.failedCount = failedCount;
+        this.createdAt = createdAt;
+        this.startedAt = startedAt;
+        this.completedAt = completedAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(UUID eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public Set<RegistrationStatus> getStatuses() {
+        return statuses;
+    }
+
+    public void setStatuses(Set<RegistrationStatus> statuses) {
+        this.statuses = statuses;
+    }
+
+    public EventBroadcast.Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(EventBroadcast.Status status) {
+        this.status = status;
+    }
+
+    public Long getTotalRecipients() {
+        return totalRecipients;
+    }
+
+    public void setTotalRecipients(Long totalRecipients) {
+        this.totalRecipients = totalRecipients;
+    }
+
+    public long getQueuedCount() {
+        return queuedCount;
+    }
+
+    public void setQueuedCount(long queuedCount) {
+        this.queuedCount = queuedCount;
+    }
+
+    public long getSentCount() {
+        return sentCount;
+    }
+
+    public void setSentCount(long sentCount) {
+        this.sentCount = sentCount;
+    }
+
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    public void setFailedCount(long failedCount) {
+        this.failedCount = failedCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -0,0 +1,54 @@
+package com.mobylab.springbackend.dto;
+
+import com.mobylab.springbackend.entity.Registration.RegistrationStatus;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.util.Set;
+
+public class BroadcastRequestDto {
+
+    @NotBlank(message = "Subject is required")
+    @Size(max = 200, message = "Subject cannot exceed 200 characters")
+    private String subject;
+
+    @NotBlank(message = "Message is required")
+    @Size(max = 10000, message = "Message cannot exceed 10000 characters")
+    private String message;
+
+    // Registrations to write to; confirmed ones if left empty
+    private Set<RegistrationStatus> statuses;
+
+    public BroadcastRequestDto() {
+    }
+
+    public BroadcastRequestDto(String subject, String message, Set<RegistrationStatus> statuses) {
+        this.subject = subject;
+        this.message = message;
+        this.statuses = statuses;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public Set<RegistrationStatus> getStatuses() {
+        return statuses;
+    }
+
+    public void setStatuses(Set<RegistrationStatus> statuses) {
+        this.statuses = statuses;
+    }
+}
@@ -0,0 +1,42 @@
+package com.mobylab.springbackend.dto;
+
+import java.time.LocalDate;
+
+public class CalendarBucketDto {
+    private LocalDate start;
+    private long eventsCount;
+    private long seatsLeft;
+
+    public CalendarBucketDto() {
+    }
+
+    public CalendarBucketDto(LocalDate start, long eventsCount, long seatsLeft) {
+        this.start = start;
+        this.eventsCount = eventsCount;
+        this.seatsLeft = seatsLeft;
+    }
+
+    public LocalDate getStart() {
+        return start;
+    }
+
+    public void setStart(LocalDate start) {
+        this.start = start;
+    }
+
+    public long getEventsCount() {
+        return eventsCount;
+    }
+
+    public void setEventsCount(long eventsCount) {
+        this.eventsCount = eventsCount;
+    }
+
+    public long getSeatsLeft() {
+        return seatsLeft;
+    }
+
+    public void setSeatsLeft(long seatsLeft) {
+        this.seatsLeft = seatsLeft;
+    }
+}
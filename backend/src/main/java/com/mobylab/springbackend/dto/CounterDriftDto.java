@@ -0,0 +1,42 @@
+package com.mobylab.springbackend.dto;
+
+import java.util.UUID;
+
+public class CounterDriftDto {
+    private UUID eventId;
+    private long storedCount;
+    private long actualCount;
+
+    public CounterDriftDto() {
+    }
+
+    public CounterDriftDto(UUID eventId, long storedCount, long actualCount) {
+        this.eventId = eventId;
+        this.storedCount = storedCount;
+        this.actualCount = actualCount;
+    }
+
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(UUID eventId) {
+        this.eventId = eventId;
+    }
+
+    public long getStoredCount() {
+        return storedCount;
+    }
+
+    public void setStoredCount(long storedCount) {
+        this.storedCount = storedCount;
+    }
+
+    public long getActualCount() {
+        return actualCount;
+    }
+
+    public void setActualCount(long actualCount) {
+        this.actualCount = actualCount;
+    }
+}
@@ -2,6 +2,8 @@ package com.mobylab.springbackend.dto;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -29,6 +31,10 @@ public class EventDto {
 
     private Integer maxAttendees;
 
+    @Min(value = 1, message = "Inventory shards must be at least 1")
+    @Max(value = 64, message = "Inventory shards cannot exceed 64")
+    private Integer inventoryShards;
+
     @Valid
     private LocationDto location;
 
@@ -46,6 +52,8 @@ public class EventDto {
     
     private Long registrationsCount;
 
+    private LocalDateTime registrationsUpdatedAt;
+
     // Getters and Setters
     public UUID getId() {
         return id;
@@ -95,6 +103,17 @@ public class EventDto {
         this.maxAttendees = maxAttendees;
     }
 
+    /**
+     * Number of rows the free seats are spread over; set above 1 for events expecting a rush.
+     */
+    public Integer getInventoryShards() {
+        return inventoryShards;
+    }
+
+    public void setInventoryShards(Integer inventoryShards) {
+        this.inventoryShards = inventoryShards;
+    }
+
     public LocationDto getLocation() {
         return location;
     }
@@ -158,4 +177,12 @@ public class EventDto {
     public void setRegistrationsCount(Long registrationsCount) {
         this.registrationsCount = registrationsCount;
     }
+
+    public LocalDateTime getRegistrationsUpdatedAt() {
+        return registrationsUpdatedAt;
+    }
+
+    public void setRegistrationsUpdatedAt(LocalDateTime registrationsUpdatedAt) {
+        this.registrationsUpdatedAt = registrationsUpdatedAt;
+    }
 } 
\ No newline at end of file
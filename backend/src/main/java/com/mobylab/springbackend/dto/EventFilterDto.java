@@ -0,0 +1,82 @@
+package com.mobylab.springbackend.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public class EventFilterDto {
+    private List<UUID> categoryId;
+
+    private List<String> city;
+
+    private List<String> country;
+
+    private List<UUID> organizerId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    private Boolean seatsLeft;
+
+    // Getters and Setters
+    public List<UUID> getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(List<UUID> categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public List<String> getCity() {
+        return city;
+    }
+
+    public void setCity(List<String> city) {
+        this.city = city;
+    }
+
+    public List<String> getCountry() {
+        return country;
+    }
+
+    public void setCountry(List<String> country) {
+        this.country = country;
+    }
+
+    public List<UUID> getOrganizerId() {
+        return organizerId;
+    }
+
+    public void setOrganizerId(List<UUID> organizerId) {
+        this.organizerId = organizerId;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public Boolean getSeatsLeft() {
+        return seatsLeft;
+    }
+
+    public void setSeatsLeft(Boolean seatsLeft) {
+        this.seatsLeft = seatsLeft;
+    }
+}
@@ -0,0 +1,33 @@
+package com.mobylab.springbackend.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class EventFilterResultDto {
+    private PageResponseDto<EventDto> events;
+    private Map<String, List<FacetCountDto>> facets;
+
+    public EventFilterResultDto() {
+    }
+
+    public EventFilterResultDto(PageResponseDto<EventDto> events, Map<String, List<FacetCountDto>> facets) {
+        this.events = events;
+        this.facets = facets;
+    }
+
+    public PageResponseDto<EventDto> getEvents() {
+        return events;
+    }
+
+    public void setEvents(PageResponseDto<EventDto> events) {
+        this.events = events;
+    }
+
+    public Map<String, List<FacetCountDto>> getFacets() {
+        return facets;
+    }
+
+    public void setFacets(Map<String, List<FacetCountDto>> facets) {
+        this.facets = facets;
+    }
+}
@@ -0,0 +1,42 @@
+package com.mobylab.springbackend.dto;
+
+import java.util.Map;
+
+public class EventSearchResultDto {
+    private EventDto event;
+    private float score;
+    private Map<String, String> highlights;
+
+    public EventSearchResultDto() {
+    }
+
+    public EventSearchResultDto(EventDto event, float score, Map<String, String> highlights) {
+        this.event = event;
+        this.score = score;
+        this.highlights = highlights;
+    }
+
+    public EventDto getEvent() {
+        return event;
+    }
+
+    public void setEvent(EventDto event) {
+        this.event = event;
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    public void setScore(float score) {
+        this.score = score;
+    }
+
+    public Map<String, String> getHighlights() {
+        return highlights;
+    }
+
+    public void setHighlights(Map<String, String> highlights) {
+        this.highlights = highlights;
+    }
+}
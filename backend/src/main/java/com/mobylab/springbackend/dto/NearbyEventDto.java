@@ -0,0 +1,30 @@
+package com.mobylab.springbackend.dto;
+
+public class NearbyEventDto {
+    private EventDto event;
+    private double distanceKm;
+
+    public NearbyEventDto() {
+    }
+
+    public NearbyEventDto(EventDto event, double distanceKm) {
+        this.event = event;
+        this.distanceKm = distanceKm;
+    }
+
+    public EventDto getEvent() {
+        return event;
+    }
+
+    public void setEvent(EventDto event) {
+        this.event = event;
+    }
+
+    public double getDistanceKm() {
+        return distanceKm;
+    }
+
+    public void setDistanceKm(double distanceKm) {
+        this.distanceKm = distanceKm;
+    }
+}
@@ -1,6 +1,7 @@
 package com.mobylab.springbackend.dto;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -12,6 +13,7 @@ public class PageResponseDto<T> {
     private int totalPages;
     private boolean first;
     private boolean last;
+    private boolean totalExact = true;
 
     public PageResponseDto() {
     }
@@ -26,6 +28,28 @@ public class PageResponseDto<T> {
         this.last = page.isLast();
     }
 
+    public PageResponseDto(List<T> content, int pageNumber, int pageSize, long totalElements, boolean totalExact) {
+        this.content = content;
+        this.pageNumber = pageNumber;
+        this.pageSize = pageSize;
+        this.totalElements = totalElements;
+        this.totalPages = pageSize == 0 ? 1 : (int) Math.ceil((double) totalElements / pageSize);
+        this.first = pageNumber == 0;
+        this.last = (long) (pageNumber + 1) * pageSize >= totalElements;
+        this.totalExact = totalExact;
+    }
+
+    public PageResponseDto(List<T> content, Slice<?> slice, long totalElements, boolean totalExact) {
+        this.content = content;
+        this.pageNumber = slice.getNumber();
+        this.pageSize = slice.getSize();
+        this.totalElements = totalElements;
+        this.totalPages = slice.getSize() == 0 ? 1 : (int) Math.ceil((double) totalElements / slice.getSize());
+        this.first = slice.isFirst();
+        this.last = !slice.hasNext();
+        this.totalExact = totalExact;
+    }
+
     public List<T> getContent() {
         return content;
     }
@@ -81,4 +105,12 @@ public class PageResponseDto<T> {
     public void setLast(boolean last) {
         this.last = last;
     }
-} 
\ No newline at end of file
+
+    public boolean isTotalExact() {
+        return totalExact;
+    }
+
+    public void setTotalExact(boolean totalExact) {
+        this.totalExact = totalExact;
+    }
+}
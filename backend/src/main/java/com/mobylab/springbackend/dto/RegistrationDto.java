@@ -27,6 +27,8 @@ public class RegistrationDto {
 
     private String notes;
 
+    private Long waitlistPosition;
+
     // Getters and Setters
     public UUID getId() {
         return id;
@@ -99,4 +101,15 @@ public class RegistrationDto {
     public void setNotes(String notes) {
         this.notes = notes;
     }
-} 
\ No newline at end of file
+
+    /**
+     * 1-based place in the event's waitlist, set only for waitlisted registrations.
+     */
+    public Long getWaitlistPosition() {
+        return waitlistPosition;
+    }
+
+    public void setWaitlistPosition(Long waitlistPosition) {
+        this.waitlistPosition = waitlistPosition;
+    }
+}
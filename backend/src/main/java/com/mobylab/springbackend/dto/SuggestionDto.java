@@ -0,0 +1,46 @@
+package com.mobylab.springbackend.dto;
+
+import java.util.UUID;
+
+public class SuggestionDto {
+    public enum SuggestionType {
+        EVENT, CATEGORY
+    }
+
+    private SuggestionType type;
+    private UUID id;
+    private String text;
+
+    public SuggestionDto() {
+    }
+
+    public SuggestionDto(SuggestionType type, UUID id, String text) {
+        this.type = type;
+        this.id = id;
+        this.text = text;
+    }
+
+    public SuggestionType getType() {
+        return type;
+    }
+
+    public void setType(SuggestionType type) {
+        this.type = type;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+}
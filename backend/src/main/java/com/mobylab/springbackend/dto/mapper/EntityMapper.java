@@ -3,8 +3,9 @@ package com.mobylab.springbackend.dto.mapper;
 import com.mobylab.springbackend.dto.*;
 import com.mobylab.springbackend.entity.*;
 import com.mobylab.springbackend.repository.CategoryRepository;
-import com.mobylab.springbackend.repository.RegistrationRepository;
 import com.mobylab.springbackend.repository.UserRepository;
+import com.mobylab.springbackend.repository.projection.CategoryView;
+import com.mobylab.springbackend.repository.projection.EventView;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -16,15 +17,12 @@ public class EntityMapper {
 
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
-    private final RegistrationRepository registrationRepository;
 
     @Autowired
     public EntityMapper(UserRepository userRepository, 
-                        CategoryRepository categoryRepository, 
-                        RegistrationRepository registrationRepository) {
+                        CategoryRepository categoryRepository) {
         this.userRepository = userRepository;
         this.categoryRepository = categoryRepository;
-        this.registrationRepository = registrationRepository;
     }
 
     // Event Mappings
@@ -40,6 +38,7 @@ public class EntityMapper {
         dto.setStartTime(event.getStartTime());
         dto.setEndTime(event.getEndTime());
         dto.setMaxAttendees(event.getMaxAttendees());
+        dto.setInventoryShards(event.getInventoryShards());
         dto.setCreatedAt(event.getCreatedAt());
         dto.setUpdatedAt(event.getUpdatedAt());
         
@@ -57,12 +56,96 @@ public class EntityMapper {
             dto.setLocation(toDto(event.getLocation()));
         }
         
-        Long registrationsCount = registrationRepository.countByEvent(event);
-        dto.setRegistrationsCount(registrationsCount);
+        dto.setRegistrationsCount((long) event.getRegisteredCount());
+        dto.setRegistrationsUpdatedAt(event.getRegistrationsUpdatedAt());
         
         return dto;
     }
 
+    public EventDto toDto(EventView view) {
+        if (view == null) {
+            return null;
+        }
+
+        EventDto dto = new EventDto();
+        dto.setId(view.getId());
+        dto.setTitle(view.getTitle());
+        dto.setDescription(view.getDescription());
+        dto.setStartTime(view.getStartTime());
+        dto.setEndTime(view.getEndTime());
+        dto.setMaxAttendees(view.getMaxAttendees());
+        dto.setInventoryShards(view.getInventoryShards());
+        dto.setCreatedAt(view.getCreatedAt());
+        dto.setUpdatedAt(view.getUpdatedAt());
+        dto.setOrganizerId(view.getOrganizerId());
+        dto.setOrganizerName(view.getOrganizerName());
+        dto.setCategoryId(view.getCategoryId());
+        dto.setCategoryName(view.getCategoryName());
+        dto.setRegistrationsCount((long) view.getRegisteredCount());
+        dto.setRegistrationsUpdatedAt(view.getRegistrationsUpdatedAt());
+        
+        if (view.getLocationId() != null) {
+            LocationDto location = new LocationDto();
+            location.setId(view.getLocationId());
+            location.setName(view.getLocationName());
+            location.setAddress(view.getLocationAddress());
+            location.setCity(view.getLocationCity());
+            location.setPostalCode(view.getLocationPostalCode());
+            location.setCountry(view.getLocationCountry());
+            location.setLatitude(view.getLocationLatitude());
+            location.setLongitude(view.getLocationLongitude());
+            dto.setLocation(location);
+        }
+        
+        return dto;
+    }
+
+    /**
+     * Copies an event so a shared instance held by a cache or index is never handed out for mutation.
+     */
+    public EventDto copy(EventDto event) {
+        if (event == null) {
+            return null;
+        }
+
+        EventDto dto = new EventDto();
+        dto.setId(event.getId());
+        dto.setTitle(event.getTitle());
+        dto.setDescription(event.getDescription());
+        dto.setStartTime(event.getStartTime());
+        dto.setEndTime(event.getEndTime());
+        dto.setMaxAttendees(event.getMaxAttendees());
+        dto.setInventoryShards(event.getInventoryShards());
+        dto.setCreatedAt(event.getCreatedAt());
+        dto.setUpdatedAt(event.getUpdatedAt());
+        dto.setOrganizerId(event.getOrganizerId());
+        dto.setOrganizerName(event.getOrganizerName());
+        dto.setCategoryId(event.getCategoryId());
+        dto.setCategoryName(event.getCategoryName());
+        dto.setRegistrationsCount(event.getRegistrationsCount());
+        dto.setRegistrationsUpdatedAt(event.getRegistrationsUpdatedAt());
+
+        if (event.getLocation() != null) {
+            LocationDto source = event.getLocation();
+            LocationDto location = new LocationDto();
+            location.setId(source.getId());
+            location.setName(source.getName());
+            location.setAddress(source.getAddress());
+            location.setCity(source.getCity());
+            location.setPostalCode(source.getPostalCode());
+            location.setCountry(source.getCountry());
+            location.setLatitude(source.getLatitude());
+            location.setLongitude(source.getLongitude());
+            dto.setLocation(location);
+        }
+
+        return dto;
+    }
+
+    public List<EventDto> toEventDtoList(List<EventView> views) {
+        return mapList(views, this::toDto);
+    }
+
     public Event toEntity(EventDto dto) {
         if (dto == null) {
             return null;
@@ -79,6 +162,7 @@ public class EntityMapper {
         event.setStartTime(dto.getStartTime());
         event.setEndTime(dto.getEndTime());
         event.setMaxAttendees(dto.getMaxAttendees());
+        event.setInventoryShards(dto.getInventoryShards());
         
         if (dto.getOrganizerId() != null) {
             userRepository.findById(dto.getOrganizerId())
@@ -139,7 +223,7 @@ public class EntityMapper {
     }
 
     // Category Mappings
-    public CategoryDto toDto(Category category) {
+    public CategoryDto toDto(Category category, long eventsCount) {
         if (category == null) {
             return null;
         }
@@ -148,11 +232,21 @@ public class EntityMapper {
         dto.setId(category.getId());
         dto.setName(category.getName());
         dto.setDescription(category.getDescription());
-        dto.setEventsCount((long) category.getEvents().size());
+        dto.setEventsCount(eventsCount);
         
         return dto;
     }
 
+    public CategoryDto toDto(CategoryView view) {
+        CategoryDto dto = new CategoryDto();
+        dto.setId(view.getId());
+        dto.setName(view.getName());
+        dto.setDescription(view.getDescription());
+        dto.setEventsCount(view.getEventsCount());
+
+        return dto;
+    }
+
     public Category toEntity(CategoryDto dto) {
         if (dto == null) {
             return null;
@@ -218,6 +312,27 @@ public class EntityMapper {
         return registration;
     }
 
+    // Broadcast Mappings
+    public BroadcastDto toDto(EventBroadcast broadcast) {
+        if (broadcast == null) {
+            return null;
+        }
+
+        return new BroadcastDto(
+                broadcast.getId(),
+                broadcast.getEventId(),
+                broadcast.getSubject(),
+                EventBroadcast.parseStatuses(broadcast.getRecipientStatuses()),
+                broadcast.getStatus(),
+                broadcast.getTotalRecipients(),
+                broadcast.getQueuedCount(),
+                broadcast.getSentCount(),
+                broadcast.getFailedCount(),
+                broadcast.getCreatedAt(),
+                broadcast.getStartedAt(),
+                broadcast.getCompletedAt());
+    }
+
     // List Mappings
     public <S, T> List<T> mapList(List<S> source, java.util.function.Function<S, T> mapper) {
         return source.stream()
@@ -0,0 +1,86 @@
+package com.mobylab.springbackend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A file attached to outbox messages, stored once however many messages carry it. The ID is
+ * derived from the content, so the same attachment rendered again maps to the same row.
+ */
+@Entity
+@Table(name = "email_attachments", schema = "project")
+public class EmailAttachment {
+
+    @Id
+    @Column(name = "id")
+    private UUID id;
+
+    @Column(name = "filename", nullable = false)
+    private String filename;
+
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+
+    @Column(name = "content", nullable = false, columnDefinition = "bytea")
+    private byte[] content;
+
+    // Refreshed whenever a message is queued with it; unreferenced rows are purged some time after
+    @Column(name = "last_used_at", nullable = false)
+    private LocalDateTime lastUsedAt;
+
+    public static EmailAttachment of(String filename, String contentType, byte[] content) {
+        return new EmailAttachment()
+                .setId(UUID.nameUUIDFromBytes(content))
+                .setFilename(filename)
+                .setContentType(contentType)
+                .setContent(content);
+    }
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public EmailAttachment setId(UUID id) {
+        this.id = id;
+        return this;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public EmailAttachment setFilename(String filename) {
+        this.filename = filename;
+        return this;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public EmailAttachment setContentType(String contentType) {
+        this.contentType = contentType;
+        return this;
+    }
+
+    public byte[] getContent() {
+        return content;
+    }
+
+    public EmailAttachment setContent(byte[] content) {
+        this.content = content;
+        return this;
+    }
+
+    public LocalDateTime getLastUsedAt() {
+        return lastUsedAt;
+    }
+
+    public EmailAttachment setLastUsedAt(LocalDateTime lastUsedAt) {
+        this.lastUsedAt = lastUsedAt;
+        return this;
+    }
+}
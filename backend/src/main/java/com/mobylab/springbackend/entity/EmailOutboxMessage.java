@@ -0,0 +1,202 @@
+package com.mobylab.springbackend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An email written in the transaction of the change it reports and sent later by the outbox
+ * dispatcher, so mail server latency and failures never reach that transaction.
+ */
+@Entity
+@Table(name = "email_outbox", schema = "project", indexes = {
+        @Index(name = "idx_email_outbox_status_next_attempt", columnList = "status, next_attempt_at")
+})
+public class EmailOutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id")
+    private UUID id;
+
+    @Column(name = "recipient", nullable = false)
+    private String recipient;
+
+    @Column(name = "subject", nullable = false)
+    private String subject;
+
+    @Column(name = "body", nullable = false, columnDefinition = "text")
+    private String body;
+
+    // Alternative to the plain-text body, null for text-only messages
+    @Column(name = "html_body", columnDefinition = "text")
+    private String htmlBody;
+
+    @Column(name = "attachment_id")
+    private UUID attachmentId;
+
+    // Set on messages of an organizer broadcast, whose progress counts their delivery
+    @Column(name = "broadcast_id")
+    private UUID broadcastId;
+
+    @Column(name = "status", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // A dispatcher that claimed the message owns it until then; past it, another may retry
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+        if (status == null) {
+            status = Status.PENDING;
+        }
+    }
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public EmailOutboxMessage setId(UUID id) {
+        this.id = id;
+        return this;
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public EmailOutboxMessage setRecipient(String recipient) {
+        this.recipient = recipient;
+        return this;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public EmailOutboxMessage setSubject(String subject) {
+        this.subject = subject;
+        return this;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public EmailOutboxMessage setBody(String body) {
+        this.body = body;
+        return this;
+    }
+
+    public String getHtmlBody() {
+        return htmlBody;
+    }
+
+    public EmailOutboxMessage setHtmlBody(String htmlBody) {
+        this.htmlBody = htmlBody;
+        return this;
+    }
+
+    public UUID getAttachmentId() {
+        return attachmentId;
+    }
+
+    public EmailOutboxMessage setAttachmentId(UUID attachmentId) {
+        this.attachmentId = attachmentId;
+        return this;
+    }
+
+    public UUID getBroadcastId() {
+        return broadcastId;
+    }
+
+    public EmailOutboxMessage setBroadcastId(UUID broadcastId) {
+        this.broadcastId = broadcastId;
+        return this;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public EmailOutboxMessage setStatus(Status status) {
+        this.status = status;
+        return this;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public EmailOutboxMessage setAttempts(int attempts) {
+        this.attempts = attempts;
+        return this;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public EmailOutboxMessage setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+        return this;
+    }
+
+    public LocalDateTime getLockedUntil() {
+        return lockedUntil;
+    }
+
+    public EmailOutboxMessage setLockedUntil(LocalDateTime lockedUntil) {
+        this.lockedUntil = lockedUntil;
+        return this;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public EmailOutboxMessage setLastError(String lastError) {
+        this.lastError = lastError;
+        return this;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getSentAt() {
+        return sentAt;
+    }
+
+    public EmailOutboxMessage setSentAt(LocalDateTime sentAt) {
+        this.sentAt = sentAt;
+        return this;
+    }
+
+    public enum Status {
+        PENDING, SENT, FAILED
+    }
+}
@@ -8,7 +8,11 @@ import java.util.Set;
 import java.util.UUID;
 
 @Entity
-@Table(name = "events", schema = "project")
+@Table(name = "events", schema = "project", indexes = {
+        @Index(name = "idx_events_start_time_id", columnList = "start_time, id"),
+        @Index(name = "idx_events_category_start_time_id", columnList = "category_id, start_time, id"),
+        @Index(name = "idx_events_organizer_start_time_id", columnList = "organizer_id, start_time, id")
+})
 public class Event {
 
     @Id
@@ -31,6 +35,21 @@ public class Event {
     @Column(name = "max_attendees")
     private Integer maxAttendees;
 
+    // Number of event_inventory_shards rows holding the free seats; null keeps the single
+    // guarded counter below
+    @Column(name = "inventory_shards")
+    private Integer inventoryShards;
+
+    // Number of active (non-cancelled) registrations, maintained by single-statement
+    // conditional updates in EventRepository; never written through the entity.
+    @Column(name = "registered_count", nullable = false, updatable = false,
+            columnDefinition = "integer not null default 0")
+    private int registeredCount;
+
+    // Last time registeredCount changed, set by the same statements
+    @Column(name = "registrations_updated_at", insertable = false, updatable = false)
+    private LocalDateTime registrationsUpdatedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "organizer_id", nullable = false)
     private User organizer;
@@ -118,6 +137,33 @@ public class Event {
         return this;
     }
 
+    public Integer getInventoryShards() {
+        return inventoryShards;
+    }
+
+    public Event setInventoryShards(Integer inventoryShards) {
+        this.inventoryShards = inventoryShards;
+        return this;
+    }
+
+    public int getRegisteredCount() {
+        return registeredCount;
+    }
+
+    public Event setRegisteredCount(int registeredCount) {
+        this.registeredCount = registeredCount;
+        return this;
+    }
+
+    public LocalDateTime getRegistrationsUpdatedAt() {
+        return registrationsUpdatedAt;
+    }
+
+    public Event setRegistrationsUpdatedAt(LocalDateTime registrationsUpdatedAt) {
+        this.registrationsUpdatedAt = registrationsUpdatedAt;
+        return this;
+    }
+
     public User getOrganizer() {
         return organizer;
     }
@@ -0,0 +1,252 @@
+package com.mobylab.springbackend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * A message from an event's organizer to its registrants, fanned out to the email outbox in the
+ * background. Like {@link EventReminder}, it records the last registration queued after every
+ * batch and is worked on by one node at a time under a lease, so an interrupted fan-out resumes
+ * where it stopped and nobody gets the message twice.
+ */
+@Entity
+@Table(name = "event_broadcasts", schema = "project", indexes = {
+        @Index(name = "idx_event_broadcasts_status_created_at", columnList = "status, created_at"),
+        @Index(name = "idx_event_broadcasts_event_id", columnList = "event_id")
+})
+public class EventBroadcast {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id")
+    private UUID id;
+
+    @Column(name = "event_id", nullable = false)
+    private UUID eventId;
+
+    @Column(name = "subject", nullable = false)
+    private String subject;
+
+    @Column(name = "message", nullable = false, columnDefinition = "text")
+    private String message;
+
+    // Comma-separated registration statuses the message goes to
+    @Column(name = "recipient_statuses", nullable = false)
+    private String recipientStatuses;
+
+    @Column(name = "status", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    // Counted when the fan-out first starts
+    @Column(name = "total_recipients")
+    private Long totalRecipients;
+
+    @Column(name = "queued_count", nullable = false)
+    private long queuedCount;
+
+    @Column(name = "sent_count", nullable = false)
+    private long sentCount;
+
+    @Column(name = "failed_count", nullable = false)
+    private long failedCount;
+
+    @Column(name = "cursor_registration_time")
+    private LocalDateTime cursorRegistrationTime;
+
+    @Column(name = "cursor_registration_id")
+    private UUID cursorRegistrationId;
+
+    @Column(name = "lease_owner", length = 64)
+    private String leaseOwner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    public static String joinStatuses(Set<Registration.RegistrationStatus> statuses) {
+        return statuses.stream().map(Enum::name).sorted().collect(Collectors.joining(","));
+    }
+
+    public static Set<Registration.RegistrationStatus> parseStatuses(String statuses) {
+        Set<Registration.RegistrationStatus> parsed = EnumSet.noneOf(Registration.RegistrationStatus.class);
+        for (String status : statuses.split(",")) {
+            parsed.add(Registration.RegistrationStatus.valueOf(status));
+        }
+        return parsed;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (status == null) {
+            status = Status.QUEUED;
+        }
+    }
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public EventBroadcast setId(UUID id) {
+        this.id = id;
+        return this;
+    }
+
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    public EventBroadcast setEventId(UUID eventId) {
+        this.eventId = eventId;
+        return this;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public EventBroadcast setSubject(String subject) {
+        this.subject = subject;
+        return this;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public EventBroadcast setMessage(String message) {
+        this.message = message;
+        return this;
+    }
+
+    public String getRecipientStatuses() {
+        return recipientStatuses;
+    }
+
+    public EventBroadcast setRecipientStatuses(String recipientStatuses) {
+        this.recipientStatuses = recipientStatuses;
+        return this;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public EventBroadcast setStatus(Status status) {
+        this.status = status;
+        return this;
+    }
+
+    public Long getTotalRecipients() {
+        return totalRecipients;
+    }
+
+    public EventBroadcast setTotalRecipients(Long totalRecipients) {
+        this.totalRecipients = totalRecipients;
+        return this;
+    }
+
+    public long getQueuedCount() {
+        return queuedCount;
+    }
+
+    public EventBroadcast setQueuedCount(long queuedCount) {
+        this.queuedCount = queuedCount;
+        return this;
+    }
+
+    public long getSentCount() {
+        return sentCount;
+    }
+
+    public EventBroadcast setSentCount(long sentCount) {
+        this.sentCount = sentCount;
+        return this;
+    }
+
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    public EventBroadcast setFailedCount(long failedCount) {
+        this.failedCount = failedCount;
+        return this;
+    }
+
+    public LocalDateTime getCursorRegistrationTime() {
+        return cursorRegistrationTime;
+    }
+
+    public EventBroadcast setCursorRegistrationTime(LocalDateTime cursorRegistrationTime) {
+        this.cursorRegistrationTime = cursorRegistrationTime;
+        return this;
+    }
+
+    public UUID getCursorRegistrationId() {
+        return cursorRegistrationId;
+    }
+
+    public EventBroadcast setCursorRegistrationId(UUID cursorRegistrationId) {
+        this.cursorRegistrationId = cursorRegistrationId;
+        return this;
+    }
+
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+
+    public EventBroadcast setLeaseOwner(String leaseOwner) {
+        this.leaseOwner = leaseOwner;
+        return this;
+    }
+
+    public LocalDateTime getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public EventBroadcast setLeaseUntil(LocalDateTime leaseUntil) {
+        this.leaseUntil = leaseUntil;
+        return this;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public EventBroadcast setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+        return this;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public EventBroadcast setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+        return this;
+    }
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, CANCELLED
+    }
+}
@@ -0,0 +1,116 @@
+package com.mobylab.springbackend.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Number of events and seats left per start day and category, maintained incrementally by
+ * {@code EventDayRollupMaintainer}. Events without a category are counted under
+ * {@link #NO_CATEGORY} so the key stays non-null.
+ * <p>
+ * The primary key is (category_id, start_day); the index adds the day-first order used when
+ * summing over all categories.
+ */
+@Entity
+@IdClass(EventDayRollup.Key.class)
+@Table(name = "event_day_rollups", schema = "project", indexes = {
+        @Index(name = "idx_event_day_rollups_start_day_category", columnList = "start_day, category_id")
+})
+public class EventDayRollup {
+
+    public static final UUID NO_CATEGORY = new UUID(0L, 0L);
+
+    @Id
+    @Column(name = "start_day")
+    private LocalDate startDay;
+
+    @Id
+    @Column(name = "category_id")
+    private UUID categoryId;
+
+    @Column(name = "events_count", nullable = false)
+    private long eventsCount;
+
+    // Free seats summed over the events that have a capacity; unlimited events add nothing
+    @Column(name = "seats_left", nullable = false)
+    private long seatsLeft;
+
+    // Getters and Setters
+    public LocalDate getStartDay() {
+        return startDay;
+    }
+
+    public EventDayRollup setStartDay(LocalDate startDay) {
+        this.startDay = startDay;
+        return this;
+    }
+
+    public UUID getCategoryId() {
+        return categoryId;
+    }
+
+    public EventDayRollup setCategoryId(UUID categoryId) {
+        this.categoryId = categoryId;
+        return this;
+    }
+
+    public long getEventsCount() {
+        return eventsCount;
+    }
+
+    public EventDayRollup setEventsCount(long eventsCount) {
+        this.eventsCount = eventsCount;
+        return this;
+    }
+
+    public long getSeatsLeft() {
+        return seatsLeft;
+    }
+
+    public EventDayRollup setSeatsLeft(long seatsLeft) {
+        this.seatsLeft = seatsLeft;
+        return this;
+    }
+
+    public static class Key implements Serializable {
+
+        private LocalDate startDay;
+        private UUID categoryId;
+
+        public Key() {
+        }
+
+        public Key(LocalDate startDay, UUID categoryId) {
+            this.startDay = startDay;
+            this.categoryId = categoryId;
+        }
+
+        public LocalDate getStartDay() {
+            return startDay;
+        }
+
+        public UUID getCategoryId() {
+            return categoryId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key key)) {
+                return false;
+            }
+            return Objects.equals(startDay, key.startDay) && Objects.equals(categoryId, key.categoryId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(startDay, categoryId);
+        }
+    }
+}
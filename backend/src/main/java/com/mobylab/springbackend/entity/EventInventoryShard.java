@@ -0,0 +1,94 @@
+package com.mobylab.springbackend.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * One slice of the free seats of an event whose {@code inventory_shards} is above 1. Registrants
+ * take seats from different rows, so a popular event is not serialized on one counter.
+ */
+@Entity
+@IdClass(EventInventoryShard.Key.class)
+@Table(name = "event_inventory_shards", schema = "project")
+public class EventInventoryShard {
+
+    @Id
+    @Column(name = "event_id")
+    private UUID eventId;
+
+    @Id
+    @Column(name = "shard_no")
+    private int shardNo;
+
+    @Column(name = "remaining", nullable = false)
+    private int remaining;
+
+    // Getters and Setters
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    public EventInventoryShard setEventId(UUID eventId) {
+        this.eventId = eventId;
+        return this;
+    }
+
+    public int getShardNo() {
+        return shardNo;
+    }
+
+    public EventInventoryShard setShardNo(int shardNo) {
+        this.shardNo = shardNo;
+        return this;
+    }
+
+    public int getRemaining() {
+        return remaining;
+    }
+
+    public EventInventoryShard setRemaining(int remaining) {
+        this.remaining = remaining;
+        return this;
+    }
+
+    public static class Key implements Serializable {
+
+        private UUID eventId;
+        private int shardNo;
+
+        public Key() {
+        }
+
+        public Key(UUID eventId, int shardNo) {
+            this.eventId = eventId;
+            this.shardNo = shardNo;
+        }
+
+        public UUID getEventId() {
+            return eventId;
+        }
+
+        public int getShardNo() {
+            return shardNo;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key key)) {
+                return false;
+            }
+            return shardNo == key.shardNo && Objects.equals(eventId, key.eventId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(eventId, shardNo);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.mobylab.springbackend.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * One reminder of an event, sent to every confirmed registration once it is due. Recipients are
+ * queued a chunk at a time in registration order, and the position reached is stored with each
+ * chunk, so a reminder interrupted by a restart resumes where it stopped instead of starting over.
+ * <p>
+ * The node working through a reminder holds a lease on it, renewed with every chunk; a node that
+ * disappears lets it run out, after which another node takes over from the stored position.
+ */
+@Entity
+@IdClass(EventReminder.Key.class)
+@Table(name = "event_reminders", schema = "project", indexes = {
+        @Index(name = "idx_event_reminders_status_due_at", columnList = "status, due_at")
+})
+public class EventReminder {
+
+    @Id
+    @Column(name = "event_id")
+    private UUID eventId;
+
+    @Id
+    @Column(name = "kind")
+    @Enumerated(EnumType.STRING)
+    private Kind kind;
+
+    @Column(name = "due_at", nullable = false)
+    private LocalDateTime dueAt;
+
+    @Column(name = "status", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    // Registration time and ID of the last registration queued, null before the first chunk
+    @Column(name = "cursor_registration_time")
+    private LocalDateTime cursorRegistrationTime;
+
+    @Column(name = "cursor_registration_id")
+    private UUID cursorRegistrationId;
+
+    @Column(name = "sent_count", nullable = false)
+    private long sentCount;
+
+    @Column(name = "lease_owner", length = 64)
+    private String leaseOwner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Getters and Setters
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    public EventReminder setEventId(UUID eventId) {
+        this.eventId = eventId;
+        return this;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public EventReminder setKind(Kind kind) {
+        this.kind = kind;
+        return this;
+    }
+
+    public LocalDateTime getDueAt() {
+        return dueAt;
+    }
+
+    public EventReminder setDueAt(LocalDateTime dueAt) {
+        this.dueAt = dueAt;
+        return this;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public EventReminder setStatus(Status status) {
+        this.status = status;
+        return this;
+    }
+
+    public LocalDateTime getCursorRegistrationTime() {
+        return cursorRegistrationTime;
+    }
+
+    public EventReminder setCursorRegistrationTime(LocalDateTime cursorRegistrationTime) {
+        this.cursorRegistrationTime = cursorRegistrationTime;
+        return this;
+    }
+
+    public UUID getCursorRegistrationId() {
+        return cursorRegistrationId;
+    }
+
+    public EventReminder setCursorRegistrationId(UUID cursorRegistrationId) {
+        this.cursorRegistrationId = cursorRegistrationId;
+        return this;
+    }
+
+    public long getSentCount() {
+        return sentCount;
+    }
+
+    public EventReminder setSentCount(long sentCount) {
+        this.sentCount = sentCount;
+        return this;
+    }
+
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+
+    public EventReminder setLeaseOwner(String leaseOwner) {
+        this.leaseOwner = leaseOwner;
+        return this;
+    }
+
+    public LocalDateTime getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public EventReminder setLeaseUntil(LocalDateTime leaseUntil) {
+        this.leaseUntil = leaseUntil;
+        return this;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public EventReminder setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+        return this;
+    }
+
+    public enum Kind {
+        DAY_BEFORE(Duration.ofHours(24)),
+        HOUR_BEFORE(Duration.ofHours(1));
+
+        private final Duration lead;
+
+        Kind(Duration lead) {
+            this.lead = lead;
+        }
+
+        /**
+         * How long before the event's start the reminder goes out.
+         */
+        public Duration getLead() {
+            return lead;
+        }
+    }
+
+    public enum Status {
+        PENDING, SENT, SKIPPED
+    }
+
+    public static class Key implements Serializable {
+
+        private UUID eventId;
+        private Kind kind;
+
+        public Key() {
+        }
+
+        public Key(UUID eventId, Kind kind) {
+            this.eventId = eventId;
+            this.kind = kind;
+        }
+
+        public UUID getEventId() {
+            return eventId;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key key)) {
+                return false;
+            }
+            return Objects.equals(eventId, key.eventId) && kind == key.kind;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(eventId, kind);
+        }
+
+        @Override
+        public String toString() {
+            return kind + " reminder of event " + eventId;
+        }
+    }
+}
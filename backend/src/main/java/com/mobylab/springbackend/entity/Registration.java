@@ -6,7 +6,10 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "registrations", schema = "project")
+@Table(name = "registrations", schema = "project", indexes = {
+        @Index(name = "idx_registrations_event_registration_time", columnList = "event_id, registration_time, id"),
+        @Index(name = "idx_registrations_event_status_registration_time", columnList = "event_id, status, registration_time, id")
+})
 public class Registration {
 
     @Id
@@ -96,6 +99,13 @@ public class Registration {
     }
 
     public enum RegistrationStatus {
-        PENDING, CONFIRMED, CANCELLED, ATTENDED
+        PENDING, CONFIRMED, CANCELLED, ATTENDED, WAITLISTED;
+
+        /**
+         * Whether a registration in this status takes one of the event's seats.
+         */
+        public boolean holdsSeat() {
+            return this != CANCELLED && this != WAITLISTED;
+        }
     }
 } 
\ No newline at end of file
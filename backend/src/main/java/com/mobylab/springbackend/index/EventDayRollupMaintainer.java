@@ -0,0 +1,204 @@
+package com.mobylab.springbackend.index;
+
+import com.mobylab.springbackend.dto.EventDto;
+import com.mobylab.springbackend.entity.EventDayRollup;
+import com.mobylab.springbackend.repository.EventDayRollupRepository;
+import com.mobylab.springbackend.repository.EventRepository;
+import com.mobylab.springbackend.repository.projection.EventView;
+import com.mobylab.springbackend.service.event.EventChangedEvent;
+import com.mobylab.springbackend.service.event.RegistrationChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Keeps the {@code event_day_rollups} table in step with event and registration writes. Changes
+ * are collected per transaction and applied as one batch of upserts just before it commits, so the
+ * rollups commit or roll back together with the writes they describe and a bulk import costs one
+ * batch per chunk rather than one statement per event.
+ */
+@Component
+@Order(4)
+public class EventDayRollupMaintainer implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventDayRollupMaintainer.class);
+
+    private static final String UPSERT = "INSERT INTO project.event_day_rollups AS r " +
+            "(start_day, category_id, events_count, seats_left) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (start_day, category_id) DO UPDATE SET " +
+            "events_count = r.events_count + EXCLUDED.events_count, seats_left = r.seats_left + EXCLUDED.seats_left";
+    private static final int[] UPSERT_TYPES = {Types.DATE, Types.OTHER, Types.BIGINT, Types.BIGINT};
+
+    // Rows are always locked in key order so two transactions touching the same days cannot deadlock
+    private static final Comparator<EventDayRollup.Key> KEY_ORDER = Comparator
+            .comparing(EventDayRollup.Key::getStartDay)
+            .thenComparing(EventDayRollup.Key::getCategoryId);
+
+    private final EventDayRollupRepository rollupRepository;
+    private final EventRepository eventRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public EventDayRollupMaintainer(EventDayRollupRepository rollupRepository,
+                                    EventRepository eventRepository,
+                                    JdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate) {
+        this.rollupRepository = rollupRepository;
+        this.eventRepository = eventRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // Events written before the table existed have to be counted once
+        if (rollupRepository.count() == 0 && eventRepository.count() > 0) {
+            int rows = transactionTemplate.execute(status -> rebuild());
+            LOGGER.info("Built {} event day rollup(s)", rows);
+        }
+    }
+
+    /**
+     * Recomputes every rollup from the events table. Returns the number of rollup rows written.
+     */
+    @Transactional
+    public int rebuild() {
+        rollupRepository.deleteAllRows();
+        return rollupRepository.insertFromEvents(EventDayRollup.NO_CATEGORY);
+    }
+
+    @EventListener
+    public void onEventChanged(EventChangedEvent change) {
+        Pending pending = pending();
+        if (change.getPrevious() != null) {
+            pending.add(change.getPrevious(), -1);
+        }
+        if (change.getCurrent() != null) {
+            pending.add(change.getCurrent(), 1);
+        }
+        applyIfUnbound(pending);
+    }
+
+    @EventListener
+    public void onRegistrationChanged(RegistrationChangedEvent change) {
+        if (change.getSeatsDelta() == 0) {
+            return;
+        }
+        Pending pending = pending();
+        pending.seatsTaken.merge(change.getEventId(), change.getSeatsDelta(), Integer::sum);
+        applyIfUnbound(pending);
+    }
+
+    private Pending pending() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new Pending(false);
+        }
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Pending bound = new Pending(true);
+            TransactionSynchronizationManager.bindResource(this, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    apply(bound);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(EventDayRollupMaintainer.this);
+                }
+            });
+            pending = bound;
+        }
+        return pending;
+    }
+
+    private void applyIfUnbound(Pending pending) {
+        if (!pending.bound) {
+            transactionTemplate.executeWithoutResult(status -> apply(pending));
+        }
+    }
+
+    private void apply(Pending pending) {
+        if (!pending.seatsTaken.isEmpty()) {
+            // Seat changes are resolved against the counters as this transaction left them;
+            // an event that was deleted meanwhile has already been subtracted as a whole
+            for (EventView event : eventRepository.findViewsByIdIn(pending.seatsTaken.keySet())) {
+                int taken = pending.seatsTaken.get(event.getId());
+                long after = seatsLeft(event.getMaxAttendees(), event.getRegisteredCount());
+                long before = seatsLeft(event.getMaxAttendees(), event.getRegisteredCount() - taken);
+                pending.add(key(event.getStartTime(), event.getCategoryId()), 0, after - before);
+            }
+            pending.seatsTaken.clear();
+        }
+
+        List<Object[]> rows = new ArrayList<>(pending.deltas.size());
+        pending.deltas.forEach((key, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0) {
+                rows.add(new Object[]{Date.valueOf(key.getStartDay()), key.getCategoryId(), delta[0], delta[1]});
+            }
+        });
+        pending.deltas.clear();
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT, rows, UPSERT_TYPES);
+        }
+    }
+
+    private static EventDayRollup.Key key(LocalDateTime startTime, UUID categoryId) {
+        return new EventDayRollup.Key(startTime.toLocalDate(),
+                categoryId != null ? categoryId : EventDayRollup.NO_CATEGORY);
+    }
+
+    private static long seatsLeft(Integer maxAttendees, long registered) {
+        return maxAttendees == null ? 0 : Math.max(maxAttendees - registered, 0);
+    }
+
+    /**
+     * Changes not yet written: event and seat deltas per rollup row, plus net seats taken per
+     * event, which need the event's capacity to turn into a seat delta.
+     */
+    private static class Pending {
+
+        private final boolean bound;
+        private final Map<EventDayRollup.Key, long[]> deltas = new TreeMap<>(KEY_ORDER);
+        private final Map<UUID, Integer> seatsTaken = new HashMap<>();
+
+        Pending(boolean bound) {
+            this.bound = bound;
+        }
+
+        void add(EventDto event, int sign) {
+            long registered = event.getRegistrationsCount() != null ? event.getRegistrationsCount() : 0;
+            add(key(event.getStartTime(), event.getCategoryId()), sign,
+                    sign * seatsLeft(event.getMaxAttendees(), registered));
+        }
+
+        void add(EventDayRollup.Key key, long events, long seats) {
+            long[] delta = deltas.computeIfAbsent(key, k -> new long[2]);
+            delta[0] += events;
+            delta[1] += seats;
+        }
+    }
+}
@@ -0,0 +1,413 @@
+package com.mobylab.springbackend.index;
+
+import com.mobylab.springbackend.dto.EventDto;
+import com.mobylab.springbackend.dto.EventFilterDto;
+import com.mobylab.springbackend.dto.FacetCountDto;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compressed bitmaps of event ordinals per category, city, country, organizer, start day and
+ * seat availability. A filter is an intersection of per-dimension unions; the facet counts of a
+ * dimension are taken with every filter applied except that dimension's own, so selecting one
+ * category still shows how many events the others would match.
+ */
+@Component
+public class EventFacetIndex implements EventIndex {
+
+    public static final String CATEGORY = "category";
+    public static final String CITY = "city";
+    public static final String COUNTRY = "country";
+    public static final String ORGANIZER = "organizer";
+    public static final String SEATS_LEFT = "seatsLeft";
+    private static final int MAX_FACET_VALUES = 20;
+
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private final List<Entry> entries = new ArrayList<>();
+    // Ordinals of removed events, reused to keep the bitmaps dense
+    private final RoaringBitmap freeOrdinals = new RoaringBitmap();
+    private final RoaringBitmap live = new RoaringBitmap();
+    private final RoaringBitmap withSeatsLeft = new RoaringBitmap();
+    private final TreeMap<LocalDate, RoaringBitmap> byStartDay = new TreeMap<>();
+    private final Facet<UUID> categories = new Facet<>();
+    private final Facet<String> cities = new Facet<>();
+    private final Facet<String> countries = new Facet<>();
+    private final Facet<UUID> organizers = new Facet<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Optimizing is a full pass over the bitmaps, so it runs after a rebuild and on a timer, never per change
+    private boolean rebuilding;
+    private boolean changedSinceOptimize;
+
+    /**
+     * Returns one page of matching event IDs ordered by start time, the exact number of matches
+     * and the facet counts of every dimension.
+     */
+    public FilterResult filter(EventFilterDto filter, int page, int size) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap category = categories.union(filter.getCategoryId());
+            RoaringBitmap city = cities.union(filter.getCity());
+            RoaringBitmap country = countries.union(filter.getCountry());
+            RoaringBitmap organizer = organizers.union(filter.getOrganizerId());
+            NavigableMap<LocalDate, RoaringBitmap> days = daysBetween(filter.getFrom(), filter.getTo());
+            RoaringBitmap dates = days == byStartDay ? null : FastAggregation.or(days.values().iterator());
+
+            RoaringBitmap seatsBase = intersect(category, city, country, organizer, dates);
+            RoaringBitmap matches = applySeatsLeft(seatsBase, filter.getSeatsLeft());
+
+            Map<String, List<FacetCountDto>> facets = new LinkedHashMap<>();
+            facets.put(CATEGORY, categories.counts(applySeatsLeft(intersect(city, country, organizer, dates), filter.getSeatsLeft())));
+            facets.put(CITY, cities.counts(applySeatsLeft(intersect(category, country, organizer, dates), filter.getSeatsLeft())));
+            facets.put(COUNTRY, countries.counts(applySeatsLeft(intersect(category, city, organizer, dates), filter.getSeatsLeft())));
+            facets.put(ORGANIZER, organizers.counts(applySeatsLeft(intersect(category, city, country, dates), filter.getSeatsLeft())));
+            facets.put(SEATS_LEFT, List.of(
+                    new FacetCountDto("true", "Seats left", RoaringBitmap.andCardinality(seatsBase, withSeatsLeft)),
+                    new FacetCountDto("false", "Full", RoaringBitmap.andNotCardinality(seatsBase, withSeatsLeft))));
+
+            return new FilterResult(page(matches, days, (long) page * size, size), matches.getLongCardinality(), facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(EventDto event) {
+        lock.writeLock().lock();
+        try {
+            changedSinceOptimize = true;
+            removeEntry(event.getId());
+
+            int ordinal = freeOrdinals.isEmpty() ? entries.size() : freeOrdinals.first();
+            freeOrdinals.remove(ordinal);
+            Entry entry = new Entry(event);
+            if (ordinal == entries.size()) {
+                entries.add(entry);
+            } else {
+                entries.set(ordinal, entry);
+            }
+            ordinals.put(entry.eventId, ordinal);
+
+            live.add(ordinal);
+            byStartDay.computeIfAbsent(entry.startTime.toLocalDate(), day -> new RoaringBitmap()).add(ordinal);
+            categories.add(entry.categoryId, event.getCategoryName(), ordinal);
+            organizers.add(entry.organizerId, event.getOrganizerName(), ordinal);
+            if (event.getLocation() != null) {
+                cities.add(entry.city, entry.city, ordinal);
+                countries.add(entry.country, entry.country, ordinal);
+            }
+            if (entry.hasSeatsLeft()) {
+                withSeatsLeft.add(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(UUID eventId) {
+        lock.writeLock().lock();
+        try {
+            changedSinceOptimize = true;
+            removeEntry(eventId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void registrationsChanged(UUID eventId, int seatsDelta) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(eventId);
+            if (ordinal == null) {
+                return;
+            }
+            changedSinceOptimize = true;
+            Entry entry = entries.get(ordinal);
+            entry.registrations = Math.max(0, entry.registrations + seatsDelta);
+            if (entry.hasSeatsLeft()) {
+                withSeatsLeft.add(ordinal);
+            } else {
+                withSeatsLeft.remove(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ordinals.clear();
+            entries.clear();
+            freeOrdinals.clear();
+            live.clear();
+            withSeatsLeft.clear();
+            byStartDay.clear();
+            categories.clear();
+            cities.clear();
+            countries.clear();
+            organizers.clear();
+            rebuilding = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void refresh() {
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                rebuilding = false;
+                runOptimize();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-compresses the bitmaps after incremental changes have accumulated.
+     */
+    @Scheduled(fixedDelayString = "${events.facets.optimize-interval:60000}")
+    public void optimize() {
+        lock.writeLock().lock();
+        try {
+            if (changedSinceOptimize) {
+                runOptimize();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void runOptimize() {
+        changedSinceOptimize = false;
+        live.runOptimize();
+        withSeatsLeft.runOptimize();
+    }
+
+    private void removeEntry(UUID eventId) {
+        Integer ordinal = ordinals.remove(eventId);
+        if (ordinal == null) {
+            return;
+        }
+        Entry entry = entries.get(ordinal);
+        entries.set(ordinal, null);
+        freeOrdinals.add(ordinal);
+
+        live.remove(ordinal);
+        withSeatsLeft.remove(ordinal);
+        LocalDate day = entry.startTime.toLocalDate();
+        RoaringBitmap dayBitmap = byStartDay.get(day);
+        dayBitmap.remove(ordinal);
+        if (dayBitmap.isEmpty()) {
+            byStartDay.remove(day);
+        }
+        categories.remove(entry.categoryId, ordinal);
+        organizers.remove(entry.organizerId, ordinal);
+        cities.remove(entry.city, ordinal);
+        countries.remove(entry.country, ordinal);
+    }
+
+    private NavigableMap<LocalDate, RoaringBitmap> daysBetween(LocalDate from, LocalDate to) {
+        if (from == null && to == null) {
+            return byStartDay;
+        }
+        if (from == null) {
+            return byStartDay.headMap(to, true);
+        }
+        if (to == null) {
+            return byStartDay.tailMap(from, true);
+        }
+        return from.isAfter(to) ? new TreeMap<>() : byStartDay.subMap(from, true, to, true);
+    }
+
+    /**
+     * Intersects the live events with every non-null constraint.
+     */
+    private RoaringBitmap intersect(RoaringBitmap... constraints) {
+        RoaringBitmap result = live.clone();
+        for (RoaringBitmap constraint : constraints) {
+            if (constraint != null) {
+                result.and(constraint);
+            }
+        }
+        return result;
+    }
+
+    private RoaringBitmap applySeatsLeft(RoaringBitmap base, Boolean seatsLeft) {
+        if (seatsLeft == null) {
+            return base;
+        }
+        return seatsLeft ? RoaringBitmap.and(base, withSeatsLeft) : RoaringBitmap.andNot(base, withSeatsLeft);
+    }
+
+    /**
+     * Walks the start days in order, skipping whole days by cardinality until the page starts,
+     * and sorts only the days the page overlaps.
+     */
+    private List<UUID> page(RoaringBitmap matches, NavigableMap<LocalDate, RoaringBitmap> days, long offset, int size) {
+        List<UUID> eventIds = new ArrayList<>(size);
+        long skip = offset;
+        for (RoaringBitmap day : days.values()) {
+            if (eventIds.size() == size) {
+                break;
+            }
+            long matchesInDay = RoaringBitmap.andCardinality(day, matches);
+            if (skip >= matchesInDay) {
+                skip -= matchesInDay;
+                continue;
+            }
+
+            List<Entry> dayEntries = new ArrayList<>((int) matchesInDay);
+            IntIterator iterator = RoaringBitmap.and(day, matches).getIntIterator();
+            while (iterator.hasNext()) {
+                dayEntries.add(entries.get(iterator.next()));
+            }
+            dayEntries.sort(Comparator.comparing((Entry e) -> e.startTime).thenComparing(e -> e.eventId));
+            for (int i = (int) skip; i < dayEntries.size() && eventIds.size() < size; i++) {
+                eventIds.add(dayEntries.get(i).eventId);
+            }
+            skip = 0;
+        }
+        return eventIds;
+    }
+
+    private static final class Entry {
+        private final UUID eventId;
+        private final LocalDateTime startTime;
+        private final UUID categoryId;
+        private final UUID organizerId;
+        private final String city;
+        private final String country;
+        private final Integer maxAttendees;
+        private long registrations;
+
+        private Entry(EventDto event) {
+            this.eventId = event.getId();
+            this.startTime = event.getStartTime();
+            this.categoryId = event.getCategoryId();
+            this.organizerId = event.getOrganizerId();
+            this.city = event.getLocation() != null ? event.getLocation().getCity() : null;
+            this.country = event.getLocation() != null ? event.getLocation().getCountry() : null;
+            this.maxAttendees = event.getMaxAttendees();
+            this.registrations = event.getRegistrationsCount() != null ? event.getRegistrationsCount() : 0;
+        }
+
+        private boolean hasSeatsLeft() {
+            return maxAttendees == null || registrations < maxAttendees;
+        }
+    }
+
+    /**
+     * One bitmap per distinct value of a dimension, with a display label.
+     */
+    private static final class Facet<K> {
+        private final Map<K, RoaringBitmap> bitmaps = new HashMap<>();
+        private final Map<K, String> labels = new HashMap<>();
+
+        private void add(K key, String label, int ordinal) {
+            if (key == null) {
+                return;
+            }
+            bitmaps.computeIfAbsent(key, k -> new RoaringBitmap()).add(ordinal);
+            if (label != null) {
+                labels.put(key, label);
+            }
+        }
+
+        private void remove(K key, int ordinal) {
+            if (key == null) {
+                return;
+            }
+            RoaringBitmap bitmap = bitmaps.get(key);
+            if (bitmap != null) {
+                bitmap.remove(ordinal);
+                if (bitmap.isEmpty()) {
+                    bitmaps.remove(key);
+                    labels.remove(key);
+                }
+            }
+        }
+
+        /**
+         * Returns the events having any of the values, or null when no value is given.
+         */
+        private RoaringBitmap union(Collection<K> keys) {
+            if (keys == null || keys.isEmpty()) {
+                return null;
+            }
+            List<RoaringBitmap> selected = new ArrayList<>(keys.size());
+            for (K key : keys) {
+                RoaringBitmap bitmap = bitmaps.get(key);
+                if (bitmap != null) {
+                    selected.add(bitmap);
+                }
+            }
+            return FastAggregation.or(selected.iterator());
+        }
+
+        private List<FacetCountDto> counts(RoaringBitmap base) {
+            List<FacetCountDto> counts = new ArrayList<>();
+            for (Map.Entry<K, RoaringBitmap> value : bitmaps.entrySet()) {
+                long count = RoaringBitmap.andCardinality(base, value.getValue());
+                if (count > 0) {
+                    counts.add(new FacetCountDto(value.getKey().toString(), labels.get(value.getKey()), count));
+                }
+            }
+            counts.sort(Comparator.comparingLong(FacetCountDto::getCount).reversed()
+                    .thenComparing(FacetCountDto::getValue));
+            return counts.size() > MAX_FACET_VALUES ? counts.subList(0, MAX_FACET_VALUES) : counts;
+        }
+
+        private void clear() {
+            bitmaps.clear();
+            labels.clear();
+        }
+    }
+
+    public static class FilterResult {
+        private final List<UUID> eventIds;
+        private final long totalMatches;
+        private final Map<String, List<FacetCountDto>> facets;
+
+        FilterResult(List<UUID> eventIds, long totalMatches, Map<String, List<FacetCountDto>> facets) {
+            this.eventIds = eventIds;
+            this.totalMatches = totalMatches;
+            this.facets = facets;
+        }
+
+        public List<UUID> getEventIds() {
+            return eventIds;
+        }
+
+        public long getTotalMatches() {
+            return totalMatches;
+        }
+
+        public Map<String, List<FacetCountDto>> getFacets() {
+            return facets;
+        }
+    }
+}
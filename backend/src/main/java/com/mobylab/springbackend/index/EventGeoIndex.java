@@ -0,0 +1,204 @@
+package com.mobylab.springbackend.index;
+
+import com.mobylab.springbackend.dto.EventDto;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Fixed grid over latitude/longitude holding every event whose location has coordinates.
+ * A radius query only visits the cells overlapping the circle's bounding box and ranks the
+ * events inside by great-circle distance.
+ */
+@Component
+public class EventGeoIndex implements EventIndex {
+
+    public static final double MAX_RADIUS_KM = 200;
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double CELL_DEGREES = 0.2;
+    private static final int LAT_CELLS = (int) Math.ceil(180 / CELL_DEGREES);
+    private static final int LON_CELLS = (int) Math.ceil(360 / CELL_DEGREES);
+
+    private final Map<Long, List<GeoEntry>> cells = new HashMap<>();
+    private final Map<UUID, GeoEntry> entries = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Returns up to {@code limit} events within {@code radiusKm} of the point, nearest first.
+     * Null filters are ignored; the time bounds apply to the start time and are inclusive.
+     */
+    public List<Hit> near(double latitude, double longitude, double radiusKm, LocalDateTime from,
+                         LocalDateTime to, UUID categoryId, int limit) {
+        double latDelta = Math.toDegrees(radiusKm / EARTH_RADIUS_KM);
+        double minLat = Math.max(-90, latitude - latDelta);
+        double maxLat = Math.min(90, latitude + latDelta);
+        int minLatCell = latCell(minLat);
+        int maxLatCell = latCell(maxLat);
+
+        // Near the poles every meridian is within reach, so the whole band is scanned
+        double widestCos = Math.cos(Math.toRadians(Math.max(Math.abs(minLat), Math.abs(maxLat))));
+        double lonDelta = widestCos > 0 ? Math.toDegrees(radiusKm / (EARTH_RADIUS_KM * widestCos)) : 180;
+        int lonCellSpan = lonDelta >= 180 ? LON_CELLS : (int) Math.ceil(lonDelta / CELL_DEGREES) + 1;
+        int centerLonCell = lonCell(longitude);
+
+        // Max-heap on distance so the farthest of the current best is evicted first
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(Hit::getDistanceKm).reversed());
+        lock.readLock().lock();
+        try {
+            for (int latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+                int firstLonCell = lonCellSpan >= LON_CELLS / 2 ? 0 : centerLonCell - lonCellSpan;
+                int lastLonCell = lonCellSpan >= LON_CELLS / 2 ? LON_CELLS - 1 : centerLonCell + lonCellSpan;
+                for (int lonCell = firstLonCell; lonCell <= lastLonCell; lonCell++) {
+                    List<GeoEntry> cell = cells.get(cellKey(latCell, Math.floorMod(lonCell, LON_CELLS)));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (GeoEntry entry : cell) {
+                        if (!entry.matches(from, to, categoryId)) {
+                            continue;
+                        }
+                        double distance = distanceKm(latitude, longitude, entry.latitude, entry.longitude);
+                        if (distance > radiusKm) {
+                            continue;
+                        }
+                        if (best.size() < limit) {
+                            best.add(new Hit(entry.eventId, distance));
+                        } else if (distance < best.peek().getDistanceKm()) {
+                            best.poll();
+                            best.add(new Hit(entry.eventId, distance));
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(Comparator.comparingDouble(Hit::getDistanceKm));
+        return hits;
+    }
+
+    @Override
+    public void index(EventDto event) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(event.getId());
+            if (event.getLocation() == null || event.getLocation().getLatitude() == null
+                    || event.getLocation().getLongitude() == null) {
+                return;
+            }
+
+            GeoEntry entry = new GeoEntry(event.getId(), event.getLocation().getLatitude(),
+                    event.getLocation().getLongitude(), event.getStartTime(), event.getCategoryId());
+            entries.put(entry.eventId, entry);
+            cells.computeIfAbsent(entry.cellKey, key -> new ArrayList<>()).add(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(UUID eventId) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(eventId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            cells.clear();
+            entries.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeEntry(UUID eventId) {
+        GeoEntry entry = entries.remove(eventId);
+        if (entry == null) {
+            return;
+        }
+        List<GeoEntry> cell = cells.get(entry.cellKey);
+        cell.remove(entry);
+        if (cell.isEmpty()) {
+            cells.remove(entry.cellKey);
+        }
+    }
+
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static int latCell(double latitude) {
+        return Math.min(LAT_CELLS - 1, (int) Math.floor((latitude + 90) / CELL_DEGREES));
+    }
+
+    private static int lonCell(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / CELL_DEGREES), LON_CELLS);
+    }
+
+    private static long cellKey(int latCell, int lonCell) {
+        return (long) latCell * LON_CELLS + lonCell;
+    }
+
+    private static final class GeoEntry {
+        private final UUID eventId;
+        private final double latitude;
+        private final double longitude;
+        private final LocalDateTime startTime;
+        private final UUID categoryId;
+        private final long cellKey;
+
+        private GeoEntry(UUID eventId, double latitude, double longitude, LocalDateTime startTime, UUID categoryId) {
+            this.eventId = eventId;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.startTime = startTime;
+            this.categoryId = categoryId;
+            this.cellKey = cellKey(latCell(latitude), lonCell(longitude));
+        }
+
+        private boolean matches(LocalDateTime from, LocalDateTime to, UUID category) {
+            return (from == null || !startTime.isBefore(from))
+                    && (to == null || !startTime.isAfter(to))
+                    && (category == null || category.equals(categoryId));
+        }
+    }
+
+    public static class Hit {
+        private final UUID eventId;
+        private final double distanceKm;
+
+        Hit(UUID eventId, double distanceKm) {
+            this.eventId = eventId;
+            this.distanceKm = distanceKm;
+        }
+
+        public UUID getEventId() {
+            return eventId;
+        }
+
+        public double getDistanceKm() {
+            return distanceKm;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.mobylab.springbackend.index;
+
+import com.mobylab.springbackend.dto.EventDto;
+
+import java.util.UUID;
+
+/**
+ * In-memory structure derived from the events table. Implementations are kept in sync by
+ * {@link EventIndexMaintainer}, which rebuilds them at startup and applies every committed change.
+ */
+public interface EventIndex {
+
+    /**
+     * Adds the event, replacing any previous version with the same ID.
+     */
+    void index(EventDto event);
+
+    void remove(UUID eventId);
+
+    void clear();
+
+    /**
+     * Called when the number of seats taken on an event changes by {@code seatsDelta}.
+     */
+    default void registrationsChanged(UUID eventId, int seatsDelta) {
+    }
+
+    /**
+     * Makes the changes applied so far visible to readers.
+     */
+    default void refresh() {
+    }
+}
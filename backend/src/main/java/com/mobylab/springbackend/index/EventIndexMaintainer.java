@@ -0,0 +1,181 @@
+package com.mobylab.springbackend.index;
+
+import com.mobylab.springbackend.dto.EventDto;
+import com.mobylab.springbackend.dto.mapper.EntityMapper;
+import com.mobylab.springbackend.repository.EventRepository;
+import com.mobylab.springbackend.repository.projection.EventView;
+import com.mobylab.springbackend.service.event.CategoryChangedEvent;
+import com.mobylab.springbackend.service.event.EventChangedEvent;
+import com.mobylab.springbackend.service.event.RegisteredCountsRecomputedEvent;
+import com.mobylab.springbackend.service.event.RegistrationChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Keeps every {@link EventIndex} in sync with the events table: loads them with a single streaming
+ * pass at startup and applies each event change once its transaction has committed.
+ */
+@Component
+@Order(3)
+public class EventIndexMaintainer implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventIndexMaintainer.class);
+
+    private final List<EventIndex> indexes;
+    private final EventRepository eventRepository;
+    private final EntityMapper mapper;
+    // Incremental updates may run concurrently with each other, but not with a rebuild
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public EventIndexMaintainer(List<EventIndex> indexes, EventRepository eventRepository, EntityMapper mapper) {
+        this.indexes = indexes;
+        this.eventRepository = eventRepository;
+        this.mapper = mapper;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void run(ApplicationArguments args) {
+        LOGGER.info("Building {} in-memory event index(es)", indexes.size());
+        long indexed = rebuild(indexes);
+        LOGGER.info("Indexed {} events", indexed);
+    }
+
+    /**
+     * Clears the given indexes and reloads them from the database. Returns the number of events indexed.
+     */
+    @Transactional(readOnly = true)
+    public long rebuild(Collection<? extends EventIndex> targets) {
+        rebuildLock.writeLock().lock();
+        try {
+            targets.forEach(EventIndex::clear);
+
+            long indexed = 0;
+            try (Stream<EventView> views = eventRepository.streamAllViews()) {
+                for (EventView view : (Iterable<EventView>) views::iterator) {
+                    EventDto event = mapper.toDto(view);
+                    for (EventIndex index : targets) {
+                        index.index(event);
+                    }
+                    indexed++;
+                }
+            }
+
+            targets.forEach(EventIndex::refresh);
+            return indexed;
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        rebuildLock.readLock().lock();
+        try {
+            for (EventIndex index : indexes) {
+                try {
+                    if (change.getType() == EventChangedEvent.Type.DELETED) {
+                        index.remove(change.getEventId());
+                    } else {
+                        index.index(change.getCurrent());
+                    }
+                    index.refresh();
+                } catch (RuntimeException e) {
+                    // A failing index must not keep the others from seeing the change
+                    LOGGER.error("Failed to apply change of event {} to {}", change.getEventId(),
+                            index.getClass().getSimpleName(), e);
+                }
+            }
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRegistrationChanged(RegistrationChangedEvent change) {
+        if (change.getSeatsDelta() == 0) {
+            return;
+        }
+
+        rebuildLock.readLock().lock();
+        try {
+            for (EventIndex index : indexes) {
+                try {
+                    index.registrationsChanged(change.getEventId(), change.getSeatsDelta());
+                } catch (RuntimeException e) {
+                    LOGGER.error("Failed to apply registration change of event {} to {}", change.getEventId(),
+                            index.getClass().getSimpleName(), e);
+                }
+            }
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reindexes the events of a renamed category, since every index keeps its own copy of the name.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    public void onCategoryChanged(CategoryChangedEvent change) {
+        rebuildLock.readLock().lock();
+        try {
+            try (Stream<EventView> views = eventRepository.streamViewsByCategoryId(change.getCategoryId())) {
+                for (EventView view : (Iterable<EventView>) views::iterator) {
+                    EventDto event = mapper.toDto(view);
+                    for (EventIndex index : indexes) {
+                        try {
+                            index.index(event);
+                        } catch (RuntimeException e) {
+                            LOGGER.error("Failed to reindex event {} of category {} in {}", event.getId(),
+                                    change.getCategoryId(), index.getClass().getSimpleName(), e);
+                        }
+                    }
+                }
+            }
+            indexes.forEach(EventIndex::refresh);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reindexes events whose stored registration counter was corrected, since the seat counts the
+     * indexes hold were derived from it.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRegisteredCountsRecomputed(RegisteredCountsRecomputedEvent change) {
+        List<EventView> views = eventRepository.findViewsByIdIn(change.getEventIds());
+        rebuildLock.readLock().lock();
+        try {
+            for (EventIndex index : indexes) {
+                try {
+                    for (EventView view : views) {
+                        index.index(mapper.toDto(view));
+                    }
+                    index.refresh();
+                } catch (RuntimeException e) {
+                    LOGGER.error("Failed to reindex {} event(s) with corrected counters in {}", views.size(),
+                            index.getClass().getSimpleName(), e);
+                }
+            }
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+}
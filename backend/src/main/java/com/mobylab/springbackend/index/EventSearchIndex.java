@@ -0,0 +1,247 @@
+package com.mobylab.springbackend.index;
+
+import com.mobylab.springbackend.dto.EventDto;
+import com.mobylab.springbackend.exception.BadRequestException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopScoreDocCollectorManager;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.search.uhighlight.DefaultPassageFormatter;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Embedded Lucene full-text index over event title, description, category name and city.
+ * Results are ranked by relevance and carry highlighted fragments of the matching fields.
+ */
+@Component
+public class EventSearchIndex implements EventIndex, DisposableBean {
+
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+    private static final String CATEGORY = "category";
+    private static final String CITY = "city";
+
+    private static final String[] SEARCH_FIELDS = {TITLE, DESCRIPTION, CATEGORY, CITY};
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(TITLE, 3f, CATEGORY, 2f, CITY, 1.5f, DESCRIPTION, 1f);
+    private static final String[] HIGHLIGHT_FIELDS = {TITLE, DESCRIPTION};
+    private static final int[] HIGHLIGHT_PASSAGES = {1, 2};
+    // Lucene stops counting hits past this threshold unless an exact total is requested
+    private static final int APPROXIMATE_TOTAL_HITS_THRESHOLD = 1000;
+    // Deep pages make Lucene keep a hit queue of (page + 1) * size entries
+    public static final int MAX_RESULT_WINDOW = 1000;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory = new ByteBuffersDirectory();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final Timer searchTimer;
+
+    @Autowired
+    public EventSearchIndex(MeterRegistry meterRegistry) throws IOException {
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+        this.searchTimer = Timer.builder("events.search.latency")
+                .description("Time spent querying the event full-text index")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void index(EventDto event) {
+        Document document = new Document();
+        document.add(new StringField(ID, event.getId().toString(), Field.Store.YES));
+        document.add(new TextField(TITLE, event.getTitle(), Field.Store.YES));
+        if (event.getDescription() != null) {
+            document.add(new TextField(DESCRIPTION, event.getDescription(), Field.Store.YES));
+        }
+        if (event.getCategoryName() != null) {
+            document.add(new TextField(CATEGORY, event.getCategoryName(), Field.Store.NO));
+        }
+        if (event.getLocation() != null && event.getLocation().getCity() != null) {
+            document.add(new TextField(CITY, event.getLocation().getCity(), Field.Store.NO));
+        }
+
+        try {
+            writer.updateDocument(new Term(ID, event.getId().toString()), document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void remove(UUID eventId) {
+        try {
+            writer.deleteDocuments(new Term(ID, eventId.toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void clear() {
+        try {
+            writer.deleteAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public SearchResult search(String text, int page, int size, boolean exactTotal) {
+        if (text == null || text.isBlank()) {
+            throw new BadRequestException("Search text is required");
+        }
+
+        Query query = parse(text);
+        return searchTimer.record(() -> {
+            try {
+                return search(query, page, size, exactTotal);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private SearchResult search(Query query, int page, int size, boolean exactTotal) throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs ranked = searcher.search(query, new TopScoreDocCollectorManager((page + 1) * size,
+                    exactTotal ? Integer.MAX_VALUE : APPROXIMATE_TOTAL_HITS_THRESHOLD));
+            int from = Math.min(page * size, ranked.scoreDocs.length);
+            TopDocs topDocs = new TopDocs(ranked.totalHits, Arrays.copyOfRange(ranked.scoreDocs, from, ranked.scoreDocs.length));
+
+            UnifiedHighlighter highlighter = UnifiedHighlighter.builder(searcher, analyzer)
+                    .withFormatter(new DefaultPassageFormatter("<mark>", "</mark>", "... ", true))
+                    .withMaxNoHighlightPassages(0)
+                    .build();
+            Map<String, String[]> highlights = highlighter.highlightFields(HIGHLIGHT_FIELDS, query, topDocs, HIGHLIGHT_PASSAGES);
+
+            StoredFields storedFields = searcher.storedFields();
+            List<Hit> hits = new ArrayList<>(topDocs.scoreDocs.length);
+            for (int i = 0; i < topDocs.scoreDocs.length; i++) {
+                ScoreDoc scoreDoc = topDocs.scoreDocs[i];
+                UUID eventId = UUID.fromString(storedFields.document(scoreDoc.doc, Set.of(ID)).get(ID));
+
+                Map<String, String> fragments = new HashMap<>();
+                for (String field : HIGHLIGHT_FIELDS) {
+                    String fragment = highlights.get(field)[i];
+                    if (fragment != null) {
+                        fragments.put(field, fragment);
+                    }
+                }
+                hits.add(new Hit(eventId, scoreDoc.score, fragments));
+            }
+
+            TotalHits totalHits = topDocs.totalHits;
+            return new SearchResult(hits, totalHits.value, totalHits.relation == TotalHits.Relation.EQUAL_TO);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    private Query parse(String text) {
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(SEARCH_FIELDS, analyzer, FIELD_BOOSTS);
+        try {
+            return parser.parse(QueryParser.escape(text));
+        } catch (ParseException e) {
+            throw new BadRequestException("Invalid search text: " + text, e);
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    public static class SearchResult {
+        private final List<Hit> hits;
+        private final long totalHits;
+        private final boolean totalExact;
+
+        SearchResult(List<Hit> hits, long totalHits, boolean totalExact) {
+            this.hits = hits;
+            this.totalHits = totalHits;
+            this.totalExact = totalExact;
+        }
+
+        public List<Hit> getHits() {
+            return hits;
+        }
+
+        public long getTotalHits() {
+            return totalHits;
+        }
+
+        public boolean isTotalExact() {
+            return totalExact;
+        }
+    }
+
+    public static class Hit {
+        private final UUID eventId;
+        private final float score;
+        private final Map<String, String> highlights;
+
+        Hit(UUID eventId, float score, Map<String, String> highlights) {
+            this.eventId = eventId;
+            this.score = score;
+            this.highlights = highlights;
+        }
+
+        public UUID getEventId() {
+            return eventId;
+        }
+
+        public float getScore() {
+            return score;
+        }
+
+        public Map<String, String> getHighlights() {
+            return highlights;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.mobylab.springbackend.index;
+
+import com.mobylab.springbackend.dto.EventDto;
+import com.mobylab.springbackend.dto.SuggestionDto;
+import com.mobylab.springbackend.dto.SuggestionDto.SuggestionType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Prefix suggester over the titles of upcoming events and the names of categories that have
+ * upcoming events. Titles are matched from the start of any word, ignoring case and accents.
+ * <p>
+ * Events are ranked by popularity and start time: each doubling of the seats taken is worth
+ * {@link #DAYS_PER_POPULARITY_LEVEL} days of earlier start. The weight does not depend on the
+ * current time, so rankings only change when an event or its popularity level does, and events
+ * are dropped once they start.
+ */
+@Component
+public class EventSuggestIndex implements EventIndex {
+
+    public static final int MAX_SUGGESTIONS = 10;
+    private static final int MAX_CATEGORY_SUGGESTIONS = 3;
+    private static final double DAYS_PER_POPULARITY_LEVEL = 3.0;
+    // Keys are cut to this length; longer prefixes are matched on their first characters only
+    private static final int MAX_KEY_LENGTH = 32;
+    // Title suffixes are indexed from at most this many leading words
+    private static final int MAX_WORD_STARTS = 6;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final TopKRadixTrie<EventEntry> eventTrie =
+            new TopKRadixTrie<>(MAX_SUGGESTIONS, Comparator.comparingDouble((EventEntry e) -> -e.weight)
+                    .thenComparing(e -> e.id));
+    private final TopKRadixTrie<CategoryEntry> categoryTrie =
+            new TopKRadixTrie<>(MAX_CATEGORY_SUGGESTIONS, Comparator.comparingInt((CategoryEntry c) -> -c.upcomingEvents)
+                    .thenComparing(c -> c.id));
+
+    private final Map<UUID, EventEntry> events = new HashMap<>();
+    private final Map<UUID, CategoryEntry> categories = new HashMap<>();
+    private final TreeSet<EventEntry> byStartTime = new TreeSet<>(
+            Comparator.comparing((EventEntry e) -> e.startTime).thenComparing(e -> e.id));
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Returns up to {@code limit} event suggestions for the prefix, preceded by up to
+     * {@value #MAX_CATEGORY_SUGGESTIONS} matching categories.
+     */
+    public List<SuggestionDto> suggest(String prefix, int limit) {
+        String key = truncate(normalize(prefix));
+        if (key.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<SuggestionDto> suggestions = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (CategoryEntry category : categoryTrie.top(key)) {
+                suggestions.add(category.suggestion);
+            }
+            int events = 0;
+            for (EventEntry event : eventTrie.top(key)) {
+                if (events == limit) {
+                    break;
+                }
+                // Started events linger until the next eviction pass
+                if (event.startTime.isAfter(now)) {
+                    suggestions.add(event.suggestion);
+                    events++;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return suggestions;
+    }
+
+    @Override
+    public void index(EventDto event) {
+        lock.writeLock().lock();
+        try {
+            removeEvent(event.getId());
+            if (event.getStartTime() == null || !event.getStartTime().isAfter(LocalDateTime.now())) {
+                return;
+            }
+
+            long registrations = event.getRegistrationsCount() != null ? event.getRegistrationsCount() : 0;
+            EventEntry entry = new EventEntry(event.getId(), event.getTitle(), event.getStartTime(),
+                    event.getCategoryId(), titleKeys(event.getTitle()), registrations);
+            addEvent(entry);
+
+            if (event.getCategoryId() != null) {
+                adjustCategory(event.getCategoryId(), event.getCategoryName(), 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(UUID eventId) {
+        lock.writeLock().lock();
+        try {
+            removeEvent(eventId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void registrationsChanged(UUID eventId, int seatsDelta) {
+        lock.writeLock().lock();
+        try {
+            EventEntry entry = events.get(eventId);
+            if (entry == null) {
+                return;
+            }
+            long registrations = Math.max(0, entry.registrations + seatsDelta);
+            if (popularityLevel(registrations) == popularityLevel(entry.registrations)) {
+                // Same ranking; skip the trie update
+                entry.registrations = registrations;
+                return;
+            }
+            removeEntry(entry);
+            addEvent(new EventEntry(entry.id, entry.suggestion.getText(), entry.startTime, entry.categoryId,
+                    entry.keys, registrations));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            eventTrie.clear();
+            categoryTrie.clear();
+            events.clear();
+            categories.clear();
+            byStartTime.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops events that have started, along with categories left without upcoming events.
+     */
+    @Scheduled(fixedDelayString = "${events.suggest.eviction-interval:60000}")
+    public void evictStartedEvents() {
+        LocalDateTime now = LocalDateTime.now();
+        lock.writeLock().lock();
+        try {
+            while (!byStartTime.isEmpty() && !byStartTime.first().startTime.isAfter(now)) {
+                removeEvent(byStartTime.first().id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addEvent(EventEntry entry) {
+        events.put(entry.id, entry);
+        byStartTime.add(entry);
+        for (String key : entry.keys) {
+            eventTrie.add(key, entry);
+        }
+    }
+
+    private void removeEvent(UUID eventId) {
+        EventEntry entry = events.get(eventId);
+        if (entry == null) {
+            return;
+        }
+        removeEntry(entry);
+        if (entry.categoryId != null) {
+            adjustCategory(entry.categoryId, null, -1);
+        }
+    }
+
+    private void removeEntry(EventEntry entry) {
+        events.remove(entry.id);
+        byStartTime.remove(entry);
+        for (String key : entry.keys) {
+            eventTrie.remove(key, entry);
+        }
+    }
+
+    private void adjustCategory(UUID categoryId, String name, int delta) {
+        CategoryEntry current = categories.get(categoryId);
+        int upcomingEvents = (current != null ? current.upcomingEvents : 0) + delta;
+        if (current != null) {
+            categoryTrie.remove(current.key, current);
+            categories.remove(categoryId);
+        }
+        // A name is passed when indexing an event, which also picks up category renames
+        String categoryName = name != null ? name : current != null ? current.name : null;
+        if (upcomingEvents > 0 && categoryName != null) {
+            CategoryEntry updated = new CategoryEntry(categoryId, categoryName, upcomingEvents);
+            categories.put(categoryId, updated);
+            if (!updated.key.isEmpty()) {
+                categoryTrie.add(updated.key, updated);
+            }
+        }
+    }
+
+    private static List<String> titleKeys(String title) {
+        String[] words = normalize(title).split(" ");
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < words.length && i < MAX_WORD_STARTS; i++) {
+            String key = truncate(String.join(" ", List.of(words).subList(i, words.length)));
+            if (!key.isEmpty()) {
+                keys.add(key);
+            }
+        }
+        return List.copyOf(keys);
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static String truncate(String key) {
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    private static int popularityLevel(long registrations) {
+        return 64 - Long.numberOfLeadingZeros(registrations);
+    }
+
+    private static final class EventEntry {
+        private final UUID id;
+        private final SuggestionDto suggestion;
+        private final LocalDateTime startTime;
+        private final UUID categoryId;
+        private final List<String> keys;
+        private final double weight;
+        private long registrations;
+
+        private EventEntry(UUID id, String title, LocalDateTime startTime, UUID categoryId,
+                           List<String> keys, long registrations) {
+            this.id = id;
+            this.suggestion = new SuggestionDto(SuggestionType.EVENT, id, title);
+            this.startTime = startTime;
+            this.categoryId = categoryId;
+            this.keys = keys;
+            this.registrations = registrations;
+            double startDay = startTime.toEpochSecond(ZoneOffset.UTC) / 86400.0;
+            this.weight = popularityLevel(registrations) * DAYS_PER_POPULARITY_LEVEL - startDay;
+        }
+    }
+
+    private static final class CategoryEntry {
+        private final UUID id;
+        private final String name;
+        private final String key;
+        private final int upcomingEvents;
+        private final SuggestionDto suggestion;
+
+        private CategoryEntry(UUID id, String name, int upcomingEvents) {
+            this.id = id;
+            this.name = name;
+            this.key = truncate(normalize(name));
+            this.upcomingEvents = upcomingEvents;
+            this.suggestion = new SuggestionDto(SuggestionType.CATEGORY, id, name);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.mobylab.springbackend.index;
+
+import com.mobylab.springbackend.dto.EventDto;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Interval index over event start and end times, answering which events overlap a time window.
+ */
+@Component
+public class EventTimeIndex implements EventIndex {
+
+    private final IntervalTreap intervals = new IntervalTreap();
+    private final Map<UUID, Long> startsById = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Returns the IDs of up to {@code limit} events running at any moment of {@code [from, to]},
+     * ordered by start time. Bounds are inclusive: an event ending exactly at {@code from} overlaps.
+     */
+    public List<UUID> overlapping(LocalDateTime from, LocalDateTime to, int limit) {
+        List<UUID> eventIds = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            intervals.overlapping(toSeconds(from), toSeconds(to), limit, eventIds);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return eventIds;
+    }
+
+    @Override
+    public void index(EventDto event) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(event.getId());
+            if (event.getStartTime() == null) {
+                return;
+            }
+            long start = toSeconds(event.getStartTime());
+            long end = event.getEndTime() != null ? Math.max(start, toSeconds(event.getEndTime())) : start;
+            intervals.insert(start, end, event.getId());
+            startsById.put(event.getId(), start);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(UUID eventId) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(eventId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            intervals.clear();
+            startsById.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeEntry(UUID eventId) {
+        Long start = startsById.remove(eventId);
+        if (start != null) {
+            intervals.delete(start, eventId);
+        }
+    }
+
+    private static long toSeconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+}
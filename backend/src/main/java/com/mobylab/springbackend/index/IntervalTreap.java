@@ -0,0 +1,145 @@
+package com.mobylab.springbackend.index;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Randomized balanced search tree of closed intervals ordered by start, with every node
+ * augmented by the largest end in its subtree. An overlap query skips any subtree whose
+ * largest end falls before the window and anything right of a node starting after it.
+ * Not thread-safe.
+ */
+final class IntervalTreap {
+
+    private Node root;
+
+    void insert(long start, long end, UUID id) {
+        Node node = new Node(start, end, id, ThreadLocalRandom.current().nextInt());
+        Node[] parts = split(root, start, id);
+        root = merge(merge(parts[0], node), parts[1]);
+    }
+
+    void delete(long start, UUID id) {
+        root = delete(root, start, id);
+    }
+
+    void clear() {
+        root = null;
+    }
+
+    /**
+     * Adds the IDs of intervals overlapping {@code [from, to]} in start order, stopping after
+     * {@code limit} results. Returns false if the limit cut the result short.
+     */
+    boolean overlapping(long from, long to, int limit, List<UUID> out) {
+        return collect(root, from, to, limit, out);
+    }
+
+    private static boolean collect(Node node, long from, long to, int limit, List<UUID> out) {
+        if (node == null || node.maxEnd < from) {
+            return true;
+        }
+        if (!collect(node.left, from, to, limit, out)) {
+            return false;
+        }
+        if (node.start > to) {
+            // Everything to the right starts even later
+            return true;
+        }
+        if (node.end >= from) {
+            if (out.size() == limit) {
+                return false;
+            }
+            out.add(node.id);
+        }
+        return collect(node.right, from, to, limit, out);
+    }
+
+    /**
+     * Splits into intervals ordered before {@code (start, id)} and the rest.
+     */
+    private static Node[] split(Node node, long start, UUID id) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        if (compare(node.start, node.id, start, id) < 0) {
+            Node[] parts = split(node.right, start, id);
+            node.right = parts[0];
+            node.update();
+            return new Node[]{node, parts[1]};
+        }
+        Node[] parts = split(node.left, start, id);
+        node.left = parts[1];
+        node.update();
+        return new Node[]{parts[0], node};
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static Node delete(Node node, long start, UUID id) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(start, id, node.start, node.id);
+        if (comparison == 0) {
+            return merge(node.left, node.right);
+        }
+        if (comparison < 0) {
+            node.left = delete(node.left, start, id);
+        } else {
+            node.right = delete(node.right, start, id);
+        }
+        node.update();
+        return node;
+    }
+
+    private static int compare(long start, UUID id, long otherStart, UUID otherId) {
+        int comparison = Long.compare(start, otherStart);
+        return comparison != 0 ? comparison : id.compareTo(otherId);
+    }
+
+    private static final class Node {
+        private final long start;
+        private final long end;
+        private final UUID id;
+        private final int priority;
+        private long maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(long start, long end, UUID id, int priority) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        private void update() {
+            long max = end;
+            if (left != null && left.maxEnd > max) {
+                max = left.maxEnd;
+            }
+            if (right != null && right.maxEnd > max) {
+                max = right.maxEnd;
+            }
+            maxEnd = max;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.mobylab.springbackend.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Compressed (radix) trie in which every node caches the {@code k} best entries of its subtree.
+ * A prefix lookup is a single walk down the prefix with no subtree traversal; writes recompute
+ * the caches along the path they touched. Not thread-safe.
+ */
+final class TopKRadixTrie<E> {
+
+    private final int k;
+    private final Comparator<E> order;
+    private final Node<E> root = new Node<>("");
+
+    /**
+     * @param k     number of entries cached per node
+     * @param order ordering of entries, best first
+     */
+    TopKRadixTrie(int k, Comparator<E> order) {
+        this.k = k;
+        this.order = order;
+    }
+
+    void add(String key, E entry) {
+        List<Node<E>> path = new ArrayList<>();
+        Node<E> node = root;
+        path.add(node);
+        int position = 0;
+
+        while (position < key.length()) {
+            int childIndex = node.childIndex(key.charAt(position));
+            if (childIndex < 0) {
+                Node<E> leaf = new Node<>(key.substring(position));
+                node.addChild(leaf);
+                node = leaf;
+                path.add(node);
+                break;
+            }
+
+            Node<E> child = node.children[childIndex];
+            int common = commonPrefixLength(child.label, key, position);
+            if (common < child.label.length()) {
+                // Split the edge so that the shared part becomes its own node
+                Node<E> middle = new Node<>(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.addChild(child);
+                middle.top = child.top;
+                node.children[childIndex] = middle;
+                child = middle;
+            }
+            node = child;
+            path.add(node);
+            position += common;
+        }
+
+        node.entries.add(entry);
+        for (int i = path.size() - 1; i >= 0; i--) {
+            recomputeTop(path.get(i));
+        }
+    }
+
+    void remove(String key, E entry) {
+        List<Node<E>> path = new ArrayList<>();
+        Node<E> node = root;
+        path.add(node);
+        int position = 0;
+
+        while (position < key.length()) {
+            int childIndex = node.childIndex(key.charAt(position));
+            if (childIndex < 0) {
+                return;
+            }
+            Node<E> child = node.children[childIndex];
+            if (!key.startsWith(child.label, position)) {
+                return;
+            }
+            node = child;
+            path.add(node);
+            position += child.label.length();
+        }
+
+        if (!node.entries.removeIf(existing -> existing == entry)) {
+            return;
+        }
+
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node<E> current = path.get(i);
+            Node<E> parent = path.get(i - 1);
+            if (current.entries.isEmpty() && current.children.length == 0) {
+                parent.removeChild(current);
+            } else if (current.entries.isEmpty() && current.children.length == 1) {
+                // Merge a pass-through node into its only child to keep the trie compressed
+                Node<E> only = current.children[0];
+                only.label = current.label + only.label;
+                parent.children[parent.childIndex(current.label.charAt(0))] = only;
+            } else {
+                recomputeTop(current);
+            }
+        }
+        recomputeTop(root);
+    }
+
+    /**
+     * Returns the best entries whose key starts with the prefix, best first.
+     */
+    List<E> top(String prefix) {
+        Node<E> node = root;
+        int position = 0;
+
+        while (position < prefix.length()) {
+            int childIndex = node.childIndex(prefix.charAt(position));
+            if (childIndex < 0) {
+                return Collections.emptyList();
+            }
+            Node<E> child = node.children[childIndex];
+            int remaining = prefix.length() - position;
+            if (remaining <= child.label.length()) {
+                // The prefix ends inside this edge
+                return child.label.startsWith(prefix.substring(position)) ? child.top : Collections.emptyList();
+            }
+            if (!prefix.startsWith(child.label, position)) {
+                return Collections.emptyList();
+            }
+            node = child;
+            position += child.label.length();
+        }
+        return node.top;
+    }
+
+    void clear() {
+        root.children = Node.emptyChildren();
+        root.entries.clear();
+        root.top = Collections.emptyList();
+    }
+
+    private void recomputeTop(Node<E> node) {
+        List<E> candidates = new ArrayList<>(node.entries);
+        for (Node<E> child : node.children) {
+            for (E entry : child.top) {
+                if (!containsIdentity(candidates, entry)) {
+                    candidates.add(entry);
+                }
+            }
+        }
+        candidates.sort(order);
+        node.top = candidates.size() > k
+                ? List.copyOf(candidates.subList(0, k))
+                : List.copyOf(candidates);
+    }
+
+    private static <E> boolean containsIdentity(List<E> entries, E entry) {
+        for (E existing : entries) {
+            if (existing == entry) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Node<E> {
+        private String label;
+        // Children sorted by the first character of their label
+        private Node<E>[] children = emptyChildren();
+        private final List<E> entries = new ArrayList<>(1);
+        private List<E> top = Collections.emptyList();
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <E> Node<E>[] emptyChildren() {
+            return (Node<E>[]) new Node<?>[0];
+        }
+
+        private int childIndex(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char midChar = children[mid].label.charAt(0);
+                if (midChar < first) {
+                    low = mid + 1;
+                } else if (midChar > first) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+
+        private void addChild(Node<E> child) {
+            char first = child.label.charAt(0);
+            int insertAt = 0;
+            while (insertAt < children.length && children[insertAt].label.charAt(0) < first) {
+                insertAt++;
+            }
+            Node<E>[] grown = Arrays.copyOf(children, children.length + 1);
+            System.arraycopy(children, insertAt, grown, insertAt + 1, children.length - insertAt);
+            grown[insertAt] = child;
+            children = grown;
+        }
+
+        private void removeChild(Node<E> child) {
+            int index = childIndex(child.label.charAt(0));
+            if (index < 0) {
+                return;
+            }
+            Node<E>[] shrunk = Arrays.copyOf(children, children.length - 1);
+            System.arraycopy(children, index + 1, shrunk, index, children.length - index - 1);
+            children = shrunk;
+        }
+    }
+}
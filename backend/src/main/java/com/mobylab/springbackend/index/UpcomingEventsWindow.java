@@ -0,0 +1,261 @@
+package com.mobylab.springbackend.index;
+
+import com.mobylab.springbackend.dto.EventDto;
+import com.mobylab.springbackend.dto.mapper.EntityMapper;
+import com.mobylab.springbackend.repository.EventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The next events to start, ordered by start time, kept in memory for the homepage.
+ * <p>
+ * The window holds twice the served size so that deletions and events starting rarely leave
+ * it short; when they do, it is refilled from the database. {@code complete} records whether
+ * the window holds every upcoming event, in which case a new event always belongs in it.
+ * Until a rebuild has filled it, the window is not trusted and reads go to the database.
+ * Entries are only touched under the lock, so events go in and come out as copies.
+ */
+@Component
+public class UpcomingEventsWindow implements EventIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UpcomingEventsWindow.class);
+
+    private final EventRepository eventRepository;
+    private final EntityMapper mapper;
+    private final int size;
+    private final int capacity;
+
+    private final TreeSet<EventDto> window = new TreeSet<>(
+            Comparator.comparing(EventDto::getStartTime).thenComparing(EventDto::getId));
+    private final Map<UUID, EventDto> byId = new HashMap<>();
+    private boolean complete = true;
+    // Set by clear() and resolved by the refresh() that ends the rebuild
+    private boolean loading;
+    private boolean loaded;
+    // Bumped on every change so that a refill racing with one can be discarded
+    private long version;
+    private volatile LocalDateTime lastSlideAt = LocalDateTime.now();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public UpcomingEventsWindow(EventRepository eventRepository,
+                                EntityMapper mapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${events.upcoming.size:5}") int size) {
+        this.eventRepository = eventRepository;
+        this.mapper = mapper;
+        this.size = size;
+        this.capacity = size * 2;
+
+        Gauge.builder("events.upcoming.staleness", this, UpcomingEventsWindow::stalenessSeconds)
+                .description("Seconds since the upcoming events window last slid forward")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("events.upcoming.size", this, UpcomingEventsWindow::windowSize)
+                .description("Number of events held in the upcoming events window")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the next events to start. Falls back to the database only while the window is
+     * being rebuilt, or is short and waiting for a refill.
+     */
+    public List<EventDto> upcoming() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EventDto> upcoming = new ArrayList<>(size);
+        boolean readDatabase;
+        lock.readLock().lock();
+        try {
+            for (EventDto event : window) {
+                if (upcoming.size() == size) {
+                    break;
+                }
+                // Events that started since the last slide are skipped, not served
+                if (event.getStartTime().isAfter(now)) {
+                    upcoming.add(mapper.copy(event));
+                }
+            }
+            readDatabase = !loaded || (upcoming.size() < size && !complete);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (readDatabase) {
+            return mapper.toEventDtoList(eventRepository.findUpcomingViews(now, PageRequest.of(0, size)));
+        }
+        return upcoming;
+    }
+
+    @Override
+    public void index(EventDto event) {
+        lock.writeLock().lock();
+        try {
+            version++;
+            removeEntry(event.getId());
+            if (event.getStartTime() == null || !event.getStartTime().isAfter(LocalDateTime.now())) {
+                return;
+            }
+            // Past the end of a partial window there may be events not held here, so the
+            // event is left for a refill to pick up in its proper place
+            if (!complete && (window.isEmpty() || window.comparator().compare(event, window.last()) > 0)) {
+                return;
+            }
+            EventDto entry = mapper.copy(event);
+            window.add(entry);
+            byId.put(entry.getId(), entry);
+            trim();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(UUID eventId) {
+        lock.writeLock().lock();
+        try {
+            version++;
+            removeEntry(eventId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void registrationsChanged(UUID eventId, int seatsDelta) {
+        lock.writeLock().lock();
+        try {
+            version++;
+            EventDto event = byId.get(eventId);
+            if (event != null) {
+                long registrations = event.getRegistrationsCount() != null ? event.getRegistrationsCount() : 0;
+                event.setRegistrationsCount(Math.max(0, registrations + seatsDelta));
+                event.setRegistrationsUpdatedAt(LocalDateTime.now());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            version++;
+            window.clear();
+            byId.clear();
+            complete = true;
+            loading = true;
+            loaded = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void refresh() {
+        lock.writeLock().lock();
+        try {
+            if (loading) {
+                loading = false;
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops events that have started and refills the window from the database if that, or
+     * earlier deletions, left fewer events than are served.
+     */
+    @Scheduled(fixedDelayString = "${events.upcoming.slide-interval:5000}")
+    public void slide() {
+        LocalDateTime now = LocalDateTime.now();
+        boolean refill;
+        long observedVersion;
+        lock.writeLock().lock();
+        try {
+            while (!window.isEmpty() && !window.first().getStartTime().isAfter(now)) {
+                byId.remove(window.pollFirst().getId());
+            }
+            refill = loaded && window.size() < size && !complete;
+            observedVersion = version;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (refill && !refill(now, observedVersion)) {
+            // Retried on the next slide; lastSlideAt is left alone so staleness shows it
+            return;
+        }
+        lastSlideAt = now;
+    }
+
+    private boolean refill(LocalDateTime now, long observedVersion) {
+        List<EventDto> loaded = mapper.toEventDtoList(eventRepository.findUpcomingViews(now, PageRequest.of(0, capacity)));
+        lock.writeLock().lock();
+        try {
+            if (version != observedVersion) {
+                // An event changed while loading; the loaded rows may predate that change
+                return false;
+            }
+            window.clear();
+            byId.clear();
+            for (EventDto event : loaded) {
+                window.add(event);
+                byId.put(event.getId(), event);
+            }
+            complete = loaded.size() < capacity;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        LOGGER.debug("Refilled upcoming events window with {} events", loaded.size());
+        return true;
+    }
+
+    private void trim() {
+        while (window.size() > capacity) {
+            byId.remove(window.pollLast().getId());
+            complete = false;
+        }
+    }
+
+    private void removeEntry(UUID eventId) {
+        EventDto previous = byId.remove(eventId);
+        if (previous != null) {
+            window.remove(previous);
+        }
+    }
+
+    private double stalenessSeconds() {
+        return Duration.between(lastSlideAt, LocalDateTime.now()).toMillis() / 1000.0;
+    }
+
+    private double windowSize() {
+        lock.readLock().lock();
+        try {
+            return window.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.mobylab.springbackend.job;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mobylab.springbackend.entity.EmailAttachment;
+import com.mobylab.springbackend.entity.EmailOutboxMessage;
+import com.mobylab.springbackend.mail.SmtpDispatchEngine;
+import com.mobylab.springbackend.repository.EmailAttachmentRepository;
+import com.mobylab.springbackend.repository.EmailOutboxRepository;
+import com.mobylab.springbackend.repository.EventBroadcastRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the email outbox. Due messages are claimed in a short transaction that leases them,
+ * sent outside of any transaction by the {@link SmtpDispatchEngine}, and their outcome
+ * recorded in a second transaction. Failed messages are retried with exponential backoff and
+ * jitter and given up on after the configured number of attempts; a node that dies mid-batch
+ * leaves its lease to expire, after which the messages are picked up again.
+ */
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private static final Duration FIRST_RETRY = Duration.ofSeconds(30);
+    private static final Duration MAX_RETRY = Duration.ofHours(1);
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final int MAX_CACHED_ATTACHMENTS = 1000;
+
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailAttachmentRepository attachmentRepository;
+    private final EventBroadcastRepository broadcastRepository;
+    private final SmtpDispatchEngine dispatchEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration retention;
+    private final Counter failed;
+    private final AtomicLong pending = new AtomicLong();
+    private final Cache<UUID, EmailAttachment> attachments = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_ATTACHMENTS)
+            .build();
+
+    @Autowired
+    public EmailOutboxDispatcher(EmailOutboxRepository outboxRepository,
+                                 EmailAttachmentRepository attachmentRepository,
+                                 EventBroadcastRepository broadcastRepository,
+                                 SmtpDispatchEngine dispatchEngine,
+                                 TransactionTemplate transactionTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${email.outbox.batch-size:100}") int batchSize,
+                                 @Value("${email.outbox.lease:5m}") Duration lease,
+                                 @Value("${email.outbox.max-attempts:8}") int maxAttempts,
+                                 @Value("${email.outbox.retention:7d}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.attachmentRepository = attachmentRepository;
+        this.broadcastRepository = broadcastRepository;
+        this.dispatchEngine = dispatchEngine;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.lease = lease;
+        this.maxAttempts = maxAttempts;
+        this.retention = retention;
+        this.failed = Counter.builder("email.outbox.failed")
+                .description("Emails given up on after the last attempt")
+                .register(meterRegistry);
+        Gauge.builder("email.outbox.pending", pending, AtomicLong::get)
+                .description("Messages waiting in the outbox, as of the last poll")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval:1000}")
+    public void dispatch() {
+        // A full batch means more may be due, so keep going instead of waiting for the next poll
+        int claimed;
+        do {
+            claimed = dispatchBatch();
+        } while (claimed == batchSize);
+
+        try {
+            pending.set(outboxRepository.countByStatus(EmailOutboxMessage.Status.PENDING));
+        } catch (DataAccessException e) {
+            LOGGER.debug("Could not count the pending messages of the email outbox", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.purge-interval:3600000}")
+    public void purge() {
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        Integer deleted = transactionTemplate.execute(status -> outboxRepository.deleteSentBefore(before));
+        Integer unused = transactionTemplate.execute(status -> attachmentRepository.deleteUnusedBefore(before));
+        if (deleted != null && deleted > 0) {
+            LOGGER.debug("Purged {} sent message(s) and {} unused attachment(s) from the email outbox", deleted, unused);
+        }
+    }
+
+    /**
+     * Claims, sends and records one batch, and returns how many messages it claimed.
+     */
+    private int dispatchBatch() {
+        List<EmailOutboxMessage> batch;
+        try {
+            batch = transactionTemplate.execute(status -> claim());
+        } catch (DataAccessException e) {
+            LOGGER.warn("Could not claim messages from the email outbox", e);
+            return 0;
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<UUID, String> errors = dispatchEngine.send(batch, attachments(batch));
+        try {
+            transactionTemplate.executeWithoutResult(status -> record(batch, errors));
+        } catch (DataAccessException e) {
+            // The leases run out and the batch is sent again, the lesser evil than losing it
+            LOGGER.warn("Could not record the outcome of {} outbox message(s)", batch.size(), e);
+            return 0;
+        }
+        return batch.size();
+    }
+
+    // Attachments never change once written, so each is read from the database once
+    private Map<UUID, EmailAttachment> attachments(List<EmailOutboxMessage> batch) {
+        Set<UUID> ids = new HashSet<>();
+        for (EmailOutboxMessage message : batch) {
+            if (message.getAttachmentId() != null) {
+                ids.add(message.getAttachmentId());
+            }
+        }
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return attachments.getAll(ids, missing -> attachmentRepository.findAllById(Set.copyOf(missing)).stream()
+                .collect(Collectors.toMap(EmailAttachment::getId, Function.identity())));
+    }
+
+    private List<EmailOutboxMessage> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutboxMessage> due = outboxRepository.lockDue(now, batchSize);
+        due.forEach(message -> message.setLockedUntil(now.plus(lease)));
+        return outboxRepository.saveAll(due);
+    }
+
+    private void record(List<EmailOutboxMessage> batch, Map<UUID, String> errors) {
+        LocalDateTime now = LocalDateTime.now();
+        // Sent and given-up messages per broadcast, for its progress counters
+        Map<UUID, long[]> delivered = new TreeMap<>();
+        for (EmailOutboxMessage message : batch) {
+            message.setLockedUntil(null);
+            String error = errors.get(message.getId());
+            if (error == null) {
+                message.setStatus(EmailOutboxMessage.Status.SENT).setSentAt(now).setLastError(null);
+                if (message.getBroadcastId() != null) {
+                    delivered.computeIfAbsent(message.getBroadcastId(), id -> new long[2])[0]++;
+                }
+                continue;
+            }
+
+            int attempts = message.getAttempts() + 1;
+            message.setAttempts(attempts)
+                    .setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            if (attempts >= maxAttempts) {
+                message.setStatus(EmailOutboxMessage.Status.FAILED);
+                failed.increment();
+                if (message.getBroadcastId() != null) {
+                    delivered.computeIfAbsent(message.getBroadcastId(), id -> new long[2])[1]++;
+                }
+                LOGGER.warn("Giving up on email {} to {} after {} attempts: {}",
+                        message.getId(), message.getRecipient(), attempts, error);
+            } else {
+                message.setNextAttemptAt(now.plus(backoff(attempts)));
+            }
+        }
+        outboxRepository.saveAll(batch);
+        delivered.forEach((broadcastId, counts) -> broadcastRepository.addDelivered(broadcastId, counts[0], counts[1]));
+    }
+
+    // Doubles per attempt up to the cap, with up to half of it as jitter so retries spread out
+    private static Duration backoff(int attempts) {
+        long base = Math.min(MAX_RETRY.toMillis(), FIRST_RETRY.toMillis() << Math.min(attempts - 1, 20));
+        return Duration.ofMillis(base / 2 + ThreadLocalRandom.current().nextLong(base / 2 + 1));
+    }
+}
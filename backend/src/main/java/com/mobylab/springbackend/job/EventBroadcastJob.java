@@ -0,0 +1,87 @@
+package com.mobylab.springbackend.job;
+
+import com.mobylab.springbackend.repository.EventBroadcastRepository;
+import com.mobylab.springbackend.service.EventBroadcastService;
+import com.mobylab.springbackend.service.event.BroadcastQueuedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Fans out organizer broadcasts on worker threads, off the request that queued them. A broadcast
+ * starts as soon as its creation commits; the poll picks up the ones queued while every worker
+ * was busy and those a node abandoned by letting its lease run out.
+ */
+@Component
+public class EventBroadcastJob {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventBroadcastJob.class);
+
+    private final EventBroadcastService broadcastService;
+    private final EventBroadcastRepository broadcastRepository;
+    private final Duration lease;
+    private final ExecutorService workers;
+    // Lease owner of this process; a restarted node waits for the leases of its previous life to run out
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Set<UUID> running = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public EventBroadcastJob(EventBroadcastService broadcastService,
+                             EventBroadcastRepository broadcastRepository,
+                             @Value("${broadcasts.lease:2m}") Duration lease,
+                             @Value("${broadcasts.workers:2}") int workers) {
+        this.broadcastService = broadcastService;
+        this.broadcastRepository = broadcastRepository;
+        this.lease = lease;
+        this.workers = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("event-broadcasts-"));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBroadcastQueued(BroadcastQueuedEvent queued) {
+        submit(queued.getBroadcastId());
+    }
+
+    @Scheduled(fixedDelayString = "${broadcasts.poll-interval:5000}")
+    public void poll() {
+        broadcastRepository.findResumableIds(LocalDateTime.now()).forEach(this::submit);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void submit(UUID broadcastId) {
+        if (running.add(broadcastId)) {
+            workers.execute(() -> fanOut(broadcastId));
+        }
+    }
+
+    private void fanOut(UUID broadcastId) {
+        try {
+            if (broadcastService.claim(broadcastId, nodeId, lease)
+                    && broadcastService.fanOut(broadcastId, nodeId, lease)) {
+                LOGGER.info("Queued every message of broadcast {}", broadcastId);
+            }
+        } catch (DataAccessException e) {
+            LOGGER.warn("Broadcast {} stopped, resuming after its lease runs out", broadcastId, e);
+        } finally {
+            running.remove(broadcastId);
+        }
+    }
+}
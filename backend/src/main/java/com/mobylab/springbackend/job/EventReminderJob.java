@@ -0,0 +1,124 @@
+package com.mobylab.springbackend.job;
+
+import com.mobylab.springbackend.entity.EventReminder;
+import com.mobylab.springbackend.repository.EventReminderRepository;
+import com.mobylab.springbackend.service.EventReminderService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Sends event reminders when they come due. The schedule lives in {@code event_reminders}; every
+ * load interval the reminders due within the next two intervals are put on an in-memory timing
+ * wheel, which fires each one on time without polling the table. A fired reminder is claimed
+ * under a lease, so one node works through an event's attendees while the others skip it, and is
+ * then sent a chunk at a time on a worker thread until every confirmed registration has it.
+ */
+@Component
+public class EventReminderJob implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventReminderJob.class);
+
+    private static final Duration TICK = Duration.ofSeconds(1);
+    private static final int WHEEL_SIZE = 512;
+
+    private final EventReminderService reminderService;
+    private final EventReminderRepository reminderRepository;
+    private final Duration loadInterval;
+    private final Duration lease;
+    private final ExecutorService workers;
+    // Lease owner of this process; a restarted node waits for the leases of its previous life to run out
+    private final String nodeId = UUID.randomUUID().toString();
+    private final TimingWheel<EventReminder.Key> wheel =
+            new TimingWheel<>(TICK, WHEEL_SIZE, System.currentTimeMillis());
+    private final Map<EventReminder.Key, LocalDateTime> scheduled = new ConcurrentHashMap<>();
+    private final Set<EventReminder.Key> running = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public EventReminderJob(EventReminderService reminderService,
+                            EventReminderRepository reminderRepository,
+                            @Value("${reminders.load-interval:60000}") long loadInterval,
+                            @Value("${reminders.lease:2m}") Duration lease,
+                            @Value("${reminders.workers:2}") int workers) {
+        this.reminderService = reminderService;
+        this.reminderRepository = reminderRepository;
+        this.loadInterval = Duration.ofMillis(loadInterval);
+        this.lease = lease;
+        this.workers = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("event-reminders-"));
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // Events created before reminders existed get theirs once
+        int created = reminderService.scheduleMissingReminders();
+        if (created > 0) {
+            LOGGER.info("Scheduled {} reminder(s) of existing events", created);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reminders.load-interval:60000}")
+    public void load() {
+        LocalDateTime horizon = LocalDateTime.now().plus(loadInterval.multipliedBy(2));
+        for (EventReminder reminder : reminderRepository.findByStatusAndDueAtBefore(EventReminder.Status.PENDING, horizon)) {
+            EventReminder.Key key = new EventReminder.Key(reminder.getEventId(), reminder.getKind());
+            // A reminder moved since it was put on the wheel goes on again at its new time; the
+            // stale entry finds it not due, or already running
+            if (!reminder.getDueAt().equals(scheduled.put(key, reminder.getDueAt()))) {
+                wheel.schedule(key, reminder.getDueAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${reminders.tick-interval:1000}")
+    public void tick() {
+        for (EventReminder.Key key : wheel.advance(System.currentTimeMillis())) {
+            workers.execute(() -> send(key));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void send(EventReminder.Key key) {
+        if (!running.add(key)) {
+            return;
+        }
+        try {
+            // Not claimed means not due, done, or in another node's hands; if that node goes
+            // away, a later load finds the reminder still pending and claims it here
+            if (!reminderService.claim(key.getEventId(), key.getKind(), nodeId, lease)) {
+                return;
+            }
+            int chunks = 1;
+            while (reminderService.sendNextChunk(key.getEventId(), key.getKind(), nodeId, lease)) {
+                chunks++;
+            }
+            LOGGER.info("Worked through the {} in {} chunk(s)", key, chunks);
+        } catch (DataAccessException e) {
+            LOGGER.warn("Could not send the {}, retrying after the next load", key, e);
+        } finally {
+            scheduled.remove(key);
+            running.remove(key);
+        }
+    }
+}
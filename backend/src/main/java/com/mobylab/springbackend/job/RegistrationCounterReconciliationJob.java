@@ -0,0 +1,44 @@
+package com.mobylab.springbackend.job;
+
+import com.mobylab.springbackend.dto.CounterDriftDto;
+import com.mobylab.springbackend.service.RegistrationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Periodically recomputes the denormalized {@code events.registered_count} column from the
+ * registrations table and logs every event whose counter had drifted.
+ */
+@Component
+public class RegistrationCounterReconciliationJob {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RegistrationCounterReconciliationJob.class);
+
+    private final RegistrationService registrationService;
+
+    @Autowired
+    public RegistrationCounterReconciliationJob(RegistrationService registrationService) {
+        this.registrationService = registrationService;
+    }
+
+    @Scheduled(initialDelayString = "${registrations.reconciliation.initial-delay:60000}",
+               fixedDelayString = "${registrations.reconciliation.fixed-delay:900000}")
+    public void reconcile() {
+        List<CounterDriftDto> drift = registrationService.reconcileRegistrationCounters();
+        if (drift.isEmpty()) {
+            LOGGER.debug("Registration counters are in sync");
+            return;
+        }
+
+        for (CounterDriftDto entry : drift) {
+            LOGGER.warn("Registration counter drift on event {}: stored {}, actual {}",
+                    entry.getEventId(), entry.getStoredCount(), entry.getActualCount());
+        }
+        LOGGER.warn("Reconciled registration counters of {} event(s)", drift.size());
+    }
+}
@@ -0,0 +1,66 @@
+package com.mobylab.springbackend.job;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Hashed timing wheel: items are dropped into the slot of the tick they are due on, and advancing
+ * the clock only visits the slots of the ticks that passed. Scheduling and firing cost the same
+ * however many items wait; items due more than one rotation ahead share a slot with nearer ones
+ * and stay in it until their own tick comes round. Items already due fire on the next advance.
+ */
+final class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final List<List<Entry<T>>> slots;
+    private long currentTick;
+
+    TimingWheel(Duration tick, int size, long nowMillis) {
+        this.tickMillis = tick.toMillis();
+        this.slots = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            slots.add(new ArrayList<>());
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    synchronized void schedule(T item, long dueMillis) {
+        long tick = Math.max(dueMillis / tickMillis, currentTick + 1);
+        slots.get((int) (tick % slots.size())).add(new Entry<>(item, tick));
+    }
+
+    /**
+     * Moves the wheel to the given time and returns the items that became due, in no particular order.
+     */
+    synchronized List<T> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        // After a pause longer than a rotation every slot is visited once, which is enough
+        long steps = Math.min(targetTick - currentTick, slots.size());
+        List<T> due = new ArrayList<>();
+        for (long step = 1; step <= steps; step++) {
+            Iterator<Entry<T>> entries = slots.get((int) ((currentTick + step) % slots.size())).iterator();
+            while (entries.hasNext()) {
+                Entry<T> entry = entries.next();
+                if (entry.tick <= targetTick) {
+                    due.add(entry.item);
+                    entries.remove();
+                }
+            }
+        }
+        currentTick = Math.max(currentTick, targetTick);
+        return due;
+    }
+
+    private static final class Entry<T> {
+
+        private final T item;
+        private final long tick;
+
+        Entry(T item, long tick) {
+            this.item = item;
+            this.tick = tick;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.mobylab.springbackend.job;
+
+import com.mobylab.springbackend.entity.Registration.RegistrationStatus;
+import com.mobylab.springbackend.repository.RegistrationRepository;
+import com.mobylab.springbackend.service.RegistrationService;
+import com.mobylab.springbackend.service.event.EventChangedEvent;
+import com.mobylab.springbackend.service.event.RegistrationChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Promotes waitlisted registrations in the background. Events that freed seats, by a cancellation
+ * or a larger capacity, and events that just waitlisted someone are collected as their changes
+ * commit and promoted on the next run, so a burst of cancellations on one event becomes a single
+ * batched promotion.
+ */
+@Component
+public class WaitlistPromotionJob implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WaitlistPromotionJob.class);
+
+    private final RegistrationService registrationService;
+    private final RegistrationRepository registrationRepository;
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public WaitlistPromotionJob(RegistrationService registrationService,
+                                RegistrationRepository registrationRepository) {
+        this.registrationService = registrationService;
+        this.registrationRepository = registrationRepository;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // Seats freed while no node was running are picked up once
+        pending.addAll(registrationRepository.findEventIdsWithWaitlist());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRegistrationChanged(RegistrationChangedEvent change) {
+        // A newcomer may have been waitlisted on a stale count while a seat was free
+        if (change.getSeatsDelta() < 0 || change.getStatus() == RegistrationStatus.WAITLISTED) {
+            pending.add(change.getEventId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        if (change.getType() != EventChangedEvent.Type.UPDATED) {
+            return;
+        }
+        Integer previous = change.getPrevious().getMaxAttendees();
+        Integer current = change.getCurrent().getMaxAttendees();
+        if (!Objects.equals(previous, current) && (current == null || (previous != null && current > previous))) {
+            pending.add(change.getEventId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${registrations.waitlist.promote-interval:500}")
+    public void promote() {
+        List<UUID> eventIds = new ArrayList<>(pending);
+        eventIds.forEach(pending::remove);
+        for (UUID eventId : eventIds) {
+            try {
+                int promoted = registrationService.promoteWaitlisted(eventId);
+                if (promoted > 0) {
+                    LOGGER.info("Promoted {} waitlisted registration(s) of event {}", promoted, eventId);
+                }
+            } catch (DataAccessException e) {
+                pending.add(eventId);
+                LOGGER.warn("Could not promote the waitlist of event {}", eventId, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.mobylab.springbackend.mail;
+
+import com.mobylab.springbackend.entity.Event;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Renders an event as an iCalendar (RFC 5545) file with a single VEVENT. Times are written in UTC
+ * so calendar clients show them in the reader's own time zone.
+ */
+final class CalendarInvite {
+
+    static final String FILENAME = "event.ics";
+    static final String CONTENT_TYPE = "text/calendar; charset=UTF-8; method=PUBLISH";
+
+    private static final DateTimeFormatter UTC = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private CalendarInvite() {
+    }
+
+    static byte[] render(Event event, String location) {
+        StringBuilder ics = new StringBuilder(512);
+        line(ics, "BEGIN:VCALENDAR");
+        line(ics, "VERSION:2.0");
+        line(ics, "PRODID:-//Eventory//Events//EN");
+        line(ics, "METHOD:PUBLISH");
+        line(ics, "BEGIN:VEVENT");
+        line(ics, "UID:" + event.getId() + "@eventory");
+        // The last change of the event rather than now, so rendering it twice gives the same file
+        line(ics, "DTSTAMP:" + utc(event.getUpdatedAt() != null ? event.getUpdatedAt() : event.getStartTime()));
+        line(ics, "DTSTART:" + utc(event.getStartTime()));
+        if (event.getEndTime() != null) {
+            line(ics, "DTEND:" + utc(event.getEndTime()));
+        }
+        line(ics, "SUMMARY:" + escape(event.getTitle()));
+        if (event.getDescription() != null && !event.getDescription().isBlank()) {
+            line(ics, "DESCRIPTION:" + escape(event.getDescription()));
+        }
+        if (location != null) {
+            line(ics, "LOCATION:" + escape(location));
+        }
+        line(ics, "END:VEVENT");
+        line(ics, "END:VCALENDAR");
+        return ics.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String utc(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).format(UTC);
+    }
+
+    private static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> escaped.append('\\').append(c);
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> {
+                }
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Appends a content line, folded so no physical line exceeds 75 octets, never splitting a
+     * UTF-8 sequence or surrogate pair.
+     */
+    private static void line(StringBuilder ics, String content) {
+        int octets = 0;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int size = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + size > MAX_LINE_OCTETS) {
+                ics.append("\r\n ");
+                octets = 1;
+            }
+            ics.appendCodePoint(codePoint);
+            octets += size;
+            i += Character.charCount(codePoint);
+        }
+        ics.append("\r\n");
+    }
+}
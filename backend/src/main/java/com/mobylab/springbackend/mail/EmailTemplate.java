@@ -0,0 +1,35 @@
+package com.mobylab.springbackend.mail;
+
+import java.util.Map;
+
+/**
+ * The subject, plain-text body and HTML body of one kind of email.
+ */
+public class EmailTemplate {
+
+    private final MailTemplate subject;
+    private final MailTemplate text;
+    private final MailTemplate html;
+
+    public EmailTemplate(MailTemplate subject, MailTemplate text, MailTemplate html) {
+        this.subject = subject;
+        this.text = text;
+        this.html = html;
+    }
+
+    public EmailTemplate bind(Map<String, String> values) {
+        return new EmailTemplate(subject.bind(values), text.bind(values), html.bind(values));
+    }
+
+    public MailTemplate getSubject() {
+        return subject;
+    }
+
+    public MailTemplate getText() {
+        return text;
+    }
+
+    public MailTemplate getHtml() {
+        return html;
+    }
+}
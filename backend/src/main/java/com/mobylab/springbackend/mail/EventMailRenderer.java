@@ -0,0 +1,105 @@
+package com.mobylab.springbackend.mail;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mobylab.springbackend.entity.EmailAttachment;
+import com.mobylab.springbackend.entity.Event;
+import com.mobylab.springbackend.entity.Location;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Renders the per-event part of emails once and keeps it for the following recipients. Entries
+ * are keyed by the values that went into them, so an edited event simply renders anew and the
+ * stale entry ages out.
+ */
+@Component
+public class EventMailRenderer {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final String NO_LOCATION = "To be announced";
+
+    private final MailTemplates templates;
+    private final Cache<Key, RenderedEventMail> rendered;
+
+    @Autowired
+    public EventMailRenderer(MailTemplates templates,
+                             @Value("${email.templates.cache.ttl:1h}") Duration ttl,
+                             @Value("${email.templates.cache.max-size:1000}") long maxSize) {
+        this.templates = templates;
+        this.rendered = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(ttl)
+                .build();
+    }
+
+    /**
+     * Renders the template for the event. Extra values fill placeholders that are neither event
+     * fields nor the recipient's, such as how soon a reminded event starts.
+     */
+    public RenderedEventMail render(String templateName, Event event, Map<String, String> extra) {
+        String location = describe(event.getLocation());
+        Map<String, String> values = new HashMap<>(extra);
+        values.put("title", event.getTitle());
+        values.put("startTime", event.getStartTime().format(DATE_FORMATTER));
+        values.put("location", location != null ? location : NO_LOCATION);
+
+        Key key = new Key(templateName, event.getId(), values, event.getDescription(), event.getEndTime(), event.getUpdatedAt());
+        return rendered.get(key, k -> new RenderedEventMail(
+                templates.get(templateName).bind(values),
+                EmailAttachment.of(CalendarInvite.FILENAME, CalendarInvite.CONTENT_TYPE, CalendarInvite.render(event, location))));
+    }
+
+    private static String describe(Location location) {
+        if (location == null) {
+            return null;
+        }
+        String description = Stream.of(location.getName(), location.getAddress(), location.getCity(), location.getCountry())
+                .filter(part -> part != null && !part.isBlank())
+                .collect(Collectors.joining(", "));
+        return description.isEmpty() ? null : description;
+    }
+
+    private static final class Key {
+
+        private final String templateName;
+        private final UUID eventId;
+        private final Map<String, String> values;
+        private final Object[] invite;
+
+        Key(String templateName, UUID eventId, Map<String, String> values, Object... invite) {
+            this.templateName = templateName;
+            this.eventId = eventId;
+            this.values = values;
+            this.invite = invite;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key key)) {
+                return false;
+            }
+            return templateName.equals(key.templateName) && eventId.equals(key.eventId)
+                    && values.equals(key.values) && Arrays.equals(invite, key.invite);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(templateName, eventId, values);
+        }
+    }
+}
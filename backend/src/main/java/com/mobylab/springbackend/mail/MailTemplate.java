@@ -0,0 +1,113 @@
+package com.mobylab.springbackend.mail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A template compiled once into alternating literal text and {@code {{name}}} placeholders.
+ * Rendering appends the pieces into a single presized buffer; {@link #bind} fills in part of the
+ * placeholders ahead of time, merging them into the literals, so the per-event fields of a mass
+ * mailing are rendered once and each recipient only costs the fields that differ. HTML templates
+ * escape every value as it is substituted.
+ */
+public final class MailTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    // literals.length == names.length + 1; names[i] goes between literals[i] and literals[i + 1]
+    private final String[] literals;
+    private final String[] names;
+    private final boolean html;
+    private final int literalLength;
+
+    private MailTemplate(String[] literals, String[] names, boolean html) {
+        this.literals = literals;
+        this.names = names;
+        this.html = html;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static MailTemplate compile(String source, boolean html) {
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        int from = 0;
+        int open;
+        while ((open = source.indexOf(OPEN, from)) >= 0) {
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at offset " + open);
+            }
+            literals.add(source.substring(from, open));
+            names.add(source.substring(open + OPEN.length(), close).trim());
+            from = close + CLOSE.length();
+        }
+        literals.add(source.substring(from));
+        return new MailTemplate(literals.toArray(new String[0]), names.toArray(new String[0]), html);
+    }
+
+    /**
+     * Returns a template with the given placeholders filled in and the others left open.
+     */
+    public MailTemplate bind(Map<String, String> values) {
+        List<String> boundLiterals = new ArrayList<>();
+        List<String> openNames = new ArrayList<>();
+        StringBuilder literal = new StringBuilder(literals[0]);
+        for (int i = 0; i < names.length; i++) {
+            String value = values.get(names[i]);
+            if (value != null) {
+                append(literal, value);
+            } else {
+                boundLiterals.add(literal.toString());
+                openNames.add(names[i]);
+                literal.setLength(0);
+            }
+            literal.append(literals[i + 1]);
+        }
+        boundLiterals.add(literal.toString());
+        return new MailTemplate(boundLiterals.toArray(new String[0]), openNames.toArray(new String[0]), html);
+    }
+
+    /**
+     * Renders the template. Every remaining placeholder must have a value.
+     */
+    public String render(Map<String, String> values) {
+        if (names.length == 0) {
+            return literals[0];
+        }
+        StringBuilder out = new StringBuilder(literalLength + names.length * 16);
+        out.append(literals[0]);
+        for (int i = 0; i < names.length; i++) {
+            String value = values.get(names[i]);
+            if (value == null) {
+                throw new IllegalArgumentException("No value for placeholder " + names[i]);
+            }
+            append(out, value);
+            out.append(literals[i + 1]);
+        }
+        return out.toString();
+    }
+
+    private void append(StringBuilder out, String value) {
+        if (!html) {
+            out.append(value);
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
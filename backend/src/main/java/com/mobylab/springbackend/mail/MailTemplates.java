@@ -0,0 +1,56 @@
+package com.mobylab.springbackend.mail;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Email templates under {@code classpath:templates/mail}, compiled when the application starts.
+ * Each email is three files sharing a name: {@code <name>.subject}, {@code <name>.txt} and
+ * {@code <name>.html}; a missing or malformed one fails the startup rather than the first send.
+ */
+@Component
+public class MailTemplates {
+
+    public static final String REGISTRATION_CONFIRMATION = "registration-confirmation";
+    public static final String EVENT_REMINDER = "event-reminder";
+    public static final String EVENT_BROADCAST = "event-broadcast";
+
+    private static final String LOCATION = "classpath:templates/mail/";
+
+    private final Map<String, EmailTemplate> templates = new HashMap<>();
+
+    @Autowired
+    public MailTemplates(ResourceLoader resourceLoader) {
+        for (String name : new String[]{REGISTRATION_CONFIRMATION, EVENT_REMINDER, EVENT_BROADCAST}) {
+            templates.put(name, new EmailTemplate(
+                    MailTemplate.compile(read(resourceLoader, name + ".subject").strip(), false),
+                    MailTemplate.compile(read(resourceLoader, name + ".txt"), false),
+                    MailTemplate.compile(read(resourceLoader, name + ".html"), true)));
+        }
+    }
+
+    public EmailTemplate get(String name) {
+        EmailTemplate template = templates.get(name);
+        if (template == null) {
+            throw new IllegalArgumentException("Unknown email template: " + name);
+        }
+        return template;
+    }
+
+    private static String read(ResourceLoader resourceLoader, String file) {
+        Resource resource = resourceLoader.getResource(LOCATION + file);
+        try {
+            return resource.getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read email template " + file, e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.mobylab.springbackend.mail;
+
+import com.mobylab.springbackend.entity.EmailAttachment;
+import com.mobylab.springbackend.entity.EmailOutboxMessage;
+
+import java.util.Map;
+
+/**
+ * An email about one event with everything but the recipient's own fields already rendered,
+ * together with the event's calendar invitation.
+ */
+public class RenderedEventMail {
+
+    private final EmailTemplate template;
+    private final EmailAttachment invite;
+
+    RenderedEventMail(EmailTemplate template, EmailAttachment invite) {
+        this.template = template;
+        this.invite = invite;
+    }
+
+    public EmailAttachment getInvite() {
+        return invite;
+    }
+
+    public EmailOutboxMessage toMessage(String recipient, String username) {
+        Map<String, String> values = Map.of("username", username);
+        return new EmailOutboxMessage()
+                .setRecipient(recipient)
+                .setSubject(template.getSubject().render(values))
+                .setBody(template.getText().render(values))
+                .setHtmlBody(template.getHtml().render(values))
+                .setAttachmentId(invite.getId());
+    }
+}
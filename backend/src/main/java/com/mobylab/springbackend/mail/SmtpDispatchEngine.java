@@ -0,0 +1,229 @@
+package com.mobylab.springbackend.mail;
+
+import com.mobylab.springbackend.entity.EmailAttachment;
+import com.mobylab.springbackend.entity.EmailOutboxMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends batches of emails over pooled SMTP connections. A batch is split over a fixed number of
+ * sending threads, each of which reuses one connection for many messages, and every message first
+ * takes a token from the provider's rate limit so a large backlog cannot get the account throttled.
+ * <p>
+ * The engine talks to the single provider configured under {@code spring.mail}; the rate limit
+ * under {@code email.smtp.rate-limit} is that provider's, in messages per second, and 0 turns it off.
+ */
+@Component
+public class SmtpDispatchEngine {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SmtpDispatchEngine.class);
+
+    private final JavaMailSenderImpl mailSender;
+    private final SmtpTransportPool pool;
+    private final ExecutorService executor;
+    private final int poolSize;
+    private final TokenBucket rateLimit;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Counter sent;
+    private final Counter failed;
+
+    @Autowired
+    public SmtpDispatchEngine(JavaMailSenderImpl mailSender,
+                              MeterRegistry meterRegistry,
+                              @Value("${email.smtp.pool-size:4}") int poolSize,
+                              @Value("${email.smtp.messages-per-connection:100}") int messagesPerConnection,
+                              @Value("${email.smtp.max-idle:30s}") Duration maxIdle,
+                              @Value("${email.smtp.rate-limit:0}") double rateLimit) {
+        this.mailSender = mailSender;
+        this.pool = new SmtpTransportPool(mailSender, messagesPerConnection, maxIdle);
+        this.executor = Executors.newFixedThreadPool(poolSize, new CustomizableThreadFactory("smtp-dispatch-"));
+        this.poolSize = poolSize;
+        // A second's worth of burst, so a limit below one message per second still lets one through
+        this.rateLimit = rateLimit > 0 ? new TokenBucket(rateLimit, Math.max(1, rateLimit)) : null;
+        this.sent = Counter.builder("email.smtp.sent")
+                .description("Messages accepted by the mail server")
+                .register(meterRegistry);
+        this.failed = Counter.builder("email.smtp.failed")
+                .description("Messages the mail server refused or that could not be handed over")
+                .register(meterRegistry);
+        Gauge.builder("email.smtp.queue.depth", queued, AtomicInteger::get)
+                .description("Messages handed to the engine and not yet sent")
+                .register(meterRegistry);
+        Gauge.builder("email.smtp.connections.open", pool, SmtpTransportPool::openConnections)
+                .description("Open SMTP connections, busy or idle")
+                .register(meterRegistry);
+    }
+
+    public Map<UUID, String> send(List<EmailOutboxMessage> messages) {
+        return send(messages, Map.of());
+    }
+
+    /**
+     * Sends the messages and returns the error of every one that was not accepted, by message ID.
+     * Blocks until the whole batch went through. The attachments the messages refer to are
+     * looked up in the given map, by attachment ID.
+     */
+    public Map<UUID, String> send(List<EmailOutboxMessage> messages, Map<UUID, EmailAttachment> attachments) {
+        Set<UUID> delivered = ConcurrentHashMap.newKeySet();
+        Map<UUID, String> errors = new ConcurrentHashMap<>();
+        queued.addAndGet(messages.size());
+
+        int chunkSize = Math.max(1, (messages.size() + poolSize - 1) / poolSize);
+        List<Future<?>> chunks = new ArrayList<>();
+        for (int from = 0; from < messages.size(); from += chunkSize) {
+            List<EmailOutboxMessage> chunk = messages.subList(from, Math.min(messages.size(), from + chunkSize));
+            chunks.add(executor.submit(() -> sendChunk(chunk, attachments, delivered, errors)));
+        }
+        for (Future<?> chunk : chunks) {
+            try {
+                chunk.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                LOGGER.warn("Sending a chunk of emails failed", e.getCause());
+            }
+        }
+
+        // Anything not confirmed sent counts as failed, so it is retried rather than lost
+        Map<UUID, String> result = new HashMap<>();
+        for (EmailOutboxMessage message : messages) {
+            if (!delivered.contains(message.getId())) {
+                result.put(message.getId(), errors.getOrDefault(message.getId(), "Not sent"));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Closes idle connections even while nothing is being sent, when no release would get to them.
+     */
+    @Scheduled(fixedDelayString = "${email.smtp.idle-sweep-interval:10000}")
+    public void evictIdleConnections() {
+        pool.evictIdle();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        pool.closeAll();
+    }
+
+    private void sendChunk(List<EmailOutboxMessage> chunk, Map<UUID, EmailAttachment> attachments,
+                           Set<UUID> delivered, Map<UUID, String> errors) {
+        SmtpTransportPool.Connection connection = null;
+        try {
+            for (int i = 0; i < chunk.size(); i++) {
+                EmailOutboxMessage message = chunk.get(i);
+                try {
+                    MimeMessage mime;
+                    try {
+                        mime = toMime(message, attachments);
+                    } catch (MessagingException e) {
+                        // A message that cannot be built says nothing about the connection
+                        fail(message, e, errors);
+                        continue;
+                    }
+                    if (rateLimit != null) {
+                        rateLimit.acquire();
+                    }
+                    if (connection == null) {
+                        connection = pool.borrow();
+                    }
+                    connection.send(mime);
+                    delivered.add(message.getId());
+                    sent.increment();
+                    if (connection.isExhausted()) {
+                        pool.release(connection);
+                        connection = null;
+                    }
+                } catch (SendFailedException e) {
+                    // Recipients refused, the connection itself is fine
+                    fail(message, e, errors);
+                } catch (MessagingException e) {
+                    fail(message, e, errors);
+                    if (connection != null) {
+                        pool.invalidate(connection);
+                        connection = null;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    chunk.subList(i, chunk.size()).forEach(unsent -> fail(unsent, e, errors));
+                    queued.addAndGet(i + 1 - chunk.size());
+                    return;
+                } finally {
+                    queued.decrementAndGet();
+                }
+            }
+        } finally {
+            if (connection != null) {
+                pool.release(connection);
+            }
+        }
+    }
+
+    private MimeMessage toMime(EmailOutboxMessage message, Map<UUID, EmailAttachment> attachments) throws MessagingException {
+        EmailAttachment attachment = null;
+        if (message.getAttachmentId() != null) {
+            attachment = attachments.get(message.getAttachmentId());
+            if (attachment == null) {
+                throw new MessagingException("Attachment " + message.getAttachmentId() + " not found");
+            }
+        }
+        boolean multipart = message.getHtmlBody() != null || attachment != null;
+
+        MimeMessage mime = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mime, multipart, StandardCharsets.UTF_8.name());
+        helper.setTo(message.getRecipient());
+        helper.setSubject(message.getSubject());
+        if (message.getHtmlBody() != null) {
+            helper.setText(message.getBody(), message.getHtmlBody());
+        } else {
+            helper.setText(message.getBody());
+        }
+        if (attachment != null) {
+            // Every message wraps the same bytes; nothing is copied per recipient
+            helper.addAttachment(attachment.getFilename(), new ByteArrayResource(attachment.getContent()),
+                    attachment.getContentType());
+        }
+        helper.setSentDate(new Date());
+        mime.saveChanges();
+        return mime;
+    }
+
+    private void fail(EmailOutboxMessage message, Exception e, Map<UUID, String> errors) {
+        errors.put(message.getId(), String.valueOf(e.getMessage()));
+        failed.increment();
+    }
+}
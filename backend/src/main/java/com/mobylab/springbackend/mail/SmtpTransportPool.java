@@ -0,0 +1,129 @@
+package com.mobylab.springbackend.mail;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connected SMTP transports kept open between sends, so the TCP and STARTTLS handshakes and the
+ * login are paid once per connection instead of once per message. Idle transports are handed out
+ * most recently used first, so the ones left over when the load drops collect at the tail, where
+ * {@link #evictIdle()} closes them once idle for too long; a transport is also retired after a
+ * number of messages, as providers cap how many they accept per connection.
+ */
+class SmtpTransportPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SmtpTransportPool.class);
+
+    private final JavaMailSenderImpl mailSender;
+    private final int messagesPerConnection;
+    private final long maxIdleNanos;
+    private final BlockingDeque<Connection> idle = new LinkedBlockingDeque<>();
+    private final AtomicInteger open = new AtomicInteger();
+
+    SmtpTransportPool(JavaMailSenderImpl mailSender, int messagesPerConnection, Duration maxIdle) {
+        this.mailSender = mailSender;
+        this.messagesPerConnection = messagesPerConnection;
+        this.maxIdleNanos = maxIdle.toNanos();
+    }
+
+    Connection borrow() throws MessagingException {
+        Connection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            if (System.nanoTime() - connection.releasedAt < maxIdleNanos && connection.transport.isConnected()) {
+                return connection;
+            }
+            close(connection);
+        }
+
+        String protocol = mailSender.getProtocol() != null ? mailSender.getProtocol() : "smtp";
+        Transport transport = mailSender.getSession().getTransport(protocol);
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        open.incrementAndGet();
+        return new Connection(transport);
+    }
+
+    void release(Connection connection) {
+        if (connection.sent >= messagesPerConnection) {
+            close(connection);
+            return;
+        }
+        connection.releasedAt = System.nanoTime();
+        idle.offerFirst(connection);
+        evictIdle();
+    }
+
+    /**
+     * Closes the transports idle for longer than allowed. Idle transports are ordered by release
+     * time, so only the tail needs looking at.
+     */
+    void evictIdle() {
+        Connection connection;
+        while ((connection = idle.peekLast()) != null && System.nanoTime() - connection.releasedAt >= maxIdleNanos) {
+            // A sender may have borrowed and released it meanwhile, in which case it goes back
+            if (!idle.removeLastOccurrence(connection)) {
+                continue;
+            }
+            if (System.nanoTime() - connection.releasedAt >= maxIdleNanos) {
+                close(connection);
+            } else {
+                idle.offerFirst(connection);
+            }
+        }
+    }
+
+    /**
+     * Closes a transport that failed, instead of handing it out again.
+     */
+    void invalidate(Connection connection) {
+        close(connection);
+    }
+
+    int openConnections() {
+        return open.get();
+    }
+
+    void closeAll() {
+        Connection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            close(connection);
+        }
+    }
+
+    private void close(Connection connection) {
+        open.decrementAndGet();
+        try {
+            connection.transport.close();
+        } catch (MessagingException e) {
+            LOGGER.debug("Could not close an SMTP connection cleanly", e);
+        }
+    }
+
+    final class Connection {
+
+        private final Transport transport;
+        private int sent;
+        private long releasedAt;
+
+        private Connection(Transport transport) {
+            this.transport = transport;
+        }
+
+        void send(MimeMessage message) throws MessagingException {
+            sent++;
+            transport.sendMessage(message, message.getAllRecipients());
+        }
+
+        boolean isExhausted() {
+            return sent >= messagesPerConnection;
+        }
+    }
+}
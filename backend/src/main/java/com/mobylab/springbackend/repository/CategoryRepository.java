@@ -1,9 +1,17 @@
 package com.mobylab.springbackend.repository;
 
 import com.mobylab.springbackend.entity.Category;
+import com.mobylab.springbackend.repository.projection.CategoryEventCount;
+import com.mobylab.springbackend.repository.projection.CategoryView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,4 +19,25 @@ import java.util.UUID;
 public interface CategoryRepository extends JpaRepository<Category, UUID> {
     Optional<Category> findByName(String name);
     boolean existsByName(String name);
+    Slice<Category> findAllBy(Pageable pageable);
+
+    String VIEW_SELECT = "SELECT c.id AS id, c.name AS name, c.description AS description, " +
+            "COUNT(e.id) AS eventsCount FROM Category c ";
+    String VIEW_GROUP = "GROUP BY c.id, c.name, c.description ORDER BY c.name";
+
+    @Query(VIEW_SELECT + "LEFT JOIN c.events e " + VIEW_GROUP)
+    List<CategoryView> findAllViews();
+
+    @Query(VIEW_SELECT + "LEFT JOIN c.events e ON e.startTime > :now " + VIEW_GROUP)
+    List<CategoryView> findAllViewsCountingUpcoming(@Param("now") LocalDateTime now);
+
+    @Query(VIEW_SELECT + "LEFT JOIN c.events e " + VIEW_GROUP)
+    Slice<CategoryView> findViews(Pageable pageable);
+
+    @Query(VIEW_SELECT + "LEFT JOIN c.events e ON e.startTime > :now " + VIEW_GROUP)
+    Slice<CategoryView> findViewsCountingUpcoming(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT e.category.id AS categoryId, COUNT(e) AS eventsCount FROM Event e " +
+           "WHERE e.category IS NOT NULL GROUP BY e.category.id")
+    List<CategoryEventCount> countEventsPerCategory();
 } 
\ No newline at end of file
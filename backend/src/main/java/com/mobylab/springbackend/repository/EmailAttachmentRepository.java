@@ -0,0 +1,33 @@
+package com.mobylab.springbackend.repository;
+
+import com.mobylab.springbackend.entity.EmailAttachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface EmailAttachmentRepository extends JpaRepository<EmailAttachment, UUID> {
+
+    // Touching an existing row locks it, so a concurrent purge waits and then sees it in use
+    @Modifying
+    @Query(value = "INSERT INTO project.email_attachments (id, filename, content_type, content, last_used_at) " +
+                   "VALUES (:id, :filename, :contentType, :content, :now) " +
+                   "ON CONFLICT (id) DO UPDATE SET last_used_at = EXCLUDED.last_used_at",
+           nativeQuery = true)
+    void upsert(@Param("id") UUID id,
+                @Param("filename") String filename,
+                @Param("contentType") String contentType,
+                @Param("content") byte[] content,
+                @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "DELETE FROM project.email_attachments a WHERE a.last_used_at < :before " +
+                   "AND NOT EXISTS (SELECT 1 FROM project.email_outbox m WHERE m.attachment_id = a.id)",
+           nativeQuery = true)
+    int deleteUnusedBefore(@Param("before") LocalDateTime before);
+}
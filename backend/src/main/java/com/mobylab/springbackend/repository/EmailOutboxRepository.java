@@ -0,0 +1,30 @@
+package com.mobylab.springbackend.repository;
+
+import com.mobylab.springbackend.entity.EmailOutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, UUID> {
+
+    // Due messages nobody holds a lease on; rows another dispatcher is claiming are skipped
+    @Query(value = "SELECT * FROM project.email_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+                   "AND (locked_until IS NULL OR locked_until < :now) " +
+                   "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<EmailOutboxMessage> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    long countByStatus(EmailOutboxMessage.Status status);
+
+    @Modifying
+    @Query("DELETE FROM EmailOutboxMessage m WHERE m.status = com.mobylab.springbackend.entity.EmailOutboxMessage.Status.SENT " +
+           "AND m.sentAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,54 @@
+package com.mobylab.springbackend.repository;
+
+import com.mobylab.springbackend.entity.EventBroadcast;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface EventBroadcastRepository extends JpaRepository<EventBroadcast, UUID> {
+
+    // Queued broadcasts, and running ones whose node let the lease run out
+    @Query("SELECT b.id FROM EventBroadcast b " +
+           "WHERE b.status IN (com.mobylab.springbackend.entity.EventBroadcast.Status.QUEUED, " +
+           "com.mobylab.springbackend.entity.EventBroadcast.Status.RUNNING) " +
+           "AND (b.leaseUntil IS NULL OR b.leaseUntil < :now) ORDER BY b.createdAt")
+    List<UUID> findResumableIds(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "UPDATE project.event_broadcasts SET status = 'RUNNING', lease_owner = :owner, lease_until = :until, " +
+                   "started_at = COALESCE(started_at, :now) " +
+                   "WHERE id = :id AND status IN ('QUEUED', 'RUNNING') " +
+                   "AND (lease_owner IS NULL OR lease_owner = :owner OR lease_until < :now)",
+           nativeQuery = true)
+    int claim(@Param("id") UUID id,
+              @Param("owner") String owner,
+              @Param("now") LocalDateTime now,
+              @Param("until") LocalDateTime until);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM EventBroadcast b WHERE b.id = :id " +
+           "AND b.status = com.mobylab.springbackend.entity.EventBroadcast.Status.RUNNING AND b.leaseOwner = :owner")
+    Optional<EventBroadcast> lockOwned(@Param("id") UUID id, @Param("owner") String owner);
+
+    @Modifying
+    @Query("UPDATE EventBroadcast b SET b.status = com.mobylab.springbackend.entity.EventBroadcast.Status.CANCELLED, " +
+           "b.leaseOwner = NULL, b.leaseUntil = NULL, b.completedAt = :now WHERE b.eventId = :eventId " +
+           "AND b.status IN (com.mobylab.springbackend.entity.EventBroadcast.Status.QUEUED, " +
+           "com.mobylab.springbackend.entity.EventBroadcast.Status.RUNNING)")
+    int cancelByEventId(@Param("eventId") UUID eventId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE EventBroadcast b SET b.sentCount = b.sentCount + :sent, b.failedCount = b.failedCount + :failed " +
+           "WHERE b.id = :id")
+    int addDelivered(@Param("id") UUID id, @Param("sent") long sent, @Param("failed") long failed);
+}
@@ -0,0 +1,42 @@
+package com.mobylab.springbackend.repository;
+
+import com.mobylab.springbackend.entity.EventDayRollup;
+import com.mobylab.springbackend.repository.projection.DayRollupView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EventDayRollupRepository extends JpaRepository<EventDayRollup, EventDayRollup.Key> {
+
+    // Range scan on idx_event_day_rollups_start_day_category
+    @Query("SELECT r.startDay AS startDay, SUM(r.eventsCount) AS eventsCount, SUM(r.seatsLeft) AS seatsLeft " +
+           "FROM EventDayRollup r WHERE r.startDay BETWEEN :from AND :to GROUP BY r.startDay ORDER BY r.startDay")
+    List<DayRollupView> findDays(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Range scan on the primary key (category_id, start_day)
+    @Query("SELECT r.startDay AS startDay, r.eventsCount AS eventsCount, r.seatsLeft AS seatsLeft " +
+           "FROM EventDayRollup r WHERE r.categoryId = :categoryId AND r.startDay BETWEEN :from AND :to ORDER BY r.startDay")
+    List<DayRollupView> findDaysByCategoryId(@Param("categoryId") UUID categoryId,
+                                             @Param("from") LocalDate from,
+                                             @Param("to") LocalDate to);
+
+    @Modifying
+    @Query(value = "DELETE FROM project.event_day_rollups", nativeQuery = true)
+    void deleteAllRows();
+
+    @Modifying
+    @Query(value = "INSERT INTO project.event_day_rollups (start_day, category_id, events_count, seats_left) " +
+                   "SELECT CAST(e.start_time AS date), COALESCE(e.category_id, :noCategory), COUNT(*), " +
+                   "SUM(CASE WHEN e.max_attendees IS NULL THEN 0 " +
+                   "ELSE GREATEST(e.max_attendees - e.registered_count, 0) END) " +
+                   "FROM project.events e GROUP BY 1, 2",
+           nativeQuery = true)
+    int insertFromEvents(@Param("noCategory") UUID noCategory);
+}
@@ -0,0 +1,26 @@
+package com.mobylab.springbackend.repository;
+
+import com.mobylab.springbackend.entity.EventInventoryShard;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EventInventoryShardRepository extends JpaRepository<EventInventoryShard, EventInventoryShard.Key> {
+
+    // Locks every shard of the event, in shard order so concurrent rebalances cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM EventInventoryShard s WHERE s.eventId = :eventId ORDER BY s.shardNo")
+    List<EventInventoryShard> lockByEventId(@Param("eventId") UUID eventId);
+
+    @Modifying
+    @Query("DELETE FROM EventInventoryShard s WHERE s.eventId = :eventId")
+    int deleteByEventId(@Param("eventId") UUID eventId);
+}
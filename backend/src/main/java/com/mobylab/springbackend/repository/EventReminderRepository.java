@@ -0,0 +1,56 @@
+package com.mobylab.springbackend.repository;
+
+import com.mobylab.springbackend.entity.EventReminder;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface EventReminderRepository extends JpaRepository<EventReminder, EventReminder.Key> {
+
+    List<EventReminder> findByStatusAndDueAtBefore(EventReminder.Status status, LocalDateTime before);
+
+    // Takes the lease of a due reminder unless another node holds one that has not run out
+    @Modifying
+    @Query(value = "UPDATE project.event_reminders SET lease_owner = :owner, lease_until = :until " +
+                   "WHERE event_id = :eventId AND kind = :kind AND status = 'PENDING' AND due_at <= :now " +
+                   "AND (lease_owner IS NULL OR lease_owner = :owner OR lease_until < :now)",
+           nativeQuery = true)
+    int claim(@Param("eventId") UUID eventId,
+              @Param("kind") String kind,
+              @Param("owner") String owner,
+              @Param("now") LocalDateTime now,
+              @Param("until") LocalDateTime until);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM EventReminder r WHERE r.eventId = :eventId AND r.kind = :kind " +
+           "AND r.status = com.mobylab.springbackend.entity.EventReminder.Status.PENDING AND r.leaseOwner = :owner")
+    Optional<EventReminder> lockOwned(@Param("eventId") UUID eventId,
+                                      @Param("kind") EventReminder.Kind kind,
+                                      @Param("owner") String owner);
+
+    // Reminders due before now are skipped: a "starts in 24h" email an hour before the start is wrong
+    @Modifying
+    @Query(value = "INSERT INTO project.event_reminders (event_id, kind, due_at, status, sent_count) " +
+                   "SELECT e.id, :kind, e.start_time - make_interval(secs => :leadSeconds), " +
+                   "CASE WHEN e.start_time - make_interval(secs => :leadSeconds) < :now THEN 'SKIPPED' ELSE 'PENDING' END, 0 " +
+                   "FROM project.events e WHERE e.start_time > :now " +
+                   "ON CONFLICT (event_id, kind) DO NOTHING",
+           nativeQuery = true)
+    int insertMissing(@Param("kind") String kind,
+                      @Param("leadSeconds") long leadSeconds,
+                      @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM EventReminder r WHERE r.eventId = :eventId")
+    int deleteByEventId(@Param("eventId") UUID eventId);
+}
@@ -1,21 +1,143 @@
 package com.mobylab.springbackend.repository;
 
 import com.mobylab.springbackend.entity.Event;
-import com.mobylab.springbackend.entity.User;
-import org.springframework.data.domain.Page;
+import com.mobylab.springbackend.repository.projection.EventCapacityView;
+import com.mobylab.springbackend.repository.projection.EventView;
+import com.mobylab.springbackend.repository.projection.RegistrationCounterDrift;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, UUID> {
-    Page<Event> findByOrganizer(User organizer, Pageable pageable);
-    Page<Event> findByCategoryId(UUID categoryId, Pageable pageable);
-    Page<Event> findByStartTimeAfter(LocalDateTime dateTime, Pageable pageable);
-    Page<Event> findByTitleContainingIgnoreCase(String title, Pageable pageable);
-    List<Event> findTop5ByStartTimeAfterOrderByStartTimeAsc(LocalDateTime now);
-} 
\ No newline at end of file
+
+    String VIEW_SELECT = "SELECT e.id AS id, e.title AS title, e.description AS description, " +
+            "e.startTime AS startTime, e.endTime AS endTime, e.maxAttendees AS maxAttendees, " +
+            "e.inventoryShards AS inventoryShards, " +
+            "e.registeredCount AS registeredCount, e.registrationsUpdatedAt AS registrationsUpdatedAt, " +
+            "e.createdAt AS createdAt, e.updatedAt AS updatedAt, " +
+            "o.id AS organizerId, o.username AS organizerName, c.id AS categoryId, c.name AS categoryName, " +
+            "l.id AS locationId, l.name AS locationName, l.address AS locationAddress, l.city AS locationCity, " +
+            "l.postalCode AS locationPostalCode, l.country AS locationCountry, " +
+            "l.latitude AS locationLatitude, l.longitude AS locationLongitude " +
+            "FROM Event e JOIN e.organizer o LEFT JOIN e.category c LEFT JOIN e.location l ";
+
+    String NATIVE_VIEW_SELECT = "SELECT e.id AS \"id\", e.title AS \"title\", e.description AS \"description\", " +
+            "e.start_time AS \"startTime\", e.end_time AS \"endTime\", e.max_attendees AS \"maxAttendees\", " +
+            "e.inventory_shards AS \"inventoryShards\", " +
+            "e.registered_count AS \"registeredCount\", e.registrations_updated_at AS \"registrationsUpdatedAt\", " +
+            "e.created_at AS \"createdAt\", e.updated_at AS \"updatedAt\", " +
+            "o.id AS \"organizerId\", o.username AS \"organizerName\", c.id AS \"categoryId\", c.name AS \"categoryName\", " +
+            "l.id AS \"locationId\", l.name AS \"locationName\", l.address AS \"locationAddress\", l.city AS \"locationCity\", " +
+            "l.postal_code AS \"locationPostalCode\", l.country AS \"locationCountry\", " +
+            "l.latitude AS \"locationLatitude\", l.longitude AS \"locationLongitude\" " +
+            "FROM project.events e JOIN project.users o ON o.id = e.organizer_id " +
+            "LEFT JOIN project.categories c ON c.id = e.category_id " +
+            "LEFT JOIN project.locations l ON l.id = e.location_id ";
+
+    @Query(VIEW_SELECT + "WHERE e.id = :id")
+    Optional<EventView> findViewById(@Param("id") UUID id);
+
+    @Query(VIEW_SELECT + "WHERE e.id IN :ids")
+    List<EventView> findViewsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query(VIEW_SELECT + "ORDER BY e.startTime, e.id")
+    Slice<EventView> findViews(Pageable pageable);
+
+    // Used to rebuild the in-memory indexes; the stream must be consumed inside a transaction
+    @Query(VIEW_SELECT)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<EventView> streamAllViews();
+
+    @Query(VIEW_SELECT + "WHERE c.id = :categoryId")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<EventView> streamViewsByCategoryId(@Param("categoryId") UUID categoryId);
+
+    @Query(VIEW_SELECT + "WHERE o.id = :organizerId ORDER BY e.startTime, e.id")
+    Slice<EventView> findViewsByOrganizerId(@Param("organizerId") UUID organizerId, Pageable pageable);
+
+    @Query(VIEW_SELECT + "WHERE c.id = :categoryId ORDER BY e.startTime, e.id")
+    Slice<EventView> findViewsByCategoryId(@Param("categoryId") UUID categoryId, Pageable pageable);
+
+    @Query(VIEW_SELECT + "WHERE e.startTime > :now ORDER BY e.startTime, e.id")
+    List<EventView> findUpcomingViews(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT e.maxAttendees AS maxAttendees, e.registeredCount AS registeredCount FROM Event e WHERE e.id = :id")
+    Optional<EventCapacityView> findCapacityById(@Param("id") UUID id);
+
+    long countByOrganizerId(UUID organizerId);
+    long countByCategoryId(UUID categoryId);
+
+    // Keyset pagination: seek past the (start_time, id) of the last row instead of using OFFSET
+    @Query(value = NATIVE_VIEW_SELECT + "WHERE (e.start_time, e.id) > (:startTime, :id) " +
+                   "ORDER BY e.start_time, e.id LIMIT :limit",
+           nativeQuery = true)
+    List<EventView> findViewsAfter(@Param("startTime") LocalDateTime startTime,
+                                   @Param("id") UUID id,
+                                   @Param("limit") int limit);
+
+    @Query(value = NATIVE_VIEW_SELECT + "WHERE e.organizer_id = :organizerId " +
+                   "AND (e.start_time, e.id) > (:startTime, :id) ORDER BY e.start_time, e.id LIMIT :limit",
+           nativeQuery = true)
+    List<EventView> findViewsByOrganizerAfter(@Param("organizerId") UUID organizerId,
+                                              @Param("startTime") LocalDateTime startTime,
+                                              @Param("id") UUID id,
+                                              @Param("limit") int limit);
+
+    @Query(value = NATIVE_VIEW_SELECT + "WHERE e.category_id = :categoryId " +
+                   "AND (e.start_time, e.id) > (:startTime, :id) ORDER BY e.start_time, e.id LIMIT :limit",
+           nativeQuery = true)
+    List<EventView> findViewsByCategoryAfter(@Param("categoryId") UUID categoryId,
+                                             @Param("startTime") LocalDateTime startTime,
+                                             @Param("id") UUID id,
+                                             @Param("limit") int limit);
+
+    /**
+     * Takes one seat if the event still has capacity. Returns the number of updated rows,
+     * so 0 means the event is full (or does not exist).
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.registeredCount = e.registeredCount + 1, e.registrationsUpdatedAt = LOCAL DATETIME " +
+           "WHERE e.id = :eventId AND (e.maxAttendees IS NULL OR e.registeredCount < e.maxAttendees)")
+    int reserveSeat(@Param("eventId") UUID eventId);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.registeredCount = e.registeredCount - 1, e.registrationsUpdatedAt = LOCAL DATETIME " +
+           "WHERE e.id = :eventId AND e.registeredCount > 0")
+    int releaseSeat(@Param("eventId") UUID eventId);
+
+    // Waits for seat reservations in flight on the event and holds off new ones until commit;
+    // NO KEY UPDATE leaves registrations referencing the event free to insert
+    @Query(value = "SELECT id FROM project.events WHERE id = :id FOR NO KEY UPDATE", nativeQuery = true)
+    Optional<UUID> lockById(@Param("id") UUID id);
+
+    @Query(value = "SELECT e.id AS \"eventId\", e.registered_count AS \"storedCount\", COALESCE(r.total, 0) AS \"actualCount\" " +
+                   "FROM project.events e " +
+                   "LEFT JOIN (SELECT event_id, COUNT(*) AS total FROM project.registrations " +
+                   "           WHERE status NOT IN ('CANCELLED', 'WAITLISTED') GROUP BY event_id) r ON r.event_id = e.id " +
+                   "WHERE e.registered_count <> COALESCE(r.total, 0)",
+           nativeQuery = true)
+    List<RegistrationCounterDrift> findRegistrationCounterDrift();
+
+    @Modifying
+    @Query(value = "UPDATE project.events e SET registered_count = " +
+                   "(SELECT COUNT(*) FROM project.registrations r WHERE r.event_id = e.id AND r.status NOT IN ('CANCELLED', 'WAITLISTED')), " +
+                   "registrations_updated_at = LOCALTIMESTAMP " +
+                   "WHERE e.id IN (:eventIds)",
+           nativeQuery = true)
+    int recomputeRegisteredCounts(@Param("eventIds") Collection<UUID> eventIds);
+}
@@ -3,21 +3,102 @@ package com.mobylab.springbackend.repository;
 import com.mobylab.springbackend.entity.Event;
 import com.mobylab.springbackend.entity.Registration;
 import com.mobylab.springbackend.entity.User;
-import org.springframework.data.domain.Page;
+import com.mobylab.springbackend.repository.projection.AttendeeView;
+import com.mobylab.springbackend.repository.projection.RecipientView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface RegistrationRepository extends JpaRepository<Registration, UUID> {
-    Page<Registration> findByUser(User user, Pageable pageable);
-    Page<Registration> findByEvent(Event event, Pageable pageable);
+    Slice<Registration> findByUser(User user, Pageable pageable);
+    Slice<Registration> findByEvent(Event event, Pageable pageable);
     Optional<Registration> findByUserAndEvent(User user, Event event);
     boolean existsByUserAndEvent(User user, Event event);
     long countByEvent(Event event);
+    long countByUser(User user);
     List<Registration> findByEvent_IdAndStatus(UUID eventId, Registration.RegistrationStatus status);
-} 
\ No newline at end of file
+
+    // Join order of the waitlist, read through idx_registrations_event_status_registration_time
+    @Query("SELECT r.id FROM Registration r WHERE r.event.id = :eventId " +
+           "AND r.status = com.mobylab.springbackend.entity.Registration.RegistrationStatus.WAITLISTED " +
+           "ORDER BY r.registrationTime, r.id")
+    List<UUID> findWaitlistedIds(@Param("eventId") UUID eventId);
+
+    @Query("SELECT DISTINCT r.event.id FROM Registration r " +
+           "WHERE r.status = com.mobylab.springbackend.entity.Registration.RegistrationStatus.WAITLISTED")
+    List<UUID> findEventIdsWithWaitlist();
+
+    // Head of the waitlist; rows another promoter holds are skipped rather than waited for
+    @Query(value = "SELECT * FROM project.registrations WHERE event_id = :eventId AND status = 'WAITLISTED' " +
+                   "ORDER BY registration_time, id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Registration> lockNextWaitlisted(@Param("eventId") UUID eventId, @Param("limit") int limit);
+
+    // Read through a server-side cursor; the stream must be consumed inside a transaction
+    @Query("SELECT r.id AS registrationId, u.id AS userId, u.username AS username, u.email AS email, " +
+           "r.status AS status, r.registrationTime AS registrationTime, r.notes AS notes " +
+           "FROM Registration r JOIN r.user u WHERE r.event.id = :eventId ORDER BY r.registrationTime, r.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<AttendeeView> streamAttendeesByEventId(@Param("eventId") UUID eventId);
+
+    // Keyset pages over the (event_id, status, registration_time, id) index
+    @Query("SELECT r.id AS registrationId, r.registrationTime AS registrationTime, u.username AS username, u.email AS email " +
+           "FROM Registration r JOIN r.user u WHERE r.event.id = :eventId " +
+           "AND r.status = com.mobylab.springbackend.entity.Registration.RegistrationStatus.CONFIRMED " +
+           "ORDER BY r.registrationTime, r.id")
+    List<RecipientView> findReminderRecipients(@Param("eventId") UUID eventId, Limit limit);
+
+    @Query("SELECT r.id AS registrationId, r.registrationTime AS registrationTime, u.username AS username, u.email AS email " +
+           "FROM Registration r JOIN r.user u WHERE r.event.id = :eventId " +
+           "AND r.status = com.mobylab.springbackend.entity.Registration.RegistrationStatus.CONFIRMED " +
+           "AND (r.registrationTime > :afterTime OR (r.registrationTime = :afterTime AND r.id > :afterId)) " +
+           "ORDER BY r.registrationTime, r.id")
+    List<RecipientView> findReminderRecipientsAfter(@Param("eventId") UUID eventId,
+                                                    @Param("afterTime") LocalDateTime afterTime,
+                                                    @Param("afterId") UUID afterId,
+                                                    Limit limit);
+
+    long countByEvent_IdAndStatusIn(UUID eventId, Collection<Registration.RegistrationStatus> statuses);
+
+    // Read through a server-side cursor from a keyset position; the stream must be consumed inside a transaction
+    @Query("SELECT r.id AS registrationId, r.registrationTime AS registrationTime, u.username AS username, u.email AS email " +
+           "FROM Registration r JOIN r.user u WHERE r.event.id = :eventId AND r.status IN :statuses " +
+           "ORDER BY r.registrationTime, r.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<RecipientView> streamRecipients(@Param("eventId") UUID eventId,
+                                           @Param("statuses") Collection<Registration.RegistrationStatus> statuses);
+
+    @Query("SELECT r.id AS registrationId, r.registrationTime AS registrationTime, u.username AS username, u.email AS email " +
+           "FROM Registration r JOIN r.user u WHERE r.event.id = :eventId AND r.status IN :statuses " +
+           "AND (r.registrationTime > :afterTime OR (r.registrationTime = :afterTime AND r.id > :afterId)) " +
+           "ORDER BY r.registrationTime, r.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<RecipientView> streamRecipientsAfter(@Param("eventId") UUID eventId,
+                                                @Param("statuses") Collection<Registration.RegistrationStatus> statuses,
+                                                @Param("afterTime") LocalDateTime afterTime,
+                                                @Param("afterId") UUID afterId);
+}
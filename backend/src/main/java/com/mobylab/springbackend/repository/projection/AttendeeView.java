@@ -0,0 +1,19 @@
+package com.mobylab.springbackend.repository.projection;
+
+import com.mobylab.springbackend.entity.Registration.RegistrationStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A registration joined with the registered user's name and email, for attendee exports.
+ */
+public interface AttendeeView {
+    UUID getRegistrationId();
+    UUID getUserId();
+    String getUsername();
+    String getEmail();
+    RegistrationStatus getStatus();
+    LocalDateTime getRegistrationTime();
+    String getNotes();
+}
@@ -0,0 +1,8 @@
+package com.mobylab.springbackend.repository.projection;
+
+import java.util.UUID;
+
+public interface CategoryEventCount {
+    UUID getCategoryId();
+    long getEventsCount();
+}
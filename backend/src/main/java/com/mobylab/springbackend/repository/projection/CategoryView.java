@@ -0,0 +1,13 @@
+package com.mobylab.springbackend.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * A category with its number of events, computed by an aggregate query.
+ */
+public interface CategoryView {
+    UUID getId();
+    String getName();
+    String getDescription();
+    long getEventsCount();
+}
@@ -0,0 +1,9 @@
+package com.mobylab.springbackend.repository.projection;
+
+import java.time.LocalDate;
+
+public interface DayRollupView {
+    LocalDate getStartDay();
+    long getEventsCount();
+    long getSeatsLeft();
+}
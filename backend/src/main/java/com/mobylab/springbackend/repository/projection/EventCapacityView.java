@@ -0,0 +1,6 @@
+package com.mobylab.springbackend.repository.projection;
+
+public interface EventCapacityView {
+    Integer getMaxAttendees();
+    int getRegisteredCount();
+}
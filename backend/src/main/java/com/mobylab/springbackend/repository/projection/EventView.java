@@ -0,0 +1,34 @@
+package com.mobylab.springbackend.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Flat read model of an event together with its organizer, category and location columns,
+ * selected by a single joined query.
+ */
+public interface EventView {
+    UUID getId();
+    String getTitle();
+    String getDescription();
+    LocalDateTime getStartTime();
+    LocalDateTime getEndTime();
+    Integer getMaxAttendees();
+    Integer getInventoryShards();
+    int getRegisteredCount();
+    LocalDateTime getRegistrationsUpdatedAt();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+    UUID getOrganizerId();
+    String getOrganizerName();
+    UUID getCategoryId();
+    String getCategoryName();
+    UUID getLocationId();
+    String getLocationName();
+    String getLocationAddress();
+    String getLocationCity();
+    String getLocationPostalCode();
+    String getLocationCountry();
+    Double getLocationLatitude();
+    Double getLocationLongitude();
+}
@@ -0,0 +1,14 @@
+package com.mobylab.springbackend.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A registration with the address to write to, keyed by its position in registration order.
+ */
+public interface RecipientView {
+    UUID getRegistrationId();
+    LocalDateTime getRegistrationTime();
+    String getUsername();
+    String getEmail();
+}
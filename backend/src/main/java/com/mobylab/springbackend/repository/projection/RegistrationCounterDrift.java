@@ -0,0 +1,9 @@
+package com.mobylab.springbackend.repository.projection;
+
+import java.util.UUID;
+
+public interface RegistrationCounterDrift {
+    UUID getEventId();
+    int getStoredCount();
+    long getActualCount();
+}
@@ -0,0 +1,8 @@
+package com.mobylab.springbackend.service;
+
+/**
+ * Bucket size of the event calendar. Weeks start on Monday.
+ */
+public enum CalendarGranularity {
+    DAY, WEEK
+}
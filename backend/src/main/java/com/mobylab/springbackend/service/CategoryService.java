@@ -10,8 +10,8 @@ public interface CategoryService {
     CategoryDto createCategory(CategoryDto categoryDto);
     CategoryDto getCategory(UUID id);
     CategoryDto getCategoryByName(String name);
-    List<CategoryDto> getAllCategories();
-    PageResponseDto<CategoryDto> getAllCategoriesPaged(int page, int size);
+    List<CategoryDto> getAllCategories(boolean upcomingOnly);
+    PageResponseDto<CategoryDto> getAllCategoriesPaged(int page, int size, boolean withTotal, boolean upcomingOnly);
     CategoryDto updateCategory(UUID id, CategoryDto categoryDto);
     void deleteCategory(UUID id);
 } 
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.mobylab.springbackend.service;
+
+/**
+ * Line-oriented formats accepted by bulk imports and produced by exports.
+ */
+public enum DataFormat {
+    NDJSON, CSV
+}
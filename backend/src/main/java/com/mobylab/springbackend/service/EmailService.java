@@ -1,7 +1,14 @@
 package com.mobylab.springbackend.service;
 
-import java.time.LocalDateTime;
+import com.mobylab.springbackend.entity.Event;
+import com.mobylab.springbackend.repository.projection.RecipientView;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
 
 public interface EmailService {
-    void sendRegistrationConfirmation(String to, String username, String eventName, LocalDateTime eventTime);
-} 
\ No newline at end of file
+    void sendRegistrationConfirmation(String to, String username, Event event);
+    void sendEventReminders(List<RecipientView> recipients, Event event, Duration startsIn);
+    void sendBroadcast(List<RecipientView> recipients, Event event, UUID broadcastId, String subject, String message);
+}
@@ -0,0 +1,30 @@
+package com.mobylab.springbackend.service;
+
+import com.mobylab.springbackend.dto.BroadcastDto;
+import com.mobylab.springbackend.dto.BroadcastRequestDto;
+
+import java.time.Duration;
+import java.util.UUID;
+
+public interface EventBroadcastService {
+
+    /**
+     * Queues a message to the event's registrants and returns at once; the fan-out runs in the
+     * background and its progress is read with {@link #getBroadcast}.
+     */
+    BroadcastDto createBroadcast(UUID eventId, BroadcastRequestDto request);
+
+    BroadcastDto getBroadcast(UUID id);
+
+    /**
+     * Takes the lease of a queued or abandoned broadcast for the given node. Returns false if it is
+     * finished or another node holds it.
+     */
+    boolean claim(UUID id, String owner, Duration lease);
+
+    /**
+     * Queues the broadcast for every remaining recipient, a batch at a time, while the node holds
+     * its lease. Returns true once the broadcast is complete.
+     */
+    boolean fanOut(UUID id, String owner, Duration lease);
+}
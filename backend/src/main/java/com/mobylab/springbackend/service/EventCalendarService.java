@@ -0,0 +1,11 @@
+package com.mobylab.springbackend.service;
+
+import com.mobylab.springbackend.dto.CalendarBucketDto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface EventCalendarService {
+    List<CalendarBucketDto> getCalendar(LocalDate from, LocalDate to, CalendarGranularity granularity, UUID categoryId);
+}
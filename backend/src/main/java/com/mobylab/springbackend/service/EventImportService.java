@@ -0,0 +1,10 @@
+package com.mobylab.springbackend.service;
+
+import com.mobylab.springbackend.dto.ImportResultDto;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+public interface EventImportService {
+    ImportResultDto importEvents(InputStream input, DataFormat format, UUID organizerId);
+}
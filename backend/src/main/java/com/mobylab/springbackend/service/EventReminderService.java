@@ -0,0 +1,26 @@
+package com.mobylab.springbackend.service;
+
+import com.mobylab.springbackend.entity.EventReminder;
+
+import java.time.Duration;
+import java.util.UUID;
+
+public interface EventReminderService {
+
+    /**
+     * Creates the reminders of upcoming events that have none yet. Returns how many were created.
+     */
+    int scheduleMissingReminders();
+
+    /**
+     * Takes the lease of a due reminder for the given node. Returns false if it is not due, already
+     * sent, or leased by another node.
+     */
+    boolean claim(UUID eventId, EventReminder.Kind kind, String owner, Duration lease);
+
+    /**
+     * Queues the reminder for the next chunk of recipients and renews the lease. Returns true
+     * while recipients remain, false once the reminder is done or no longer leased by the node.
+     */
+    boolean sendNextChunk(UUID eventId, EventReminder.Kind kind, String owner, Duration lease);
+}
@@ -1,18 +1,34 @@
 package com.mobylab.springbackend.service;
 
+import com.mobylab.springbackend.dto.CursorPageResponseDto;
 import com.mobylab.springbackend.dto.EventDto;
+import com.mobylab.springbackend.dto.EventFilterDto;
+import com.mobylab.springbackend.dto.EventFilterResultDto;
+import com.mobylab.springbackend.dto.EventSearchResultDto;
+import com.mobylab.springbackend.dto.NearbyEventDto;
 import com.mobylab.springbackend.dto.PageResponseDto;
+import com.mobylab.springbackend.dto.SuggestionDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 public interface EventService {
     EventDto createEvent(EventDto eventDto, UUID organizerId);
     EventDto getEvent(UUID id);
-    PageResponseDto<EventDto> getAllEvents(int page, int size);
-    PageResponseDto<EventDto> getEventsByOrganizer(UUID organizerId, int page, int size);
-    PageResponseDto<EventDto> getEventsByCategory(UUID categoryId, int page, int size);
-    PageResponseDto<EventDto> searchEvents(String query, int page, int size);
+    PageResponseDto<EventDto> getAllEvents(int page, int size, boolean withTotal);
+    PageResponseDto<EventDto> getEventsByOrganizer(UUID organizerId, int page, int size, boolean withTotal);
+    PageResponseDto<EventDto> getEventsByCategory(UUID categoryId, int page, int size, boolean withTotal);
+    PageResponseDto<EventSearchResultDto> searchEvents(String query, int page, int size, boolean withTotal);
+    List<SuggestionDto> suggestEvents(String prefix, int limit);
+    List<NearbyEventDto> getEventsNear(double latitude, double longitude, double radiusKm,
+                                       LocalDateTime from, LocalDateTime to, UUID categoryId, int limit);
+    List<EventDto> getEventsInWindow(LocalDateTime from, LocalDateTime to, int limit);
+    EventFilterResultDto filterEvents(EventFilterDto filter, int page, int size);
+    long rebuildSearchIndex();
+    CursorPageResponseDto<EventDto> scrollEvents(String after, int size);
+    CursorPageResponseDto<EventDto> scrollEventsByOrganizer(UUID organizerId, String after, int size);
+    CursorPageResponseDto<EventDto> scrollEventsByCategory(UUID categoryId, String after, int size);
     EventDto updateEvent(UUID id, EventDto eventDto);
     void deleteEvent(UUID id);
     List<EventDto> getUpcomingEvents();
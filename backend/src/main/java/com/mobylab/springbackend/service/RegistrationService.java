@@ -1,21 +1,27 @@
 package com.mobylab.springbackend.service;
 
+import com.mobylab.springbackend.dto.CounterDriftDto;
 import com.mobylab.springbackend.dto.PageResponseDto;
 import com.mobylab.springbackend.dto.RegistrationDto;
 import com.mobylab.springbackend.entity.Registration.RegistrationStatus;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.UUID;
 
 public interface RegistrationService {
-    RegistrationDto registerForEvent(UUID userId, UUID eventId, String notes);
+    RegistrationDto registerForEvent(UUID userId, UUID eventId, String notes, boolean waitlist);
     RegistrationDto getRegistration(UUID id);
     RegistrationDto getRegistrationByUserAndEvent(UUID userId, UUID eventId);
-    PageResponseDto<RegistrationDto> getUserRegistrations(UUID userId, int page, int size);
-    PageResponseDto<RegistrationDto> getEventRegistrations(UUID eventId, int page, int size);
+    PageResponseDto<RegistrationDto> getUserRegistrations(UUID userId, int page, int size, boolean withTotal);
+    PageResponseDto<RegistrationDto> getEventRegistrations(UUID eventId, int page, int size, boolean withTotal);
     RegistrationDto updateRegistrationStatus(UUID id, RegistrationStatus status);
     void cancelRegistration(UUID id);
+    int promoteWaitlisted(UUID eventId);
     List<RegistrationDto> getRegistrationsByEventAndStatus(UUID eventId, RegistrationStatus status);
     boolean isUserRegisteredForEvent(UUID userId, UUID eventId);
     long getEventRegistrationsCount(UUID eventId);
+    List<CounterDriftDto> reconcileRegistrationCounters();
+    void exportEventRegistrations(UUID eventId, DataFormat format, OutputStream output) throws IOException;
 } 
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.mobylab.springbackend.service.event;
+
+import java.util.UUID;
+
+/**
+ * Published by the broadcast service when an organizer queues a broadcast, so the fan-out can
+ * start as soon as it commits instead of on the next poll.
+ */
+public class BroadcastQueuedEvent {
+
+    private final UUID broadcastId;
+
+    public BroadcastQueuedEvent(UUID broadcastId) {
+        this.broadcastId = broadcastId;
+    }
+
+    public UUID getBroadcastId() {
+        return broadcastId;
+    }
+}
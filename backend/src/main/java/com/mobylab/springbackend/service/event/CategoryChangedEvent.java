@@ -0,0 +1,19 @@
+package com.mobylab.springbackend.service.event;
+
+import java.util.UUID;
+
+/**
+ * Published by the category service whenever a category is created, updated or deleted.
+ */
+public class CategoryChangedEvent {
+
+    private final UUID categoryId;
+
+    public CategoryChangedEvent(UUID categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public UUID getCategoryId() {
+        return categoryId;
+    }
+}
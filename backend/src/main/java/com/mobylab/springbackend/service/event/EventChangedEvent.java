@@ -0,0 +1,62 @@
+package com.mobylab.springbackend.service.event;
+
+import com.mobylab.springbackend.dto.EventDto;
+
+import java.util.UUID;
+
+/**
+ * Published by the event service whenever an event is created, updated or deleted. Carries the
+ * state before and after the change so listeners can maintain derived data incrementally.
+ */
+public class EventChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+    private final UUID eventId;
+    private final EventDto previous;
+    private final EventDto current;
+
+    private EventChangedEvent(Type type, UUID eventId, EventDto previous, EventDto current) {
+        this.type = type;
+        this.eventId = eventId;
+        this.previous = previous;
+        this.current = current;
+    }
+
+    public static EventChangedEvent created(EventDto event) {
+        return new EventChangedEvent(Type.CREATED, event.getId(), null, event);
+    }
+
+    public static EventChangedEvent updated(EventDto previous, EventDto current) {
+        return new EventChangedEvent(Type.UPDATED, current.getId(), previous, current);
+    }
+
+    public static EventChangedEvent deleted(EventDto previous) {
+        return new EventChangedEvent(Type.DELETED, previous.getId(), previous, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    /**
+     * State before the change, {@code null} for {@link Type#CREATED}.
+     */
+    public EventDto getPrevious() {
+        return previous;
+    }
+
+    /**
+     * State after the change, {@code null} for {@link Type#DELETED}.
+     */
+    public EventDto getCurrent() {
+        return current;
+    }
+}
@@ -0,0 +1,22 @@
+package com.mobylab.springbackend.service.event;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published once the stored registration counters of some events were recomputed from their
+ * registrations, outside of any single registration change.
+ */
+public class RegisteredCountsRecomputedEvent {
+
+    private final List<UUID> eventIds;
+
+    public RegisteredCountsRecomputedEvent(Collection<UUID> eventIds) {
+        this.eventIds = List.copyOf(eventIds);
+    }
+
+    public List<UUID> getEventIds() {
+        return eventIds;
+    }
+}
@@ -0,0 +1,60 @@
+package com.mobylab.springbackend.service.event;
+
+import com.mobylab.springbackend.entity.Registration.RegistrationStatus;
+
+import java.util.UUID;
+
+/**
+ * Published by the registration service whenever a registration is created or changes status.
+ */
+public class RegistrationChangedEvent {
+
+    private final UUID registrationId;
+    private final UUID eventId;
+    private final UUID userId;
+    private final RegistrationStatus previousStatus;
+    private final RegistrationStatus status;
+
+    public RegistrationChangedEvent(UUID registrationId, UUID eventId, UUID userId,
+                                    RegistrationStatus previousStatus, RegistrationStatus status) {
+        this.registrationId = registrationId;
+        this.eventId = eventId;
+        this.userId = userId;
+        this.previousStatus = previousStatus;
+        this.status = status;
+    }
+
+    public UUID getRegistrationId() {
+        return registrationId;
+    }
+
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    /**
+     * Status before the change, {@code null} for a new registration.
+     */
+    public RegistrationStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public RegistrationStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Change in the number of seats the event has taken: +1, -1 or 0.
+     */
+    public int getSeatsDelta() {
+        return (holdsSeat(status) ? 1 : 0) - (holdsSeat(previousStatus) ? 1 : 0);
+    }
+
+    private static boolean holdsSeat(RegistrationStatus status) {
+        return status != null && status.holdsSeat();
+    }
+}
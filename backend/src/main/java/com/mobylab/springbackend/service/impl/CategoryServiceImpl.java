@@ -1,35 +1,58 @@
 package com.mobylab.springbackend.service.impl;
 
+import com.mobylab.springbackend.cache.CategoryEventCounts;
+import com.mobylab.springbackend.cache.TotalCountCache;
 import com.mobylab.springbackend.dto.CategoryDto;
+import com.mobylab.springbackend.dto.EventDto;
 import com.mobylab.springbackend.dto.PageResponseDto;
 import com.mobylab.springbackend.dto.mapper.EntityMapper;
 import com.mobylab.springbackend.entity.Category;
 import com.mobylab.springbackend.exception.ResourceAlreadyExistsException;
 import com.mobylab.springbackend.exception.ResourceNotFoundException;
 import com.mobylab.springbackend.repository.CategoryRepository;
+import com.mobylab.springbackend.repository.EventRepository;
+import com.mobylab.springbackend.repository.projection.CategoryView;
+import com.mobylab.springbackend.repository.projection.EventView;
 import com.mobylab.springbackend.service.CategoryService;
+import com.mobylab.springbackend.service.event.CategoryChangedEvent;
+import com.mobylab.springbackend.service.event.EventChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final EventRepository eventRepository;
     private final EntityMapper mapper;
+    private final TotalCountCache totalCountCache;
+    private final CategoryEventCounts categoryEventCounts;
+    private final ShardedSeatInventory seatInventory;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public CategoryServiceImpl(CategoryRepository categoryRepository, EntityMapper mapper) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository, EventRepository eventRepository,
+                               EntityMapper mapper, TotalCountCache totalCountCache,
+                               CategoryEventCounts categoryEventCounts, ShardedSeatInventory seatInventory,
+                               ApplicationEventPublisher eventPublisher) {
         this.categoryRepository = categoryRepository;
+        this.eventRepository = eventRepository;
         this.mapper = mapper;
+        this.totalCountCache = totalCountCache;
+        this.categoryEventCounts = categoryEventCounts;
+        this.seatInventory = seatInventory;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -41,8 +64,9 @@ public class CategoryServiceImpl implements CategoryService {
         
         Category category = mapper.toEntity(categoryDto);
         Category savedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(savedCategory.getId()));
         
-        return mapper.toDto(savedCategory);
+        return mapper.toDto(savedCategory, 0);
     }
 
     @Override
@@ -51,7 +75,7 @@ public class CategoryServiceImpl implements CategoryService {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
         
-        return mapper.toDto(category);
+        return toDto(category);
     }
 
     @Override
@@ -60,13 +84,15 @@ public class CategoryServiceImpl implements CategoryService {
         Category category = categoryRepository.findByName(name)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with name: " + name));
         
-        return mapper.toDto(category);
+        return toDto(category);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<CategoryDto> getAllCategories() {
-        List<Category> categories = categoryRepository.findAll(Sort.by("name"));
+    public List<CategoryDto> getAllCategories(boolean upcomingOnly) {
+        List<CategoryView> categories = upcomingOnly
+                ? categoryRepository.findAllViewsCountingUpcoming(LocalDateTime.now())
+                : categoryRepository.findAllViews();
         
         return categories.stream()
                 .map(mapper::toDto)
@@ -75,15 +101,19 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponseDto<CategoryDto> getAllCategoriesPaged(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("name"));
-        Page<Category> categoryPage = categoryRepository.findAll(pageable);
+    public PageResponseDto<CategoryDto> getAllCategoriesPaged(int page, int size, boolean withTotal,
+                                                             boolean upcomingOnly) {
+        // Ordering is part of the aggregate query, so the page request carries no sort
+        Pageable pageable = PageRequest.of(page, size);
+        Slice<CategoryView> categorySlice = upcomingOnly
+                ? categoryRepository.findViewsCountingUpcoming(LocalDateTime.now(), pageable)
+                : categoryRepository.findViews(pageable);
         
-        List<CategoryDto> categoryDtos = categoryPage.getContent().stream()
+        List<CategoryDto> categoryDtos = categorySlice.getContent().stream()
                 .map(mapper::toDto)
                 .collect(Collectors.toList());
         
-        return new PageResponseDto<>(categoryDtos, categoryPage);
+        return totalCountCache.toPage(categoryDtos, categorySlice, withTotal, "categories", categoryRepository::count);
     }
 
     @Override
@@ -102,8 +132,9 @@ public class CategoryServiceImpl implements CategoryService {
         existingCategory.setDescription(categoryDto.getDescription());
         
         Category updatedCategory = categoryRepository.save(existingCategory);
+        eventPublisher.publishEvent(new CategoryChangedEvent(updatedCategory.getId()));
         
-        return mapper.toDto(updatedCategory);
+        return toDto(updatedCategory);
     }
 
     @Override
@@ -112,6 +143,23 @@ public class CategoryServiceImpl implements CategoryService {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
         
+        // The category's events are deleted along with it and must leave every index and cache
+        List<EventDto> deletedEvents;
+        try (Stream<EventView> views = eventRepository.streamViewsByCategoryId(id)) {
+            deletedEvents = views.map(mapper::toDto).collect(Collectors.toList());
+        }
+        deletedEvents.forEach(event -> seatInventory.remove(event.getId()));
+        
         categoryRepository.delete(category);
+        deletedEvents.forEach(event -> eventPublisher.publishEvent(EventChangedEvent.deleted(event)));
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
+    }
+
+    private CategoryDto toDto(Category category) {
+        Long eventsCount = categoryEventCounts.get(category.getId());
+        if (eventsCount == null) {
+            eventsCount = eventRepository.countByCategoryId(category.getId());
+        }
+        return mapper.toDto(category, eventsCount);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,234 @@
+package com.mobylab.springbackend.service.impl;
+
+import com.mobylab.springbackend.dto.EventDto;
+import com.mobylab.springbackend.dto.LocationDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * RFC 4180 CSV with a header row naming the columns, in any order:
+ * {@code title, description, startTime, endTime, maxAttendees, inventoryShards, categoryId,
+ * categoryName, locationName, address, city, postalCode, country, latitude, longitude}. Unknown
+ * columns are ignored. Quoted fields may contain commas, doubled quotes and line breaks. Row
+ * numbers count records after the header, starting at 1.
+ * <p>
+ * A field or record over its length limit, such as one opened by an unterminated quote, fails
+ * its row; the rest of that line is skipped and reading resumes on the next one.
+ */
+class CsvEventRowReader implements EventRowReader {
+
+    private static final int MAX_FIELD_LENGTH = 4096;
+    private static final int MAX_RECORD_LENGTH = 16384;
+    private static final String[] LOCATION_COLUMNS = {"locationname", "address", "city", "postalcode", "country", "latitude", "longitude"};
+
+    private final BufferedReader reader;
+    private final StringBuilder field = new StringBuilder();
+    private Map<String, Integer> columns;
+    private long rowNumber;
+    private boolean endOfInput;
+
+    CsvEventRowReader(InputStream input) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public Row next() throws IOException {
+        if (columns == null) {
+            readHeader();
+        }
+
+        List<String> record;
+        do {
+            try {
+                record = readRecord();
+            } catch (RecordTooLongException e) {
+                rowNumber++;
+                return Row.failed(rowNumber, e.getMessage());
+            }
+            if (record == null) {
+                return null;
+            }
+        } while (record.size() == 1 && record.get(0).isEmpty());
+
+        rowNumber++;
+        try {
+            return Row.parsed(rowNumber, toEvent(record));
+        } catch (IllegalArgumentException e) {
+            return Row.failed(rowNumber, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readHeader() throws IOException {
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IOException("The CSV file has no header row");
+        }
+        columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+            // Tolerate a UTF-8 byte order mark before the first column name
+            columns.put(i == 0 && name.startsWith("\uFEFF") ? name.substring(1) : name, i);
+        }
+        if (!columns.containsKey("title")) {
+            throw new IOException("The CSV header must contain a title column");
+        }
+    }
+
+    private EventDto toEvent(List<String> record) {
+        EventDto event = new EventDto();
+        event.setTitle(text(record, "title"));
+        event.setDescription(text(record, "description"));
+        event.setStartTime(parse(record, "starttime", LocalDateTime::parse));
+        event.setEndTime(parse(record, "endtime", LocalDateTime::parse));
+        event.setMaxAttendees(parse(record, "maxattendees", Integer::valueOf));
+        event.setInventoryShards(parse(record, "inventoryshards", Integer::valueOf));
+        event.setCategoryId(parse(record, "categoryid", UUID::fromString));
+        event.setCategoryName(text(record, "categoryname"));
+
+        boolean hasLocation = false;
+        for (String column : LOCATION_COLUMNS) {
+            hasLocation |= text(record, column) != null;
+        }
+        if (hasLocation) {
+            LocationDto location = new LocationDto();
+            location.setName(text(record, "locationname"));
+            location.setAddress(text(record, "address"));
+            location.setCity(text(record, "city"));
+            location.setPostalCode(text(record, "postalcode"));
+            location.setCountry(text(record, "country"));
+            location.setLatitude(parse(record, "latitude", Double::valueOf));
+            location.setLongitude(parse(record, "longitude", Double::valueOf));
+            event.setLocation(location);
+        }
+        return event;
+    }
+
+    private String text(List<String> record, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private <T> T parse(List<String> record, String column, Function<String, T> parser) {
+        String value = text(record, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid value for " + column + ": " + value);
+        }
+    }
+
+    /**
+     * Reads one record, or returns null at the end of the input.
+     */
+    private List<String> readRecord() throws IOException {
+        if (endOfInput) {
+            return null;
+        }
+
+        List<String> record = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean any = false;
+        int length = 0;
+        while (true) {
+            int c = reader.read();
+            if (c == -1) {
+                endOfInput = true;
+                if (!any) {
+                    return null;
+                }
+                record.add(field.toString());
+                return record;
+            }
+            any = true;
+
+            if (++length > MAX_RECORD_LENGTH || field.length() > MAX_FIELD_LENGTH) {
+                field.setLength(0);
+                skipLine(c);
+                throw new RecordTooLongException(length > MAX_RECORD_LENGTH
+                        ? "Record longer than " + MAX_RECORD_LENGTH + " characters"
+                        : "Field longer than " + MAX_FIELD_LENGTH + " characters");
+            }
+
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                record.add(field.toString());
+                return record;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    /**
+     * Discards input up to and including the next line break, starting from {@code c}.
+     */
+    private void skipLine(int c) throws IOException {
+        while (c != '\n' && c != '\r') {
+            c = reader.read();
+            if (c == -1) {
+                endOfInput = true;
+                return;
+            }
+        }
+        if (c == '\r') {
+            reader.mark(1);
+            if (reader.read() != '\n') {
+                reader.reset();
+            }
+        }
+    }
+
+    private static class RecordTooLongException extends IOException {
+        RecordTooLongException(String message) {
+            super(message);
+        }
+    }
+}
@@ -1,41 +1,92 @@
 package com.mobylab.springbackend.service.impl;
 
+import com.mobylab.springbackend.entity.EmailAttachment;
+import com.mobylab.springbackend.entity.EmailOutboxMessage;
+import com.mobylab.springbackend.entity.Event;
+import com.mobylab.springbackend.mail.EventMailRenderer;
+import com.mobylab.springbackend.mail.MailTemplates;
+import com.mobylab.springbackend.mail.RenderedEventMail;
+import com.mobylab.springbackend.repository.EmailAttachmentRepository;
+import com.mobylab.springbackend.repository.EmailOutboxRepository;
+import com.mobylab.springbackend.repository.projection.RecipientView;
 import com.mobylab.springbackend.service.EmailService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
+/**
+ * Writes emails to the outbox in the caller's transaction: they are sent by
+ * {@code EmailOutboxDispatcher} once that transaction commits, and never if it rolls back.
+ */
 @Service
 public class EmailServiceImpl implements EmailService {
 
-    private final JavaMailSender mailSender;
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailAttachmentRepository attachmentRepository;
+    private final EventMailRenderer renderer;
 
     @Autowired
-    public EmailServiceImpl(JavaMailSender mailSender) {
-        this.mailSender = mailSender;
+    public EmailServiceImpl(EmailOutboxRepository outboxRepository,
+                            EmailAttachmentRepository attachmentRepository,
+                            EventMailRenderer renderer) {
+        this.outboxRepository = outboxRepository;
+        this.attachmentRepository = attachmentRepository;
+        this.renderer = renderer;
     }
 
     @Override
-    public void sendRegistrationConfirmation(String to, String username, String eventName, LocalDateTime eventTime) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(to);
-        message.setSubject("Event Registration Confirmation: " + eventName);
-        
-        String body = String.format(
-                "Hello %s,\n\n" +
-                "Thank you for registering for the event: %s\n" +
-                "Date and Time: %s\n\n" +
-                "We look forward to seeing you there!\n\n" +
-                "Best regards,\n" +
-                "The Eventory Team",
-                username, eventName, eventTime.format(DATE_FORMATTER));
-        
-        message.setText(body);
-        mailSender.send(message);
+    @Transactional
+    public void sendRegistrationConfirmation(String to, String username, Event event) {
+        RenderedEventMail mail = renderer.render(MailTemplates.REGISTRATION_CONFIRMATION, event, Map.of());
+        storeInvite(mail);
+        outboxRepository.save(mail.toMessage(to, username));
     }
-} 
\ No newline at end of file
+
+    @Override
+    @Transactional
+    public void sendEventReminders(List<RecipientView> recipients, Event event, Duration startsIn) {
+        RenderedEventMail mail = renderer.render(MailTemplates.EVENT_REMINDER, event, Map.of("startsIn", describe(startsIn)));
+        storeInvite(mail);
+        List<EmailOutboxMessage> messages = new ArrayList<>(recipients.size());
+        for (RecipientView recipient : recipients) {
+            messages.add(mail.toMessage(recipient.getEmail(), recipient.getUsername()));
+        }
+        outboxRepository.saveAll(messages);
+    }
+
+    @Override
+    @Transactional
+    public void sendBroadcast(List<RecipientView> recipients, Event event, UUID broadcastId, String subject, String message) {
+        RenderedEventMail mail = renderer.render(MailTemplates.EVENT_BROADCAST, event,
+                Map.of("subject", subject, "message", message));
+        storeInvite(mail);
+        List<EmailOutboxMessage> messages = new ArrayList<>(recipients.size());
+        for (RecipientView recipient : recipients) {
+            messages.add(mail.toMessage(recipient.getEmail(), recipient.getUsername()).setBroadcastId(broadcastId));
+        }
+        outboxRepository.saveAll(messages);
+    }
+
+    // Once per call, however many messages share it
+    private void storeInvite(RenderedEventMail mail) {
+        EmailAttachment invite = mail.getInvite();
+        attachmentRepository.upsert(invite.getId(), invite.getFilename(), invite.getContentType(),
+                invite.getContent(), LocalDateTime.now());
+    }
+
+    private static String describe(Duration duration) {
+        long hours = duration.toHours();
+        if (hours > 0) {
+            return hours == 1 ? "1 hour" : hours + " hours";
+        }
+        long minutes = duration.toMinutes();
+        return minutes == 1 ? "1 minute" : minutes + " minutes";
+    }
+}
@@ -0,0 +1,221 @@
+package com.mobylab.springbackend.service.impl;
+
+import com.mobylab.springbackend.dto.BroadcastDto;
+import com.mobylab.springbackend.dto.BroadcastRequestDto;
+import com.mobylab.springbackend.dto.mapper.EntityMapper;
+import com.mobylab.springbackend.entity.Event;
+import com.mobylab.springbackend.entity.EventBroadcast;
+import com.mobylab.springbackend.entity.Registration.RegistrationStatus;
+import com.mobylab.springbackend.exception.ResourceNotFoundException;
+import com.mobylab.springbackend.repository.EventBroadcastRepository;
+import com.mobylab.springbackend.repository.EventRepository;
+import com.mobylab.springbackend.repository.RegistrationRepository;
+import com.mobylab.springbackend.repository.projection.RecipientView;
+import com.mobylab.springbackend.service.EmailService;
+import com.mobylab.springbackend.service.EventBroadcastService;
+import com.mobylab.springbackend.service.event.BroadcastQueuedEvent;
+import com.mobylab.springbackend.service.event.EventChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Broadcasts are fanned out over a server-side cursor on the registrations, held open in a
+ * read-only transaction. Each batch is queued in the outbox in a transaction of its own, which
+ * also moves the stored cursor and the counters forward, so progress is visible while the
+ * fan-out runs and a restart resumes from the last committed batch. Recipients who register
+ * after the cursor was opened are not included.
+ */
+@Service
+public class EventBroadcastServiceImpl implements EventBroadcastService {
+
+    private static final Set<RegistrationStatus> DEFAULT_STATUSES = EnumSet.of(RegistrationStatus.CONFIRMED);
+
+    private final EventBroadcastRepository broadcastRepository;
+    private final EventRepository eventRepository;
+    private final RegistrationRepository registrationRepository;
+    private final EmailService emailService;
+    private final EntityMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate cursorTransaction;
+    private final TransactionTemplate batchTransaction;
+    private final int batchSize;
+
+    @Autowired
+    public EventBroadcastServiceImpl(EventBroadcastRepository broadcastRepository,
+                                     EventRepository eventRepository,
+                                     RegistrationRepository registrationRepository,
+                                     EmailService emailService,
+                                     EntityMapper mapper,
+                                     ApplicationEventPublisher eventPublisher,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${broadcasts.batch-size:500}") int batchSize) {
+        this.broadcastRepository = broadcastRepository;
+        this.eventRepository = eventRepository;
+        this.registrationRepository = registrationRepository;
+        this.emailService = emailService;
+        this.mapper = mapper;
+        this.eventPublisher = eventPublisher;
+        this.cursorTransaction = new TransactionTemplate(transactionManager);
+        this.cursorTransaction.setReadOnly(true);
+        // Batches commit on their own while the cursor's transaction stays open
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional
+    public BroadcastDto createBroadcast(UUID eventId, BroadcastRequestDto request) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Event not found with id: " + eventId);
+        }
+        Set<RegistrationStatus> statuses = request.getStatuses() == null || request.getStatuses().isEmpty()
+                ? DEFAULT_STATUSES
+                : request.getStatuses();
+
+        EventBroadcast broadcast = broadcastRepository.save(new EventBroadcast()
+                .setEventId(eventId)
+                .setSubject(request.getSubject().strip())
+                .setMessage(request.getMessage())
+                .setRecipientStatuses(EventBroadcast.joinStatuses(statuses)));
+        eventPublisher.publishEvent(new BroadcastQueuedEvent(broadcast.getId()));
+        return mapper.toDto(broadcast);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BroadcastDto getBroadcast(UUID id) {
+        return broadcastRepository.findById(id)
+                .map(mapper::toDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Broadcast not found with id: " + id));
+    }
+
+    @Override
+    @Transactional
+    public boolean claim(UUID id, String owner, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        return broadcastRepository.claim(id, owner, now, now.plus(lease)) == 1;
+    }
+
+    @Override
+    public boolean fanOut(UUID id, String owner, Duration lease) {
+        EventBroadcast start = batchTransaction.execute(status -> prepare(id, owner));
+        if (start == null) {
+            return false;
+        }
+        Set<RegistrationStatus> statuses = EventBroadcast.parseStatuses(start.getRecipientStatuses());
+
+        Boolean drained = cursorTransaction.execute(status -> {
+            Position position = new Position(start.getCursorRegistrationTime(), start.getCursorRegistrationId());
+            try (Stream<RecipientView> recipients = position.id == null
+                    ? registrationRepository.streamRecipients(start.getEventId(), statuses)
+                    : registrationRepository.streamRecipientsAfter(start.getEventId(), statuses, position.time, position.id)) {
+                List<RecipientView> batch = new ArrayList<>(batchSize);
+                Iterator<RecipientView> iterator = recipients.iterator();
+                while (iterator.hasNext()) {
+                    batch.add(iterator.next());
+                    if (batch.size() == batchSize || !iterator.hasNext()) {
+                        if (!queue(id, owner, lease, position, batch)) {
+                            return false;
+                        }
+                        batch.clear();
+                    }
+                }
+            }
+            return true;
+        });
+        if (!Boolean.TRUE.equals(drained)) {
+            return false;
+        }
+        return Boolean.TRUE.equals(batchTransaction.execute(status -> complete(id, owner)));
+    }
+
+    @EventListener
+    public void onEventChanged(EventChangedEvent change) {
+        if (change.getType() == EventChangedEvent.Type.DELETED) {
+            broadcastRepository.cancelByEventId(change.getEventId(), LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Counts the recipients the first time the broadcast runs and returns it, or null if the node
+     * no longer holds it.
+     */
+    private EventBroadcast prepare(UUID id, String owner) {
+        EventBroadcast broadcast = broadcastRepository.lockOwned(id, owner).orElse(null);
+        if (broadcast != null && broadcast.getTotalRecipients() == null) {
+            broadcast.setTotalRecipients(registrationRepository.countByEvent_IdAndStatusIn(
+                    broadcast.getEventId(), EventBroadcast.parseStatuses(broadcast.getRecipientStatuses())));
+        }
+        return broadcast;
+    }
+
+    /**
+     * Queues one batch and moves the cursor past it, in a transaction of its own. Returns false if
+     * the node lost the broadcast, or another node already moved it past this position.
+     */
+    private boolean queue(UUID id, String owner, Duration lease, Position position, List<RecipientView> batch) {
+        return Boolean.TRUE.equals(batchTransaction.execute(status -> {
+            EventBroadcast broadcast = broadcastRepository.lockOwned(id, owner).orElse(null);
+            if (broadcast == null || !Objects.equals(broadcast.getCursorRegistrationId(), position.id)) {
+                return false;
+            }
+            Event event = eventRepository.findById(broadcast.getEventId()).orElse(null);
+            if (event == null) {
+                return false;
+            }
+
+            emailService.sendBroadcast(batch, event, id, broadcast.getSubject(), broadcast.getMessage());
+            RecipientView last = batch.get(batch.size() - 1);
+            broadcast.setCursorRegistrationTime(last.getRegistrationTime())
+                    .setCursorRegistrationId(last.getRegistrationId())
+                    .setQueuedCount(broadcast.getQueuedCount() + batch.size())
+                    .setLeaseUntil(LocalDateTime.now().plus(lease));
+            position.time = last.getRegistrationTime();
+            position.id = last.getRegistrationId();
+            return true;
+        }));
+    }
+
+    private boolean complete(UUID id, String owner) {
+        EventBroadcast broadcast = broadcastRepository.lockOwned(id, owner).orElse(null);
+        if (broadcast == null) {
+            return false;
+        }
+        broadcast.setStatus(EventBroadcast.Status.COMPLETED)
+                .setCompletedAt(LocalDateTime.now())
+                .setLeaseOwner(null)
+                .setLeaseUntil(null);
+        return true;
+    }
+
+    // Last registration queued by this fan-out, as the stored cursor should read it
+    private static class Position {
+
+        private LocalDateTime time;
+        private UUID id;
+
+        Position(LocalDateTime time, UUID id) {
+            this.time = time;
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.mobylab.springbackend.service.impl;
+
+import com.mobylab.springbackend.dto.CalendarBucketDto;
+import com.mobylab.springbackend.exception.BadRequestException;
+import com.mobylab.springbackend.repository.EventDayRollupRepository;
+import com.mobylab.springbackend.repository.projection.DayRollupView;
+import com.mobylab.springbackend.service.CalendarGranularity;
+import com.mobylab.springbackend.service.EventCalendarService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Serves the calendar heatmap from the day rollups, so any range up to two years is one index
+ * range scan regardless of how many events it holds.
+ */
+@Service
+public class EventCalendarServiceImpl implements EventCalendarService {
+
+    private static final int MAX_CALENDAR_DAYS = 731;
+
+    private final EventDayRollupRepository rollupRepository;
+
+    @Autowired
+    public EventCalendarServiceImpl(EventDayRollupRepository rollupRepository) {
+        this.rollupRepository = rollupRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CalendarBucketDto> getCalendar(LocalDate from, LocalDate to, CalendarGranularity granularity,
+                                               UUID categoryId) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("Calendar start must not be after its end");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_CALENDAR_DAYS) {
+            throw new BadRequestException("Calendar range must span at most " + MAX_CALENDAR_DAYS + " days");
+        }
+
+        List<DayRollupView> days = categoryId != null
+                ? rollupRepository.findDaysByCategoryId(categoryId, from, to)
+                : rollupRepository.findDays(from, to);
+
+        // Every bucket in the range is returned, empty ones included; a partial first or last
+        // week only counts the days inside the range
+        List<CalendarBucketDto> buckets = new ArrayList<>();
+        for (LocalDate start = bucketStart(from, granularity); !start.isAfter(to); start = nextBucket(start, granularity)) {
+            buckets.add(new CalendarBucketDto(start, 0, 0));
+        }
+        LocalDate first = buckets.get(0).getStart();
+        for (DayRollupView day : days) {
+            long offset = ChronoUnit.DAYS.between(first, day.getStartDay());
+            CalendarBucketDto bucket = buckets.get((int) (granularity == CalendarGranularity.WEEK ? offset / 7 : offset));
+            bucket.setEventsCount(bucket.getEventsCount() + day.getEventsCount());
+            bucket.setSeatsLeft(bucket.getSeatsLeft() + day.getSeatsLeft());
+        }
+        return buckets;
+    }
+
+    private static LocalDate bucketStart(LocalDate day, CalendarGranularity granularity) {
+        return granularity == CalendarGranularity.WEEK
+                ? day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                : day;
+    }
+
+    private static LocalDate nextBucket(LocalDate start, CalendarGranularity granularity) {
+        return granularity == CalendarGranularity.WEEK ? start.plusWeeks(1) : start.plusDays(1);
+    }
+}
@@ -0,0 +1,59 @@
+package com.mobylab.springbackend.service.impl;
+
+import com.mobylab.springbackend.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position in the (start_time, id) ordering of events.
+ */
+final class EventCursor {
+
+    // Sorts before every stored event, so the first page uses the same seek query as the others
+    static final EventCursor START = new EventCursor(LocalDateTime.of(1, 1, 1, 0, 0), new UUID(0L, 0L));
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime startTime;
+    private final UUID id;
+
+    EventCursor(LocalDateTime startTime, UUID id) {
+        this.startTime = startTime;
+        this.id = id;
+    }
+
+    LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    UUID getId() {
+        return id;
+    }
+
+    String encode() {
+        String raw = startTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static EventCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BadRequestException("Invalid cursor: " + cursor);
+            }
+            return new EventCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
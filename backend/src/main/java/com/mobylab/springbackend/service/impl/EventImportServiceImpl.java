@@ -0,0 +1,264 @@
+package com.mobylab.springbackend.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mobylab.springbackend.dto.EventDto;
+import com.mobylab.springbackend.dto.ImportErrorDto;
+import com.mobylab.springbackend.dto.ImportResultDto;
+import com.mobylab.springbackend.dto.LocationDto;
+import com.mobylab.springbackend.entity.Category;
+import com.mobylab.springbackend.entity.User;
+import com.mobylab.springbackend.exception.ResourceNotFoundException;
+import com.mobylab.springbackend.repository.CategoryRepository;
+import com.mobylab.springbackend.repository.UserRepository;
+import com.mobylab.springbackend.service.DataFormat;
+import com.mobylab.springbackend.service.EventImportService;
+import com.mobylab.springbackend.service.event.EventChangedEvent;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Imports events from a stream in chunks. Rows are parsed and validated one at a time, then
+ * inserted with JDBC batches under pre-generated IDs, one transaction per chunk, so memory use
+ * does not depend on the size of the upload. A chunk the database rejects is retried row by row
+ * to find the offending rows. Sharded events get their inventory rows in the same transaction.
+ */
+@Service
+public class EventImportServiceImpl implements EventImportService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventImportServiceImpl.class);
+
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String INSERT_LOCATION = "INSERT INTO project.locations " +
+            "(id, name, address, city, postal_code, country, latitude, longitude) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] LOCATION_TYPES = {Types.OTHER, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.VARCHAR, Types.VARCHAR, Types.DOUBLE, Types.DOUBLE};
+    private static final String INSERT_EVENT = "INSERT INTO project.events " +
+            "(id, title, description, start_time, end_time, max_attendees, inventory_shards, registered_count, " +
+            "organizer_id, category_id, location_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?, ?, ?)";
+    private static final int[] EVENT_TYPES = {Types.OTHER, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP,
+            Types.TIMESTAMP, Types.INTEGER, Types.INTEGER, Types.OTHER, Types.OTHER, Types.OTHER, Types.TIMESTAMP,
+            Types.TIMESTAMP};
+
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardedSeatInventory seatInventory;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public EventImportServiceImpl(UserRepository userRepository,
+                                  CategoryRepository categoryRepository,
+                                  JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  ShardedSeatInventory seatInventory,
+                                  Validator validator,
+                                  ObjectMapper objectMapper,
+                                  ApplicationEventPublisher eventPublisher) {
+        this.userRepository = userRepository;
+        this.categoryRepository = categoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.seatInventory = seatInventory;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public ImportResultDto importEvents(InputStream input, DataFormat format, UUID organizerId) {
+        User organizer = userRepository.findById(organizerId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + organizerId));
+
+        // Categories are few; resolve them once instead of per row
+        Map<UUID, Category> categoriesById = new HashMap<>();
+        Map<String, Category> categoriesByName = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            categoriesById.put(category.getId(), category);
+            categoriesByName.put(category.getName().toLowerCase(Locale.ROOT), category);
+        }
+
+        ImportResultDto result = new ImportResultDto();
+        List<PendingEvent> chunk = new ArrayList<>(CHUNK_SIZE);
+        long lastRow = 0;
+        try (EventRowReader reader = format == DataFormat.CSV
+                ? new CsvEventRowReader(input)
+                : new NdjsonEventRowReader(input, objectMapper)) {
+            EventRowReader.Row row;
+            while ((row = reader.next()) != null) {
+                lastRow = row.getNumber();
+                if (row.getError() != null) {
+                    reportError(result, row.getNumber(), row.getError());
+                    continue;
+                }
+
+                EventDto event = row.getEvent();
+                String error = validate(event);
+                Category category = error == null ? resolveCategory(event, categoriesById, categoriesByName) : null;
+                if (error == null && (event.getCategoryId() != null || event.getCategoryName() != null) && category == null) {
+                    error = "Unknown category: " + (event.getCategoryId() != null ? event.getCategoryId() : event.getCategoryName());
+                }
+                if (error != null) {
+                    reportError(result, row.getNumber(), error);
+                    continue;
+                }
+
+                chunk.add(new PendingEvent(row.getNumber(), prepare(event, organizer, category)));
+                if (chunk.size() == CHUNK_SIZE) {
+                    flush(chunk, result);
+                    chunk.clear();
+                }
+            }
+            flush(chunk, result);
+        } catch (IOException e) {
+            // Chunks already flushed stay imported; the rest of the upload is reported as lost
+            flush(chunk, result);
+            reportError(result, lastRow + 1, "Import stopped, could not read the upload: " + e.getMessage());
+        }
+
+        LOGGER.info("Imported {} events for organizer {}, {} rows failed", result.getImported(), organizerId,
+                result.getFailed());
+        return result;
+    }
+
+    private String validate(EventDto event) {
+        Set<ConstraintViolation<EventDto>> violations = validator.validate(event);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private Category resolveCategory(EventDto event, Map<UUID, Category> byId, Map<String, Category> byName) {
+        if (event.getCategoryId() != null) {
+            return byId.get(event.getCategoryId());
+        }
+        if (event.getCategoryName() != null) {
+            return byName.get(event.getCategoryName().toLowerCase(Locale.ROOT));
+        }
+        return null;
+    }
+
+    /**
+     * Completes the row into the event as it will be stored, with IDs generated up front.
+     */
+    private EventDto prepare(EventDto event, User organizer, Category category) {
+        LocalDateTime now = LocalDateTime.now();
+        event.setId(UUID.randomUUID());
+        event.setOrganizerId(organizer.getId());
+        event.setOrganizerName(organizer.getUsername());
+        event.setCategoryId(category != null ? category.getId() : null);
+        event.setCategoryName(category != null ? category.getName() : null);
+        event.setCreatedAt(now);
+        event.setUpdatedAt(now);
+        event.setRegistrationsCount(0L);
+        if (event.getLocation() != null) {
+            event.getLocation().setId(UUID.randomUUID());
+        }
+        return event;
+    }
+
+    private void flush(List<PendingEvent> chunk, ImportResultDto result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(chunk));
+            result.setImported(result.getImported() + chunk.size());
+        } catch (DataAccessException e) {
+            LOGGER.debug("Import chunk rejected, retrying its rows one by one", e);
+            for (PendingEvent pending : chunk) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(pending)));
+                    result.setImported(result.getImported() + 1);
+                } catch (DataAccessException rowFailure) {
+                    reportError(result, pending.row, NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage());
+                }
+            }
+        }
+    }
+
+    private void insert(List<PendingEvent> chunk) {
+        List<Object[]> locations = new ArrayList<>();
+        List<Object[]> events = new ArrayList<>(chunk.size());
+        for (PendingEvent pending : chunk) {
+            EventDto event = pending.event;
+            LocationDto location = event.getLocation();
+            if (location != null) {
+                locations.add(new Object[]{location.getId(), location.getName(), location.getAddress(),
+                        location.getCity(), location.getPostalCode(), location.getCountry(),
+                        location.getLatitude(), location.getLongitude()});
+            }
+            events.add(new Object[]{event.getId(), event.getTitle(), event.getDescription(), event.getStartTime(),
+                    event.getEndTime(), event.getMaxAttendees(), event.getInventoryShards(), event.getOrganizerId(),
+                    event.getCategoryId(), location != null ? location.getId() : null, event.getCreatedAt(),
+                    event.getUpdatedAt()});
+        }
+
+        if (!locations.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_LOCATION, locations, LOCATION_TYPES);
+        }
+        jdbcTemplate.batchUpdate(INSERT_EVENT, events, EVENT_TYPES);
+
+        for (PendingEvent pending : chunk) {
+            EventDto event = pending.event;
+            if (ShardedSeatInventory.isSharded(event.getMaxAttendees(), event.getInventoryShards())) {
+                seatInventory.configure(event.getId(), event.getMaxAttendees(), event.getInventoryShards());
+            }
+        }
+
+        // Delivered to the index and cache listeners only if this chunk commits
+        for (PendingEvent pending : chunk) {
+            eventPublisher.publishEvent(EventChangedEvent.created(pending.event));
+        }
+    }
+
+    private static void reportError(ImportResultDto result, long row, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new ImportErrorDto(row, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private static final class PendingEvent {
+        private final long row;
+        private final EventDto event;
+
+        private PendingEvent(long row, EventDto event) {
+            this.row = row;
+            this.event = event;
+        }
+    }
+}
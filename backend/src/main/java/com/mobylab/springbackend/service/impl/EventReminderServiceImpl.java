@@ -0,0 +1,196 @@
+package com.mobylab.springbackend.service.impl;
+
+import com.mobylab.springbackend.dto.EventDto;
+import com.mobylab.springbackend.entity.Event;
+import com.mobylab.springbackend.entity.EventReminder;
+import com.mobylab.springbackend.repository.EventReminderRepository;
+import com.mobylab.springbackend.repository.EventRepository;
+import com.mobylab.springbackend.repository.RegistrationRepository;
+import com.mobylab.springbackend.repository.projection.RecipientView;
+import com.mobylab.springbackend.service.EmailService;
+import com.mobylab.springbackend.service.EventReminderService;
+import com.mobylab.springbackend.service.event.EventChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+
+@Service
+public class EventReminderServiceImpl implements EventReminderService {
+
+    // A new start time starts the reminder over; anything else leaves its progress alone
+    private static final String UPSERT = "INSERT INTO project.event_reminders AS r " +
+            "(event_id, kind, due_at, status, sent_count) VALUES (?, ?, ?, ?, 0) " +
+            "ON CONFLICT (event_id, kind) DO UPDATE SET due_at = EXCLUDED.due_at, status = EXCLUDED.status, " +
+            "sent_count = 0, cursor_registration_time = NULL, cursor_registration_id = NULL, " +
+            "lease_owner = NULL, lease_until = NULL, completed_at = NULL " +
+            "WHERE r.due_at <> EXCLUDED.due_at";
+    private static final int[] UPSERT_TYPES = {Types.OTHER, Types.VARCHAR, Types.TIMESTAMP, Types.VARCHAR};
+
+    private final EventReminderRepository reminderRepository;
+    private final EventRepository eventRepository;
+    private final RegistrationRepository registrationRepository;
+    private final EmailService emailService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    @Autowired
+    public EventReminderServiceImpl(EventReminderRepository reminderRepository,
+                                    EventRepository eventRepository,
+                                    RegistrationRepository registrationRepository,
+                                    EmailService emailService,
+                                    JdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate,
+                                    @Value("${reminders.chunk-size:500}") int chunkSize) {
+        this.reminderRepository = reminderRepository;
+        this.eventRepository = eventRepository;
+        this.registrationRepository = registrationRepository;
+        this.emailService = emailService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    @Transactional
+    public int scheduleMissingReminders() {
+        LocalDateTime now = LocalDateTime.now();
+        int created = 0;
+        for (EventReminder.Kind kind : EventReminder.Kind.values()) {
+            created += reminderRepository.insertMissing(kind.name(), kind.getLead().toSeconds(), now);
+        }
+        return created;
+    }
+
+    @Override
+    @Transactional
+    public boolean claim(UUID eventId, EventReminder.Kind kind, String owner, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        return reminderRepository.claim(eventId, kind.name(), owner, now, now.plus(lease)) == 1;
+    }
+
+    @Override
+    @Transactional
+    public boolean sendNextChunk(UUID eventId, EventReminder.Kind kind, String owner, Duration lease) {
+        // The row lock serializes chunks, so a node that lost its lease mid-chunk cannot send the
+        // same recipients as the node that took over
+        EventReminder reminder = reminderRepository.lockOwned(eventId, kind, owner).orElse(null);
+        if (reminder == null) {
+            return false;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Event event = eventRepository.findById(eventId).orElse(null);
+        if (event == null || !event.getStartTime().isAfter(now)) {
+            complete(reminder, EventReminder.Status.SKIPPED, now);
+            return false;
+        }
+
+        List<RecipientView> recipients = reminder.getCursorRegistrationId() == null
+                ? registrationRepository.findReminderRecipients(eventId, Limit.of(chunkSize))
+                : registrationRepository.findReminderRecipientsAfter(eventId, reminder.getCursorRegistrationTime(),
+                        reminder.getCursorRegistrationId(), Limit.of(chunkSize));
+        if (!recipients.isEmpty()) {
+            emailService.sendEventReminders(recipients, event, kind.getLead());
+            RecipientView last = recipients.get(recipients.size() - 1);
+            reminder.setCursorRegistrationTime(last.getRegistrationTime())
+                    .setCursorRegistrationId(last.getRegistrationId())
+                    .setSentCount(reminder.getSentCount() + recipients.size())
+                    .setLeaseUntil(now.plus(lease));
+        }
+        if (recipients.size() < chunkSize) {
+            complete(reminder, EventReminder.Status.SENT, now);
+            return false;
+        }
+        return true;
+    }
+
+    @EventListener
+    public void onEventChanged(EventChangedEvent change) {
+        if (change.getType() == EventChangedEvent.Type.DELETED) {
+            reminderRepository.deleteByEventId(change.getEventId());
+            return;
+        }
+        EventDto previous = change.getPrevious();
+        EventDto current = change.getCurrent();
+        if (previous != null && Objects.equals(previous.getStartTime(), current.getStartTime())) {
+            return;
+        }
+        Map<UUID, LocalDateTime> pending = pending();
+        pending.put(current.getId(), current.getStartTime());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionTemplate.executeWithoutResult(status -> schedule(pending));
+        }
+    }
+
+    private void complete(EventReminder reminder, EventReminder.Status status, LocalDateTime now) {
+        reminder.setStatus(status)
+                .setCompletedAt(now)
+                .setLeaseOwner(null)
+                .setLeaseUntil(null);
+    }
+
+    /**
+     * Start times of the events changed by the current transaction, scheduled as one batch just
+     * before it commits so a bulk import costs one batch per chunk.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<UUID, LocalDateTime> pending() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new TreeMap<>();
+        }
+        Map<UUID, LocalDateTime> pending = (Map<UUID, LocalDateTime>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            // Sorted so two transactions rescheduling the same events lock their rows in the same order
+            Map<UUID, LocalDateTime> bound = new TreeMap<>();
+            TransactionSynchronizationManager.bindResource(this, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    schedule(bound);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(EventReminderServiceImpl.this);
+                }
+            });
+            pending = bound;
+        }
+        return pending;
+    }
+
+    private void schedule(Map<UUID, LocalDateTime> startTimes) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(startTimes.size() * EventReminder.Kind.values().length);
+        startTimes.forEach((eventId, startTime) -> {
+            for (EventReminder.Kind kind : EventReminder.Kind.values()) {
+                LocalDateTime dueAt = startTime.minus(kind.getLead());
+                // Too late for this reminder to say anything true
+                EventReminder.Status status = dueAt.isBefore(now) ? EventReminder.Status.SKIPPED : EventReminder.Status.PENDING;
+                rows.add(new Object[]{eventId, kind.name(), Timestamp.valueOf(dueAt), status.name()});
+            }
+        });
+        startTimes.clear();
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT, rows, UPSERT_TYPES);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.mobylab.springbackend.service.impl;
+
+import com.mobylab.springbackend.dto.EventDto;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads events one row at a time from an uploaded file, holding only the current row in memory.
+ */
+interface EventRowReader extends Closeable {
+
+    /**
+     * Returns the next row, or null at the end of the input. Rows that cannot be parsed are
+     * returned with an error instead of an event.
+     */
+    Row next() throws IOException;
+
+    final class Row {
+        private final long number;
+        private final EventDto event;
+        private final String error;
+
+        private Row(long number, EventDto event, String error) {
+            this.number = number;
+            this.event = event;
+            this.error = error;
+        }
+
+        static Row parsed(long number, EventDto event) {
+            return new Row(number, event, null);
+        }
+
+        static Row failed(long number, String error) {
+            return new Row(number, null, error);
+        }
+
+        long getNumber() {
+            return number;
+        }
+
+        EventDto getEvent() {
+            return event;
+        }
+
+        String getError() {
+            return error;
+        }
+    }
+}
@@ -1,41 +1,102 @@
 package com.mobylab.springbackend.service.impl;
 
+import com.mobylab.springbackend.cache.EventCache;
+import com.mobylab.springbackend.cache.TotalCountCache;
+import com.mobylab.springbackend.dto.CursorPageResponseDto;
 import com.mobylab.springbackend.dto.EventDto;
+import com.mobylab.springbackend.dto.EventFilterDto;
+import com.mobylab.springbackend.dto.EventFilterResultDto;
+import com.mobylab.springbackend.dto.EventSearchResultDto;
+import com.mobylab.springbackend.dto.NearbyEventDto;
 import com.mobylab.springbackend.dto.PageResponseDto;
+import com.mobylab.springbackend.dto.SuggestionDto;
 import com.mobylab.springbackend.dto.mapper.EntityMapper;
+import com.mobylab.springbackend.entity.Category;
 import com.mobylab.springbackend.entity.Event;
 import com.mobylab.springbackend.entity.User;
+import com.mobylab.springbackend.exception.BadRequestException;
 import com.mobylab.springbackend.exception.ResourceNotFoundException;
+import com.mobylab.springbackend.index.EventFacetIndex;
+import com.mobylab.springbackend.index.EventGeoIndex;
+import com.mobylab.springbackend.index.EventIndexMaintainer;
+import com.mobylab.springbackend.index.EventSearchIndex;
+import com.mobylab.springbackend.index.EventSuggestIndex;
+import com.mobylab.springbackend.index.EventTimeIndex;
+import com.mobylab.springbackend.index.UpcomingEventsWindow;
+import com.mobylab.springbackend.repository.CategoryRepository;
 import com.mobylab.springbackend.repository.EventRepository;
 import com.mobylab.springbackend.repository.UserRepository;
+import com.mobylab.springbackend.repository.projection.EventView;
 import com.mobylab.springbackend.service.EventService;
+import com.mobylab.springbackend.service.event.EventChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class EventServiceImpl implements EventService {
 
+    private static final int MAX_SCROLL_SIZE = 100;
+    private static final int MAX_WINDOW_SIZE = 500;
+
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
     private final EntityMapper mapper;
+    private final TotalCountCache totalCountCache;
+    private final EventCache eventCache;
+    private final EventSearchIndex searchIndex;
+    private final EventSuggestIndex suggestIndex;
+    private final EventGeoIndex geoIndex;
+    private final EventTimeIndex timeIndex;
+    private final UpcomingEventsWindow upcomingWindow;
+    private final EventFacetIndex facetIndex;
+    private final EventIndexMaintainer indexMaintainer;
+    private final ShardedSeatInventory seatInventory;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public EventServiceImpl(EventRepository eventRepository, 
                            UserRepository userRepository,
-                           EntityMapper mapper) {
+                           CategoryRepository categoryRepository,
+                           EntityMapper mapper,
+                           TotalCountCache totalCountCache,
+                           EventCache eventCache,
+                           EventSearchIndex searchIndex,
+                           EventSuggestIndex suggestIndex,
+                           EventGeoIndex geoIndex,
+                           EventTimeIndex timeIndex,
+                           UpcomingEventsWindow upcomingWindow,
+                           EventFacetIndex facetIndex,
+                           EventIndexMaintainer indexMaintainer,
+                           ShardedSeatInventory seatInventory,
+                           ApplicationEventPublisher eventPublisher) {
         this.eventRepository = eventRepository;
         this.userRepository = userRepository;
+        this.categoryRepository = categoryRepository;
         this.mapper = mapper;
+        this.totalCountCache = totalCountCache;
+        this.eventCache = eventCache;
+        this.searchIndex = searchIndex;
+        this.suggestIndex = suggestIndex;
+        this.geoIndex = geoIndex;
+        this.timeIndex = timeIndex;
+        this.upcomingWindow = upcomingWindow;
+        this.facetIndex = facetIndex;
+        this.indexMaintainer = indexMaintainer;
+        this.seatInventory = seatInventory;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -48,70 +109,215 @@ public class EventServiceImpl implements EventService {
         event.setOrganizer(organizer);
         
         Event savedEvent = eventRepository.save(event);
-        return mapper.toDto(savedEvent);
+        if (ShardedSeatInventory.isSharded(savedEvent.getMaxAttendees(), savedEvent.getInventoryShards())) {
+            eventRepository.flush();
+            seatInventory.configure(savedEvent.getId(), savedEvent.getMaxAttendees(), savedEvent.getInventoryShards());
+        }
+        EventDto createdEvent = mapper.toDto(savedEvent);
+        eventPublisher.publishEvent(EventChangedEvent.created(createdEvent));
+        return createdEvent;
     }
 
     @Override
-    @Transactional(readOnly = true)
     public EventDto getEvent(UUID id) {
-        Event event = eventRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + id));
-        return mapper.toDto(event);
+        EventDto event = eventCache.get(id);
+        if (event == null) {
+            throw new ResourceNotFoundException("Event not found with id: " + id);
+        }
+        return event;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponseDto<EventDto> getAllEvents(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("startTime").ascending());
-        Page<Event> eventPage = eventRepository.findAll(pageable);
+    public PageResponseDto<EventDto> getAllEvents(int page, int size, boolean withTotal) {
+        Slice<EventView> eventSlice = eventRepository.findViews(PageRequest.of(page, size));
         
-        List<EventDto> eventDtos = eventPage.getContent().stream()
-                .map(mapper::toDto)
-                .collect(Collectors.toList());
+        return totalCountCache.toPage(mapper.toEventDtoList(eventSlice.getContent()), eventSlice, withTotal,
+                "events", eventRepository::count);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponseDto<EventDto> getEventsByOrganizer(UUID organizerId, int page, int size, boolean withTotal) {
+        if (!userRepository.existsById(organizerId)) {
+            throw new ResourceNotFoundException("User not found with id: " + organizerId);
+        }
+        
+        Slice<EventView> eventSlice = eventRepository.findViewsByOrganizerId(organizerId, PageRequest.of(page, size));
         
-        return new PageResponseDto<>(eventDtos, eventPage);
+        return totalCountCache.toPage(mapper.toEventDtoList(eventSlice.getContent()), eventSlice, withTotal,
+                "events:organizer:" + organizerId, () -> eventRepository.countByOrganizerId(organizerId));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponseDto<EventDto> getEventsByOrganizer(UUID organizerId, int page, int size) {
-        User organizer = userRepository.findById(organizerId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + organizerId));
+    public PageResponseDto<EventDto> getEventsByCategory(UUID categoryId, int page, int size, boolean withTotal) {
+        Slice<EventView> eventSlice = eventRepository.findViewsByCategoryId(categoryId, PageRequest.of(page, size));
         
-        Pageable pageable = PageRequest.of(page, size, Sort.by("startTime").ascending());
-        Page<Event> eventPage = eventRepository.findByOrganizer(organizer, pageable);
+        return totalCountCache.toPage(mapper.toEventDtoList(eventSlice.getContent()), eventSlice, withTotal,
+                "events:category:" + categoryId, () -> eventRepository.countByCategoryId(categoryId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponseDto<EventSearchResultDto> searchEvents(String query, int page, int size, boolean withTotal) {
+        if (page < 0 || size < 1 || size > MAX_SCROLL_SIZE) {
+            throw new BadRequestException("Page must not be negative and size must be between 1 and " + MAX_SCROLL_SIZE);
+        }
+        if ((long) (page + 1) * size > EventSearchIndex.MAX_RESULT_WINDOW) {
+            throw new BadRequestException("Search results are limited to the first " + EventSearchIndex.MAX_RESULT_WINDOW + " matches");
+        }
+        EventSearchIndex.SearchResult result = searchIndex.search(query, page, size, withTotal);
+        
+        // The index only ranks; the page of events itself is loaded by primary key
+        List<UUID> eventIds = result.getHits().stream()
+                .map(EventSearchIndex.Hit::getEventId)
+                .collect(Collectors.toList());
+        Map<UUID, EventView> events = eventRepository.findViewsByIdIn(eventIds).stream()
+                .collect(Collectors.toMap(EventView::getId, Function.identity()));
         
-        List<EventDto> eventDtos = eventPage.getContent().stream()
-                .map(mapper::toDto)
+        List<EventSearchResultDto> content = result.getHits().stream()
+                .filter(hit -> events.containsKey(hit.getEventId()))
+                .map(hit -> new EventSearchResultDto(mapper.toDto(events.get(hit.getEventId())), hit.getScore(), hit.getHighlights()))
                 .collect(Collectors.toList());
         
-        return new PageResponseDto<>(eventDtos, eventPage);
+        return new PageResponseDto<>(content, page, size, result.getTotalHits(), result.isTotalExact());
+    }
+
+    @Override
+    public List<SuggestionDto> suggestEvents(String prefix, int limit) {
+        if (limit < 1 || limit > EventSuggestIndex.MAX_SUGGESTIONS) {
+            throw new BadRequestException("Limit must be between 1 and " + EventSuggestIndex.MAX_SUGGESTIONS);
+        }
+        return suggestIndex.suggest(prefix, limit);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponseDto<EventDto> getEventsByCategory(UUID categoryId, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("startTime").ascending());
-        Page<Event> eventPage = eventRepository.findByCategoryId(categoryId, pageable);
+    public List<NearbyEventDto> getEventsNear(double latitude, double longitude, double radiusKm,
+                                              LocalDateTime from, LocalDateTime to, UUID categoryId, int limit) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new BadRequestException("Latitude must be between -90 and 90 and longitude between -180 and 180");
+        }
+        if (radiusKm <= 0 || radiusKm > EventGeoIndex.MAX_RADIUS_KM) {
+            throw new BadRequestException("Radius must be greater than 0 and at most " + EventGeoIndex.MAX_RADIUS_KM + " km");
+        }
+        if (limit < 1 || limit > MAX_SCROLL_SIZE) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_SCROLL_SIZE);
+        }
         
-        List<EventDto> eventDtos = eventPage.getContent().stream()
-                .map(mapper::toDto)
+        LocalDateTime startingFrom = from != null ? from : LocalDateTime.now();
+        List<EventGeoIndex.Hit> hits = geoIndex.near(latitude, longitude, radiusKm, startingFrom, to, categoryId, limit);
+        
+        List<UUID> eventIds = hits.stream()
+                .map(EventGeoIndex.Hit::getEventId)
                 .collect(Collectors.toList());
+        Map<UUID, EventView> events = eventRepository.findViewsByIdIn(eventIds).stream()
+                .collect(Collectors.toMap(EventView::getId, Function.identity()));
         
-        return new PageResponseDto<>(eventDtos, eventPage);
+        return hits.stream()
+                .filter(hit -> events.containsKey(hit.getEventId()))
+                .map(hit -> new NearbyEventDto(mapper.toDto(events.get(hit.getEventId())), hit.getDistanceKm()))
+                .collect(Collectors.toList());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponseDto<EventDto> searchEvents(String query, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("startTime").ascending());
-        Page<Event> eventPage = eventRepository.findByTitleContainingIgnoreCase(query, pageable);
+    public List<EventDto> getEventsInWindow(LocalDateTime from, LocalDateTime to, int limit) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("Window start must not be after its end");
+        }
+        if (limit < 1 || limit > MAX_WINDOW_SIZE) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_WINDOW_SIZE);
+        }
+        
+        List<UUID> eventIds = timeIndex.overlapping(from, to, limit);
+        Map<UUID, EventView> events = eventRepository.findViewsByIdIn(eventIds).stream()
+                .collect(Collectors.toMap(EventView::getId, Function.identity()));
         
-        List<EventDto> eventDtos = eventPage.getContent().stream()
-                .map(mapper::toDto)
+        return eventIds.stream()
+                .filter(events::containsKey)
+                .map(eventId -> mapper.toDto(events.get(eventId)))
                 .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EventFilterResultDto filterEvents(EventFilterDto filter, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_SCROLL_SIZE) {
+            throw new BadRequestException("Page must not be negative and size must be between 1 and " + MAX_SCROLL_SIZE);
+        }
+        
+        EventFacetIndex.FilterResult result = facetIndex.filter(filter, page, size);
+        Map<UUID, EventView> events = eventRepository.findViewsByIdIn(result.getEventIds()).stream()
+                .collect(Collectors.toMap(EventView::getId, Function.identity()));
+        
+        List<EventDto> content = result.getEventIds().stream()
+                .filter(events::containsKey)
+                .map(eventId -> mapper.toDto(events.get(eventId)))
+                .collect(Collectors.toList());
+        
+        return new EventFilterResultDto(new PageResponseDto<>(content, page, size, result.getTotalMatches(), true),
+                result.getFacets());
+    }
+
+    @Override
+    public long rebuildSearchIndex() {
+        return indexMaintainer.rebuild(List.of(searchIndex));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<EventDto> scrollEvents(String after, int size) {
+        validateScrollSize(size);
+        EventCursor cursor = EventCursor.decode(after);
+        List<EventView> events = eventRepository.findViewsAfter(cursor.getStartTime(), cursor.getId(), size + 1);
+        
+        return toCursorPage(events, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<EventDto> scrollEventsByOrganizer(UUID organizerId, String after, int size) {
+        validateScrollSize(size);
+        if (!userRepository.existsById(organizerId)) {
+            throw new ResourceNotFoundException("User not found with id: " + organizerId);
+        }
+        
+        EventCursor cursor = EventCursor.decode(after);
+        List<EventView> events = eventRepository.findViewsByOrganizerAfter(organizerId, cursor.getStartTime(), cursor.getId(), size + 1);
         
-        return new PageResponseDto<>(eventDtos, eventPage);
+        return toCursorPage(events, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<EventDto> scrollEventsByCategory(UUID categoryId, String after, int size) {
+        validateScrollSize(size);
+        EventCursor cursor = EventCursor.decode(after);
+        List<EventView> events = eventRepository.findViewsByCategoryAfter(categoryId, cursor.getStartTime(), cursor.getId(), size + 1);
+        
+        return toCursorPage(events, size);
+    }
+
+    private void validateScrollSize(int size) {
+        if (size < 1 || size > MAX_SCROLL_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_SCROLL_SIZE);
+        }
+    }
+
+    // The queries fetch one extra row, which only tells whether another page exists
+    private CursorPageResponseDto<EventDto> toCursorPage(List<EventView> events, int size) {
+        boolean hasNext = events.size() > size;
+        List<EventView> pageContent = hasNext ? events.subList(0, size) : events;
+        
+        String nextCursor = null;
+        if (hasNext) {
+            EventView last = pageContent.get(pageContent.size() - 1);
+            nextCursor = new EventCursor(last.getStartTime(), last.getId()).encode();
+        }
+        
+        return new CursorPageResponseDto<>(mapper.toEventDtoList(pageContent), size, nextCursor);
     }
 
     @Override
@@ -119,13 +325,24 @@ public class EventServiceImpl implements EventService {
     public EventDto updateEvent(UUID id, EventDto eventDto) {
         Event existingEvent = eventRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + id));
+        EventDto previousEvent = mapper.toDto(existingEvent);
         
         // Update fields
         existingEvent.setTitle(eventDto.getTitle());
         existingEvent.setDescription(eventDto.getDescription());
         existingEvent.setStartTime(eventDto.getStartTime());
         existingEvent.setEndTime(eventDto.getEndTime());
+        boolean inventoryChanged = !Objects.equals(existingEvent.getMaxAttendees(), eventDto.getMaxAttendees())
+                || !Objects.equals(existingEvent.getInventoryShards(), eventDto.getInventoryShards());
         existingEvent.setMaxAttendees(eventDto.getMaxAttendees());
+        existingEvent.setInventoryShards(eventDto.getInventoryShards());
+
+        UUID currentCategoryId = existingEvent.getCategory() != null ? existingEvent.getCategory().getId() : null;
+        if (eventDto.getCategoryId() != null && !eventDto.getCategoryId().equals(currentCategoryId)) {
+            Category category = categoryRepository.findById(eventDto.getCategoryId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + eventDto.getCategoryId()));
+            existingEvent.setCategory(category);
+        }
         
         // Update location if provided
         if (eventDto.getLocation() != null) {
@@ -143,7 +360,12 @@ public class EventServiceImpl implements EventService {
         }
         
         Event updatedEvent = eventRepository.save(existingEvent);
-        return mapper.toDto(updatedEvent);
+        if (inventoryChanged) {
+            seatInventory.configure(id, updatedEvent.getMaxAttendees(), updatedEvent.getInventoryShards());
+        }
+        EventDto updatedEventDto = mapper.toDto(updatedEvent);
+        eventPublisher.publishEvent(EventChangedEvent.updated(previousEvent, updatedEventDto));
+        return updatedEventDto;
     }
 
     @Override
@@ -151,18 +373,15 @@ public class EventServiceImpl implements EventService {
     public void deleteEvent(UUID id) {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + id));
+        EventDto deletedEvent = mapper.toDto(event);
         
+        seatInventory.remove(id);
         eventRepository.delete(event);
+        eventPublisher.publishEvent(EventChangedEvent.deleted(deletedEvent));
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<EventDto> getUpcomingEvents() {
-        LocalDateTime now = LocalDateTime.now();
-        List<Event> upcomingEvents = eventRepository.findTop5ByStartTimeAfterOrderByStartTimeAsc(now);
-        
-        return upcomingEvents.stream()
-                .map(mapper::toDto)
-                .collect(Collectors.toList());
+        return upcomingWindow.upcoming();
     }
 } 
\ No newline at end of file
@@ -1,5 +1,11 @@
 package com.mobylab.springbackend.service.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mobylab.springbackend.cache.SeatGate;
+import com.mobylab.springbackend.cache.TotalCountCache;
+import com.mobylab.springbackend.cache.WaitlistPositions;
+import com.mobylab.springbackend.dto.CounterDriftDto;
 import com.mobylab.springbackend.dto.PageResponseDto;
 import com.mobylab.springbackend.dto.RegistrationDto;
 import com.mobylab.springbackend.dto.mapper.EntityMapper;
@@ -10,48 +16,105 @@ import com.mobylab.springbackend.entity.User;
 import com.mobylab.springbackend.exception.BadRequestException;
 import com.mobylab.springbackend.exception.ResourceAlreadyExistsException;
 import com.mobylab.springbackend.exception.ResourceNotFoundException;
+import com.mobylab.springbackend.index.EventDayRollupMaintainer;
 import com.mobylab.springbackend.repository.EventRepository;
 import com.mobylab.springbackend.repository.RegistrationRepository;
 import com.mobylab.springbackend.repository.UserRepository;
+import com.mobylab.springbackend.repository.projection.AttendeeView;
+import com.mobylab.springbackend.service.DataFormat;
 import com.mobylab.springbackend.service.EmailService;
 import com.mobylab.springbackend.service.RegistrationService;
+import com.mobylab.springbackend.service.event.RegisteredCountsRecomputedEvent;
+import com.mobylab.springbackend.service.event.RegistrationChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class RegistrationServiceImpl implements RegistrationService {
 
+    private static final int PROMOTION_BATCH = 100;
+
     private final RegistrationRepository registrationRepository;
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
     private final EntityMapper mapper;
     private final EmailService emailService;
+    private final TotalCountCache totalCountCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final EventDayRollupMaintainer rollupMaintainer;
+    private final SeatGate seatGate;
+    private final ShardedSeatInventory seatInventory;
+    private final WaitlistPositions waitlistPositions;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
     public RegistrationServiceImpl(RegistrationRepository registrationRepository,
                                   UserRepository userRepository,
                                   EventRepository eventRepository,
                                   EntityMapper mapper,
-                                  EmailService emailService) {
+                                  EmailService emailService,
+                                  TotalCountCache totalCountCache,
+                                  ApplicationEventPublisher eventPublisher,
+                                  ObjectMapper objectMapper,
+                                  EventDayRollupMaintainer rollupMaintainer,
+                                  SeatGate seatGate,
+                                  ShardedSeatInventory seatInventory,
+                                  WaitlistPositions waitlistPositions,
+                                  TransactionTemplate transactionTemplate) {
         this.registrationRepository = registrationRepository;
         this.userRepository = userRepository;
         this.eventRepository = eventRepository;
         this.mapper = mapper;
         this.emailService = emailService;
+        this.totalCountCache = totalCountCache;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.rollupMaintainer = rollupMaintainer;
+        this.seatGate = seatGate;
+        this.seatInventory = seatInventory;
+        this.waitlistPositions = waitlistPositions;
+        this.transactionTemplate = transactionTemplate;
     }
 
     @Override
-    @Transactional
-    public RegistrationDto registerForEvent(UUID userId, UUID eventId, String notes) {
+    public RegistrationDto registerForEvent(UUID userId, UUID eventId, String notes, boolean waitlist) {
+        SeatGate.Permit permit = seatGate.tryAcquire(eventId);
+        // Sold-out events are refused from memory, before a connection is taken from the pool
+        if (permit == null && !waitlist) {
+            throw new BadRequestException("Event has reached maximum capacity");
+        }
+        
+        try {
+            return transactionTemplate.execute(status -> register(userId, eventId, notes, permit != null, waitlist));
+        } catch (RuntimeException e) {
+            if (permit != null) {
+                permit.release();
+            }
+            throw e;
+        }
+    }
+
+    private RegistrationDto register(UUID userId, UUID eventId, String notes, boolean admitted, boolean waitlist) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
         
@@ -63,25 +126,38 @@ public class RegistrationServiceImpl implements RegistrationService {
             throw new ResourceAlreadyExistsException("User is already registered for this event");
         }
         
-        // Check if event has reached maximum capacity
-        if (event.getMaxAttendees() != null) {
-            long currentRegistrations = registrationRepository.countByEvent(event);
-            if (currentRegistrations >= event.getMaxAttendees()) {
+        RegistrationStatus status = RegistrationStatus.CONFIRMED;
+        // Seats freed while people are waiting belong to them, so newcomers queue up behind
+        boolean queued = admitted && waitlistPositions.countWaiting(eventId) > 0;
+        if (!admitted || queued || !reserveSeat(event)) {
+            if (admitted) {
+                seatGate.resync(eventId);
+            }
+            if (!waitlist) {
                 throw new BadRequestException("Event has reached maximum capacity");
             }
+            status = RegistrationStatus.WAITLISTED;
         }
         
         // Create new registration
         Registration registration = new Registration();
         registration.setUser(user);
         registration.setEvent(event);
-        registration.setStatus(RegistrationStatus.CONFIRMED);
+        registration.setStatus(status);
         registration.setNotes(notes);
         
         Registration savedRegistration = registrationRepository.save(registration);
+        publishChange(savedRegistration, null);
+        
+        if (status == RegistrationStatus.WAITLISTED) {
+            // Not in the in-memory waitlist until this commits; everyone already waiting is ahead
+            RegistrationDto waiting = mapper.toDto(savedRegistration);
+            waiting.setWaitlistPosition(waitlistPositions.countWaiting(eventId) + 1L);
+            return waiting;
+        }
         
         // Send confirmation email
-        emailService.sendRegistrationConfirmation(user.getEmail(), user.getUsername(), event.getTitle(), event.getStartTime());
+        emailService.sendRegistrationConfirmation(user.getEmail(), user.getUsername(), event);
         
         return mapper.toDto(savedRegistration);
     }
@@ -92,7 +168,7 @@ public class RegistrationServiceImpl implements RegistrationService {
         Registration registration = registrationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Registration not found with id: " + id));
         
-        return mapper.toDto(registration);
+        return withWaitlistPosition(mapper.toDto(registration));
     }
 
     @Override
@@ -107,39 +183,42 @@ public class RegistrationServiceImpl implements RegistrationService {
         Registration registration = registrationRepository.findByUserAndEvent(user, event)
                 .orElseThrow(() -> new ResourceNotFoundException("Registration not found for user and event"));
         
-        return mapper.toDto(registration);
+        return withWaitlistPosition(mapper.toDto(registration));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponseDto<RegistrationDto> getUserRegistrations(UUID userId, int page, int size) {
+    public PageResponseDto<RegistrationDto> getUserRegistrations(UUID userId, int page, int size, boolean withTotal) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
         
         Pageable pageable = PageRequest.of(page, size, Sort.by("registrationTime").descending());
-        Page<Registration> registrationPage = registrationRepository.findByUser(user, pageable);
+        Slice<Registration> registrationSlice = registrationRepository.findByUser(user, pageable);
         
-        List<RegistrationDto> registrationDtos = registrationPage.getContent().stream()
+        List<RegistrationDto> registrationDtos = registrationSlice.getContent().stream()
                 .map(mapper::toDto)
+                .map(this::withWaitlistPosition)
                 .collect(Collectors.toList());
         
-        return new PageResponseDto<>(registrationDtos, registrationPage);
+        return totalCountCache.toPage(registrationDtos, registrationSlice, withTotal,
+                "registrations:user:" + userId, () -> registrationRepository.countByUser(user));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponseDto<RegistrationDto> getEventRegistrations(UUID eventId, int page, int size) {
+    public PageResponseDto<RegistrationDto> getEventRegistrations(UUID eventId, int page, int size, boolean withTotal) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
         
         Pageable pageable = PageRequest.of(page, size, Sort.by("registrationTime").descending());
-        Page<Registration> registrationPage = registrationRepository.findByEvent(event, pageable);
+        Slice<Registration> registrationSlice = registrationRepository.findByEvent(event, pageable);
         
-        List<RegistrationDto> registrationDtos = registrationPage.getContent().stream()
+        List<RegistrationDto> registrationDtos = registrationSlice.getContent().stream()
                 .map(mapper::toDto)
                 .collect(Collectors.toList());
         
-        return new PageResponseDto<>(registrationDtos, registrationPage);
+        return totalCountCache.toPage(registrationDtos, registrationSlice, withTotal,
+                "registrations:event:" + eventId, () -> registrationRepository.countByEvent(event));
     }
 
     @Override
@@ -148,10 +227,29 @@ public class RegistrationServiceImpl implements RegistrationService {
         Registration registration = registrationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Registration not found with id: " + id));
         
+        RegistrationStatus previousStatus = registration.getStatus();
+        boolean wasActive = previousStatus.holdsSeat();
+        boolean isActive = status.holdsSeat();
+        if (!wasActive && isActive) {
+            UUID eventId = registration.getEvent().getId();
+            SeatGate.Permit permit = seatGate.tryAcquire(eventId);
+            if (permit == null) {
+                throw new BadRequestException("Event has reached maximum capacity");
+            }
+            permit.releaseOnRollback();
+            if (!reserveSeat(registration.getEvent())) {
+                seatGate.resync(eventId);
+                throw new BadRequestException("Event has reached maximum capacity");
+            }
+        } else if (wasActive && !isActive) {
+            releaseSeat(registration.getEvent());
+        }
+        
         registration.setStatus(status);
         Registration updatedRegistration = registrationRepository.save(registration);
+        publishChange(updatedRegistration, previousStatus);
         
-        return mapper.toDto(updatedRegistration);
+        return withWaitlistPosition(mapper.toDto(updatedRegistration));
     }
 
     @Override
@@ -160,8 +258,87 @@ public class RegistrationServiceImpl implements RegistrationService {
         Registration registration = registrationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Registration not found with id: " + id));
         
+        RegistrationStatus previousStatus = registration.getStatus();
+        if (previousStatus == RegistrationStatus.CANCELLED) {
+            return;
+        }
+        
         registration.setStatus(RegistrationStatus.CANCELLED);
         registrationRepository.save(registration);
+        if (previousStatus.holdsSeat()) {
+            releaseSeat(registration.getEvent());
+        }
+        publishChange(registration, previousStatus);
+    }
+
+    @Override
+    @Transactional
+    public int promoteWaitlisted(UUID eventId) {
+        Event event = eventRepository.findById(eventId).orElse(null);
+        if (event == null) {
+            return 0;
+        }
+        
+        // Seats are handed out in join order, a batch of waitlisted rows at a time, until the
+        // waitlist is empty or the event is full again
+        int promoted = 0;
+        List<Registration> batch;
+        promoting:
+        do {
+            batch = registrationRepository.lockNextWaitlisted(eventId, PROMOTION_BATCH);
+            for (Registration registration : batch) {
+                SeatGate.Permit permit = seatGate.tryAcquire(eventId);
+                if (permit == null) {
+                    break promoting;
+                }
+                permit.releaseOnRollback();
+                if (!reserveSeat(event)) {
+                    seatGate.resync(eventId);
+                    break promoting;
+                }
+                
+                registration.setStatus(RegistrationStatus.CONFIRMED);
+                publishChange(registration, RegistrationStatus.WAITLISTED);
+                // Queued in the outbox, so promoted users only hear about it once their seat is committed
+                User user = registration.getUser();
+                emailService.sendRegistrationConfirmation(user.getEmail(), user.getUsername(), event);
+                promoted++;
+            }
+        } while (batch.size() == PROMOTION_BATCH);
+
+        return promoted;
+    }
+
+    /**
+     * Takes a seat atomically: from one of the event's inventory shards if it has them, otherwise
+     * with the conditional update on the event row. Returns false once the event is full.
+     */
+    private boolean reserveSeat(Event event) {
+        if (ShardedSeatInventory.isSharded(event.getMaxAttendees(), event.getInventoryShards())) {
+            return seatInventory.take(event.getId(), event.getInventoryShards());
+        }
+        return eventRepository.reserveSeat(event.getId()) > 0;
+    }
+
+    private void releaseSeat(Event event) {
+        if (ShardedSeatInventory.isSharded(event.getMaxAttendees(), event.getInventoryShards())) {
+            seatInventory.giveBack(event.getId());
+        } else {
+            eventRepository.releaseSeat(event.getId());
+        }
+    }
+
+    private RegistrationDto withWaitlistPosition(RegistrationDto registration) {
+        if (registration.getStatus() == RegistrationStatus.WAITLISTED) {
+            registration.setWaitlistPosition(waitlistPositions.position(registration.getEventId(), registration.getId()));
+        }
+        return registration;
+    }
+
+    private void publishChange(Registration registration, RegistrationStatus previousStatus) {
+        eventPublisher.publishEvent(new RegistrationChangedEvent(registration.getId(),
+                registration.getEvent().getId(), registration.getUser().getId(),
+                previousStatus, registration.getStatus()));
     }
 
     @Override
@@ -192,6 +369,105 @@ public class RegistrationServiceImpl implements RegistrationService {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
         
-        return registrationRepository.countByEvent(event);
+        return event.getRegisteredCount();
+    }
+
+    @Override
+    @Transactional
+    public List<CounterDriftDto> reconcileRegistrationCounters() {
+        List<CounterDriftDto> drift = eventRepository.findRegistrationCounterDrift().stream()
+                .map(row -> new CounterDriftDto(row.getEventId(), row.getStoredCount(), row.getActualCount()))
+                .collect(Collectors.toList());
+        
+        if (!drift.isEmpty()) {
+            // Recompute in SQL rather than writing the values read above, so registrations
+            // committed in the meantime are not overwritten
+            List<UUID> eventIds = drift.stream()
+                    .map(CounterDriftDto::getEventId)
+                    .collect(Collectors.toList());
+            eventRepository.recomputeRegisteredCounts(eventIds);
+            // Seats left in the day rollups were derived from the wrong counters
+            rollupMaintainer.rebuild();
+            // So were the cached events, the seat gate and the in-memory indexes
+            eventPublisher.publishEvent(new RegisteredCountsRecomputedEvent(eventIds));
+        }
+        
+        return drift;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEventRegistrations(UUID eventId, DataFormat format, OutputStream output) throws IOException {
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Event not found with id: " + eventId);
+        }
+        
+        // Rows go straight from the cursor to the response; only the buffers are held in memory
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+        try (Stream<AttendeeView> attendees = registrationRepository.streamAttendeesByEventId(eventId)) {
+            Iterator<AttendeeView> rows = attendees.iterator();
+            if (format == DataFormat.CSV) {
+                writeCsv(rows, writer);
+            } else {
+                writeNdjson(rows, writer);
+            }
+        }
+        writer.flush();
+    }
+
+    private static void writeCsv(Iterator<AttendeeView> rows, Writer writer) throws IOException {
+        writer.write("registrationId,userId,username,email,status,registrationTime,notes\r\n");
+        while (rows.hasNext()) {
+            AttendeeView row = rows.next();
+            writer.write(row.getRegistrationId().toString());
+            writer.write(',');
+            writer.write(row.getUserId().toString());
+            writer.write(',');
+            writer.write(csvField(row.getUsername()));
+            writer.write(',');
+            writer.write(csvField(row.getEmail()));
+            writer.write(',');
+            writer.write(row.getStatus().name());
+            writer.write(',');
+            writer.write(row.getRegistrationTime().toString());
+            writer.write(',');
+            writer.write(csvField(row.getNotes()));
+            writer.write("\r\n");
+        }
+    }
+
+    private void writeNdjson(Iterator<AttendeeView> rows, Writer writer) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        // The generator must not close the response stream when it is done
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        while (rows.hasNext()) {
+            AttendeeView row = rows.next();
+            generator.writeStartObject();
+            generator.writeStringField("registrationId", row.getRegistrationId().toString());
+            generator.writeStringField("userId", row.getUserId().toString());
+            generator.writeStringField("username", row.getUsername());
+            generator.writeStringField("email", row.getEmail());
+            generator.writeStringField("status", row.getStatus().name());
+            generator.writeStringField("registrationTime", row.getRegistrationTime().toString());
+            generator.writeStringField("notes", row.getNotes());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+
+    /**
+     * Quotes the value when needed and defuses leading characters that spreadsheets would
+     * evaluate as a formula.
+     */
+    private static String csvField(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        String safe = "=+-@".indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+        if (safe.indexOf(',') < 0 && safe.indexOf('"') < 0 && safe.indexOf('\n') < 0 && safe.indexOf('\r') < 0) {
+            return safe;
+        }
+        return '"' + safe.replace("\"", "\"\"") + '"';
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,237 @@
+package com.mobylab.springbackend.service.impl;
+
+import com.mobylab.springbackend.entity.EventInventoryShard;
+import com.mobylab.springbackend.repository.EventInventoryShardRepository;
+import com.mobylab.springbackend.repository.EventRepository;
+import com.mobylab.springbackend.repository.projection.EventCapacityView;
+import com.mobylab.springbackend.service.event.RegisteredCountsRecomputedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Free seats of events that spread them over several {@code event_inventory_shards} rows.
+ * Registrants start at a random shard and take the first non-empty one nobody else holds, so
+ * concurrent registrations lock different rows; an event is sold out only once every shard is
+ * empty. Seats coming back go to the emptiest shard.
+ * <p>
+ * Seat changes do not touch the event row. Its {@code registered_count} is recomputed from the
+ * registrations shortly after they commit, which is announced with a
+ * {@link RegisteredCountsRecomputedEvent}, and shards that drained are rebalanced at the same
+ * time so the remaining seats are spread over all rows again.
+ */
+@Component
+class ShardedSeatInventory {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShardedSeatInventory.class);
+
+    private static final String TAKE = "UPDATE project.event_inventory_shards s SET remaining = s.remaining - 1 " +
+            "FROM (SELECT shard_no FROM project.event_inventory_shards WHERE event_id = ? AND remaining > 0 " +
+            "ORDER BY (shard_no + ?) % ? LIMIT 1 FOR UPDATE";
+    private static final String RETURN = "UPDATE project.event_inventory_shards s SET remaining = s.remaining + 1 " +
+            "FROM (SELECT shard_no FROM project.event_inventory_shards WHERE event_id = ? " +
+            "ORDER BY remaining, shard_no LIMIT 1 FOR UPDATE";
+    private static final String PICKED = ") pick WHERE s.event_id = ? AND s.shard_no = pick.shard_no RETURNING s.remaining";
+    private static final String ANY_LEFT = "SELECT EXISTS (SELECT 1 FROM project.event_inventory_shards " +
+            "WHERE event_id = ? AND remaining > 0)";
+
+    private final EventInventoryShardRepository shardRepository;
+    private final EventRepository eventRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Set<UUID> changed = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> drained = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    ShardedSeatInventory(EventInventoryShardRepository shardRepository,
+                         EventRepository eventRepository,
+                         JdbcTemplate jdbcTemplate,
+                         TransactionTemplate transactionTemplate,
+                         ApplicationEventPublisher eventPublisher) {
+        this.shardRepository = shardRepository;
+        this.eventRepository = eventRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    static boolean isSharded(Integer maxAttendees, Integer inventoryShards) {
+        return maxAttendees != null && inventoryShards != null && inventoryShards > 1;
+    }
+
+    /**
+     * Takes one seat in the current transaction. Returns false if every shard is empty.
+     */
+    boolean take(UUID eventId, int shards) {
+        int offset = ThreadLocalRandom.current().nextInt(shards);
+        // Each round first skips shards other registrants hold, then waits for one; the shard
+        // waited for may drain meanwhile, so only an inventory with no seat left is sold out
+        for (int round = 0; round < shards; round++) {
+            Integer remaining = update(TAKE + " SKIP LOCKED" + PICKED, eventId, offset, shards);
+            if (remaining == null) {
+                remaining = update(TAKE + PICKED, eventId, offset, shards);
+            }
+            if (remaining != null) {
+                afterCommit(eventId, remaining == 0);
+                return true;
+            }
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(ANY_LEFT, Boolean.class, eventId))) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gives one seat back in the current transaction.
+     */
+    void giveBack(UUID eventId) {
+        Integer remaining = update(RETURN + " SKIP LOCKED" + PICKED, eventId);
+        if (remaining == null) {
+            update(RETURN + PICKED, eventId);
+        }
+        afterCommit(eventId, false);
+    }
+
+    /**
+     * Lays the event's free seats out over the given number of shards, or removes the shards if it
+     * should use the single counter. Must run in the transaction that changes the event.
+     */
+    void configure(UUID eventId, Integer maxAttendees, Integer inventoryShards) {
+        // With the event row and every shard locked no seat can change hands, and the counter
+        // recomputed afterwards sees every registration that took one
+        eventRepository.lockById(eventId);
+        List<EventInventoryShard> existing = shardRepository.lockByEventId(eventId);
+        boolean sharded = isSharded(maxAttendees, inventoryShards);
+        if (existing.isEmpty() && !sharded) {
+            return;
+        }
+
+        eventRepository.recomputeRegisteredCounts(List.of(eventId));
+        int registered = eventRepository.findCapacityById(eventId)
+                .map(EventCapacityView::getRegisteredCount)
+                .orElse(0);
+        int[] target = sharded ? distribute(maxAttendees - registered, inventoryShards) : new int[0];
+        apply(eventId, existing, target);
+    }
+
+    void remove(UUID eventId) {
+        shardRepository.deleteByEventId(eventId);
+    }
+
+    @Scheduled(fixedDelayString = "${registrations.inventory.sync-interval:1000}")
+    public void sync() {
+        for (UUID eventId : drain(drained)) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> rebalance(eventId));
+            } catch (DataAccessException e) {
+                LOGGER.warn("Could not rebalance the seat inventory of event {}", eventId, e);
+            }
+        }
+
+        List<UUID> eventIds = drain(changed);
+        if (!eventIds.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> eventRepository.recomputeRegisteredCounts(eventIds));
+                // Readers that reloaded the event since the registration committed saw the old count
+                eventPublisher.publishEvent(new RegisteredCountsRecomputedEvent(eventIds));
+            } catch (DataAccessException e) {
+                changed.addAll(eventIds);
+                LOGGER.warn("Could not update the registration counters of {} sharded event(s)", eventIds.size(), e);
+            }
+        }
+    }
+
+    private void rebalance(UUID eventId) {
+        List<EventInventoryShard> shards = shardRepository.lockByEventId(eventId);
+        if (shards.isEmpty()) {
+            return;
+        }
+        int total = shards.stream().mapToInt(EventInventoryShard::getRemaining).sum();
+        apply(eventId, shards, distribute(total, shards.size()));
+    }
+
+    private void apply(UUID eventId, List<EventInventoryShard> existing, int[] target) {
+        List<EventInventoryShard> saved = new ArrayList<>();
+        for (int shardNo = 0; shardNo < Math.max(existing.size(), target.length); shardNo++) {
+            if (shardNo >= target.length) {
+                shardRepository.delete(existing.get(shardNo));
+            } else if (shardNo < existing.size()) {
+                saved.add(existing.get(shardNo).setRemaining(target[shardNo]));
+            } else {
+                saved.add(new EventInventoryShard().setEventId(eventId).setShardNo(shardNo).setRemaining(target[shardNo]));
+            }
+        }
+        shardRepository.saveAll(saved);
+    }
+
+    /**
+     * Splits the seats evenly over the shards. A negative total, left by lowering the capacity
+     * below the registrations, stays on shard 0, which is the first to receive returned seats.
+     */
+    static int[] distribute(int seats, int shards) {
+        int[] remaining = new int[shards];
+        if (seats < 0) {
+            remaining[0] = seats;
+            return remaining;
+        }
+        for (int shardNo = 0; shardNo < shards; shardNo++) {
+            remaining[shardNo] = seats / shards + (shardNo < seats % shards ? 1 : 0);
+        }
+        return remaining;
+    }
+
+    /**
+     * Runs a shard update whose first and last parameters are the event ID and returns the new
+     * remaining count of the shard it picked, or null if it picked none.
+     */
+    private Integer update(String sql, UUID eventId, Object... args) {
+        Object[] params = new Object[args.length + 2];
+        params[0] = eventId;
+        System.arraycopy(args, 0, params, 1, args.length);
+        params[params.length - 1] = eventId;
+        return jdbcTemplate.query(sql, rs -> rs.next() ? rs.getInt(1) : null, params);
+    }
+
+    private void afterCommit(UUID eventId, boolean shardDrained) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            mark(eventId, shardDrained);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                mark(eventId, shardDrained);
+            }
+        });
+    }
+
+    private void mark(UUID eventId, boolean shardDrained) {
+        changed.add(eventId);
+        if (shardDrained) {
+            drained.add(eventId);
+        }
+    }
+
+    private static List<UUID> drain(Set<UUID> eventIds) {
+        List<UUID> taken = new ArrayList<>(eventIds);
+        taken.forEach(eventIds::remove);
+        return taken;
+    }
+}
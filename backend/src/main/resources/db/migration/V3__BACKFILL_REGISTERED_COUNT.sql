@@ -0,0 +1,22 @@
+SET search_path = project, pg_catalog;
+
+-- Hibernate creates the events and registrations tables after migrations have run, so on a new
+-- database there is nothing to backfill yet. On an existing one the counter must start from the
+-- registrations already there, or reserveSeat would admit up to maxAttendees extra per event.
+DO $$
+BEGIN
+    IF to_regclass('project.events') IS NOT NULL AND to_regclass('project.registrations') IS NOT NULL THEN
+        ALTER TABLE events ADD COLUMN IF NOT EXISTS registered_count integer NOT NULL DEFAULT 0;
+        ALTER TABLE events ADD COLUMN IF NOT EXISTS registrations_updated_at timestamp(6);
+
+        UPDATE events e
+        SET registered_count = r.total,
+            registrations_updated_at = LOCALTIMESTAMP
+        FROM (SELECT event_id, COUNT(*) AS total
+              FROM registrations
+              WHERE status NOT IN ('CANCELLED', 'WAITLISTED')
+              GROUP BY event_id) r
+        WHERE r.event_id = e.id AND e.registered_count <> r.total;
+    END IF;
+END
+$$;
@@ -0,0 +1,148 @@
+package com.mobylab.springbackend.cache;
+
+import com.mobylab.springbackend.entity.Registration.RegistrationStatus;
+import com.mobylab.springbackend.repository.EventRepository;
+import com.mobylab.springbackend.repository.projection.EventCapacityView;
+import com.mobylab.springbackend.service.event.RegistrationChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SeatGateTest {
+
+    private final UUID eventId = UUID.randomUUID();
+
+    private EventRepository eventRepository;
+    private SeatGate seatGate;
+
+    @BeforeEach
+    void setUp() {
+        eventRepository = mock(EventRepository.class);
+        seatGate = new SeatGate(eventRepository, new SimpleMeterRegistry(), Duration.ofMinutes(1), 100);
+    }
+
+    @Test
+    void concurrentRegistrantsNeverTakeMoreSeatsThanAreLeft() throws Exception {
+        givenCapacity(eventId, 100, 40);
+
+        int threads = 8;
+        int attemptsPerThread = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                int granted = 0;
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    if (seatGate.tryAcquire(eventId) != null) {
+                        granted++;
+                    }
+                }
+                return granted;
+            }));
+        }
+        start.countDown();
+
+        int granted = 0;
+        for (Future<Integer> result : results) {
+            granted += result.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(60, granted);
+        assertNull(seatGate.tryAcquire(eventId));
+        // The counter is loaded once and then served from memory
+        verify(eventRepository, times(1)).findCapacityById(eventId);
+    }
+
+    @Test
+    void releasedPermitAdmitsTheNextRegistrant() {
+        givenCapacity(eventId, 1, 0);
+
+        SeatGate.Permit permit = seatGate.tryAcquire(eventId);
+        assertNotNull(permit);
+        assertNull(seatGate.tryAcquire(eventId));
+
+        permit.release();
+        assertNotNull(seatGate.tryAcquire(eventId));
+    }
+
+    @Test
+    void committedCancellationReturnsItsSeat() {
+        givenCapacity(eventId, 1, 0);
+        assertNotNull(seatGate.tryAcquire(eventId));
+
+        seatGate.onRegistrationChanged(new RegistrationChangedEvent(UUID.randomUUID(), eventId, UUID.randomUUID(),
+                RegistrationStatus.CONFIRMED, RegistrationStatus.CANCELLED));
+
+        assertNotNull(seatGate.tryAcquire(eventId));
+        assertNull(seatGate.tryAcquire(eventId));
+    }
+
+    @Test
+    void overbookedEventAdmitsNobody() {
+        // Capacity lowered below the registrations
+        givenCapacity(eventId, 5, 8);
+
+        assertNull(seatGate.tryAcquire(eventId));
+    }
+
+    @Test
+    void resyncReloadsTheCounter() {
+        givenCapacity(eventId, 2, 0);
+        assertNotNull(seatGate.tryAcquire(eventId));
+
+        // The database refused the seat; it now reports both seats taken
+        givenCapacity(eventId, 2, 2);
+        seatGate.resync(eventId);
+
+        assertNull(seatGate.tryAcquire(eventId));
+    }
+
+    @Test
+    void unlimitedAndUnknownEventsAreNotCounted() {
+        givenCapacity(eventId, null, 1000);
+        UUID unknown = UUID.randomUUID();
+        when(eventRepository.findCapacityById(unknown)).thenReturn(Optional.empty());
+
+        for (int i = 0; i < 1000; i++) {
+            assertNotNull(seatGate.tryAcquire(eventId));
+            assertNotNull(seatGate.tryAcquire(unknown));
+        }
+    }
+
+    private void givenCapacity(UUID eventId, Integer maxAttendees, int registered) {
+        EventCapacityView capacity = new EventCapacityView() {
+            @Override
+            public Integer getMaxAttendees() {
+                return maxAttendees;
+            }
+
+            @Override
+            public int getRegisteredCount() {
+                return registered;
+            }
+        };
+        when(eventRepository.findCapacityById(eventId)).thenReturn(Optional.of(capacity));
+    }
+}
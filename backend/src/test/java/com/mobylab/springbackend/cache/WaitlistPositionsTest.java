@@ -0,0 +1,145 @@
+package com.mobylab.springbackend.cache;
+
+import com.mobylab.springbackend.dto.EventDto;
+import com.mobylab.springbackend.entity.Registration.RegistrationStatus;
+import com.mobylab.springbackend.repository.RegistrationRepository;
+import com.mobylab.springbackend.service.event.EventChangedEvent;
+import com.mobylab.springbackend.service.event.RegistrationChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WaitlistPositionsTest {
+
+    private final UUID eventId = UUID.randomUUID();
+
+    private RegistrationRepository registrationRepository;
+    private WaitlistPositions positions;
+
+    @BeforeEach
+    void setUp() {
+        registrationRepository = mock(RegistrationRepository.class);
+        positions = new WaitlistPositions(registrationRepository, Duration.ofMinutes(10), 100);
+    }
+
+    @Test
+    void positionsFollowJoinOrder() {
+        List<UUID> waiting = ids(3);
+        when(registrationRepository.findWaitlistedIds(eventId)).thenReturn(waiting);
+
+        assertEquals(3, positions.countWaiting(eventId));
+        assertEquals(1L, positions.position(eventId, waiting.get(0)));
+        assertEquals(3L, positions.position(eventId, waiting.get(2)));
+        assertNull(positions.position(eventId, UUID.randomUUID()));
+    }
+
+    @Test
+    void promotedRegistrationMovesEveryoneBehindItUp() {
+        List<UUID> waiting = ids(5);
+        when(registrationRepository.findWaitlistedIds(eventId)).thenReturn(waiting);
+        positions.countWaiting(eventId);
+
+        change(waiting.get(1), RegistrationStatus.WAITLISTED, RegistrationStatus.CONFIRMED);
+        UUID newcomer = UUID.randomUUID();
+        change(newcomer, null, RegistrationStatus.WAITLISTED);
+
+        assertEquals(5, positions.countWaiting(eventId));
+        assertEquals(1L, positions.position(eventId, waiting.get(0)));
+        assertNull(positions.position(eventId, waiting.get(1)));
+        assertEquals(2L, positions.position(eventId, waiting.get(2)));
+        assertEquals(4L, positions.position(eventId, waiting.get(4)));
+        assertEquals(5L, positions.position(eventId, newcomer));
+    }
+
+    @Test
+    void positionsMatchJoinOrderThroughGrowthAndCompaction() {
+        when(registrationRepository.findWaitlistedIds(eventId)).thenReturn(List.of());
+        positions.countWaiting(eventId);
+
+        // Enough churn to grow the slots past their initial size and to compact them repeatedly
+        Random random = new Random(42);
+        List<UUID> expected = new ArrayList<>();
+        for (int step = 0; step < 5000; step++) {
+            if (!expected.isEmpty() && random.nextInt(3) == 0) {
+                UUID leaving = expected.remove(random.nextInt(expected.size()));
+                change(leaving, RegistrationStatus.WAITLISTED, RegistrationStatus.CANCELLED);
+            } else {
+                UUID joining = UUID.randomUUID();
+                expected.add(joining);
+                change(joining, null, RegistrationStatus.WAITLISTED);
+            }
+        }
+
+        assertEquals(expected.size(), positions.countWaiting(eventId));
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(i + 1L, positions.position(eventId, expected.get(i)));
+        }
+    }
+
+    @Test
+    void drainedWaitlistIsReusedAfterCompaction() {
+        List<UUID> waiting = ids(100);
+        when(registrationRepository.findWaitlistedIds(eventId)).thenReturn(waiting);
+        positions.countWaiting(eventId);
+
+        for (UUID registrationId : waiting.subList(0, 99)) {
+            change(registrationId, RegistrationStatus.WAITLISTED, RegistrationStatus.CONFIRMED);
+        }
+        UUID newcomer = UUID.randomUUID();
+        change(newcomer, null, RegistrationStatus.WAITLISTED);
+
+        assertEquals(2, positions.countWaiting(eventId));
+        assertEquals(1L, positions.position(eventId, waiting.get(99)));
+        assertEquals(2L, positions.position(eventId, newcomer));
+    }
+
+    @Test
+    void changesBeforeTheFirstLoadAreLeftToTheLoad() {
+        UUID registrationId = UUID.randomUUID();
+        change(registrationId, null, RegistrationStatus.WAITLISTED);
+        when(registrationRepository.findWaitlistedIds(eventId)).thenReturn(List.of(registrationId));
+
+        assertEquals(1, positions.countWaiting(eventId));
+        assertEquals(1L, positions.position(eventId, registrationId));
+    }
+
+    @Test
+    void waitlistIsLoadedOnceAndDroppedWithItsEvent() {
+        when(registrationRepository.findWaitlistedIds(eventId)).thenReturn(ids(2));
+
+        positions.countWaiting(eventId);
+        positions.countWaiting(eventId);
+        verify(registrationRepository, times(1)).findWaitlistedIds(eventId);
+
+        EventDto event = new EventDto();
+        event.setId(eventId);
+        positions.onEventChanged(EventChangedEvent.deleted(event));
+        positions.countWaiting(eventId);
+        verify(registrationRepository, times(2)).findWaitlistedIds(eventId);
+    }
+
+    private void change(UUID registrationId, RegistrationStatus previous, RegistrationStatus status) {
+        positions.onRegistrationChanged(new RegistrationChangedEvent(registrationId, eventId, UUID.randomUUID(),
+                previous, status));
+    }
+
+    private static List<UUID> ids(int count) {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,133 @@
+package com.mobylab.springbackend.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntervalTreapTest {
+
+    private IntervalTreap treap;
+
+    @BeforeEach
+    void setUp() {
+        treap = new IntervalTreap();
+    }
+
+    @Test
+    void touchingEndpointsOverlap() {
+        UUID id = UUID.randomUUID();
+        treap.insert(10, 20, id);
+
+        assertEquals(List.of(id), overlapping(20, 30));
+        assertEquals(List.of(id), overlapping(0, 10));
+        assertEquals(List.of(), overlapping(21, 30));
+        assertEquals(List.of(), overlapping(0, 9));
+    }
+
+    @Test
+    void zeroLengthIntervalsAndWindows() {
+        UUID point = UUID.randomUUID();
+        UUID span = UUID.randomUUID();
+        treap.insert(15, 15, point);
+        treap.insert(10, 20, span);
+
+        assertEquals(List.of(span, point), overlapping(15, 15));
+        assertEquals(List.of(span, point), overlapping(0, 15));
+        assertEquals(List.of(span, point), overlapping(15, 40));
+        assertEquals(List.of(span), overlapping(12, 12));
+        assertEquals(List.of(span), overlapping(16, 20));
+    }
+
+    @Test
+    void deletedIntervalCanBeReinsertedWithNewBounds() {
+        UUID id = UUID.randomUUID();
+        UUID sameStart = UUID.randomUUID();
+        treap.insert(10, 100, id);
+        treap.insert(10, 20, sameStart);
+
+        treap.delete(10, id);
+        // The long interval's end must no longer keep the subtree from being pruned
+        assertEquals(List.of(), overlapping(50, 60));
+        assertEquals(List.of(sameStart), overlapping(0, 10));
+
+        treap.insert(40, 45, id);
+        assertEquals(List.of(id), overlapping(45, 60));
+
+        // Deleting an interval that is not there leaves the tree alone
+        treap.delete(10, UUID.randomUUID());
+        treap.delete(40, sameStart);
+        assertEquals(List.of(sameStart, id), overlapping(0, 100));
+    }
+
+    @Test
+    void limitCutsTheResultShortInStartOrder() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            treap.insert(i * 10, i * 10 + 50, id);
+        }
+
+        List<UUID> out = new ArrayList<>();
+        assertFalse(treap.overlapping(0, 100, 3, out));
+        assertEquals(ids.subList(0, 3), out);
+
+        out.clear();
+        assertTrue(treap.overlapping(0, 100, 5, out));
+        assertEquals(ids, out);
+    }
+
+    @Test
+    void matchesABruteForceScanThroughInsertsAndDeletes() {
+        Random random = new Random(7);
+        List<long[]> intervals = new ArrayList<>();
+        List<UUID> ids = new ArrayList<>();
+        for (int step = 0; step < 3000; step++) {
+            if (!ids.isEmpty() && random.nextInt(3) == 0) {
+                int victim = random.nextInt(ids.size());
+                treap.delete(intervals.remove(victim)[0], ids.remove(victim));
+            } else {
+                long start = random.nextInt(1000);
+                long end = start + (random.nextInt(4) == 0 ? 0 : random.nextInt(200));
+                UUID id = UUID.randomUUID();
+                intervals.add(new long[]{start, end});
+                ids.add(id);
+                treap.insert(start, end, id);
+            }
+
+            if (step % 50 == 0) {
+                long from = random.nextInt(1200);
+                long to = from + random.nextInt(100);
+                assertEquals(bruteForce(intervals, ids, from, to), overlapping(from, to));
+            }
+        }
+    }
+
+    private List<UUID> overlapping(long from, long to) {
+        List<UUID> out = new ArrayList<>();
+        assertTrue(treap.overlapping(from, to, Integer.MAX_VALUE, out));
+        return out;
+    }
+
+    private static List<UUID> bruteForce(List<long[]> intervals, List<UUID> ids, long from, long to) {
+        List<Integer> matches = new ArrayList<>();
+        for (int i = 0; i < intervals.size(); i++) {
+            if (intervals.get(i)[0] <= to && intervals.get(i)[1] >= from) {
+                matches.add(i);
+            }
+        }
+        matches.sort(Comparator.<Integer>comparingLong(i -> intervals.get(i)[0]).thenComparing(ids::get));
+        List<UUID> expected = new ArrayList<>();
+        matches.forEach(i -> expected.add(ids.get(i)));
+        return expected;
+    }
+}
@@ -0,0 +1,180 @@
+package com.mobylab.springbackend.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TopKRadixTrieTest {
+
+    private static final Comparator<Item> BEST_FIRST = Comparator.comparingInt((Item item) -> -item.score)
+            .thenComparing(item -> item.key)
+            .thenComparingInt(item -> item.sequence);
+
+    private TopKRadixTrie<Item> trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new TopKRadixTrie<>(3, BEST_FIRST);
+    }
+
+    @Test
+    void prefixReturnsTheBestEntriesBelowIt() {
+        Item concert = add("concert", 5);
+        Item conference = add("conference", 9);
+        Item cooking = add("cooking", 1);
+        Item comedy = add("comedy", 7);
+        Item art = add("art", 8);
+
+        assertEquals(List.of(conference, comedy, concert), trie.top("co"));
+        assertEquals(List.of(conference, concert), trie.top("con"));
+        assertEquals(List.of(cooking), trie.top("coo"));
+        assertEquals(List.of(conference, art, comedy), trie.top(""));
+        assertEquals(List.of(), trie.top("cx"));
+        assertEquals(List.of(), trie.top("concerts"));
+    }
+
+    @Test
+    void shorterKeySplitsAnEdge() {
+        Item testing = add("testing", 1);
+        Item test = add("test", 2);
+        Item team = add("team", 3);
+
+        assertEquals(List.of(team, test, testing), trie.top("te"));
+        assertEquals(List.of(test, testing), trie.top("tes"));
+        assertEquals(List.of(test, testing), trie.top("test"));
+        assertEquals(List.of(testing), trie.top("testi"));
+        assertEquals(List.of(), trie.top("tesx"));
+    }
+
+    @Test
+    void removingAPassThroughNodeMergesItIntoItsChild() {
+        Item test = add("test", 1);
+        Item testing = add("testing", 2);
+        Item tester = add("tester", 3);
+
+        trie.remove("test", test);
+        assertEquals(List.of(tester, testing), trie.top("test"));
+
+        trie.remove("tester", tester);
+        // "test" and "ing" are one edge again; a prefix ending inside it still finds the entry
+        assertEquals(List.of(testing), trie.top("tes"));
+        assertEquals(List.of(testing), trie.top("testin"));
+        assertEquals(List.of(), trie.top("teste"));
+
+        Item again = add("tester", 4);
+        assertEquals(List.of(again, testing), trie.top("test"));
+    }
+
+    @Test
+    void removedEntryMakesRoomForTheNextBest() {
+        List<Item> items = new ArrayList<>();
+        for (int score = 1; score <= 5; score++) {
+            items.add(add("music" + score, score));
+        }
+
+        trie.remove("music5", items.get(4));
+        assertEquals(List.of(items.get(3), items.get(2), items.get(1)), trie.top("mu"));
+
+        // Removing an entry that is not there leaves the trie alone
+        trie.remove("music5", items.get(4));
+        trie.remove("music4", items.get(0));
+        trie.remove("missing", items.get(0));
+        assertEquals(List.of(items.get(3), items.get(2), items.get(1)), trie.top("mu"));
+    }
+
+    @Test
+    void entriesAreRemovedByIdentity() {
+        Item first = add("jazz", 1);
+        Item twin = add("jazz", 1);
+
+        trie.remove("jazz", twin);
+
+        assertEquals(1, trie.top("jazz").size());
+        assertSame(first, trie.top("jazz").get(0));
+    }
+
+    @Test
+    void clearEmptiesTheTrie() {
+        add("opera", 1);
+        trie.clear();
+
+        assertEquals(List.of(), trie.top(""));
+        assertEquals(List.of(), trie.top("op"));
+        Item ballet = add("ballet", 2);
+        assertEquals(List.of(ballet), trie.top("b"));
+    }
+
+    @Test
+    void matchesABruteForceScanThroughAddsAndRemoves() {
+        Random random = new Random(11);
+        List<Item> present = new ArrayList<>();
+        for (int step = 0; step < 4000; step++) {
+            if (!present.isEmpty() && random.nextInt(3) == 0) {
+                Item item = present.remove(random.nextInt(present.size()));
+                trie.remove(item.key, item);
+            } else {
+                Item item = new Item(randomKey(random, 6), random.nextInt(1000));
+                present.add(item);
+                trie.add(item.key, item);
+            }
+
+            if (step % 20 == 0) {
+                String prefix = randomKey(random, 3);
+                assertEquals(bruteForce(present, prefix), trie.top(prefix), "prefix " + prefix);
+            }
+        }
+    }
+
+    private Item add(String key, int score) {
+        Item item = new Item(key, score);
+        trie.add(key, item);
+        return item;
+    }
+
+    private static String randomKey(Random random, int maxLength) {
+        // A small alphabet, so that keys share prefixes and edges are split and merged often
+        StringBuilder key = new StringBuilder();
+        int length = random.nextInt(maxLength + 1);
+        for (int i = 0; i < length; i++) {
+            key.append((char) ('a' + random.nextInt(3)));
+        }
+        return key.toString();
+    }
+
+    private static List<Item> bruteForce(List<Item> items, String prefix) {
+        List<Item> matches = new ArrayList<>();
+        for (Item item : items) {
+            if (item.key.startsWith(prefix)) {
+                matches.add(item);
+            }
+        }
+        matches.sort(BEST_FIRST);
+        return matches.subList(0, Math.min(3, matches.size()));
+    }
+
+    private static final class Item {
+        private static int created;
+
+        private final String key;
+        private final int score;
+        // Breaks ties so that the expected order is never ambiguous
+        private final int sequence = created++;
+
+        private Item(String key, int score) {
+            this.key = key;
+            this.score = score;
+        }
+
+        @Override
+        public String toString() {
+            return key + ":" + score;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.mobylab.springbackend.job;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+
+    private static final long TICK = 1000;
+
+    private TimingWheel<String> wheel;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new TimingWheel<>(Duration.ofMillis(TICK), 8, 0);
+    }
+
+    @Test
+    void itemsFireOnTheTickTheyAreDue() {
+        wheel.schedule("a", 3 * TICK);
+        wheel.schedule("b", 3 * TICK + 999);
+
+        assertTrue(wheel.advance(2 * TICK).isEmpty());
+        assertEquals(List.of("a", "b"), wheel.advance(3 * TICK));
+        assertTrue(wheel.advance(4 * TICK).isEmpty());
+    }
+
+    @Test
+    void pastDueItemsFireOnTheNextAdvance() {
+        wheel.advance(5 * TICK);
+        wheel.schedule("late", TICK);
+        wheel.schedule("now", 5 * TICK);
+
+        // The current tick has already been visited, so nothing fires without moving on
+        assertTrue(wheel.advance(5 * TICK).isEmpty());
+        assertEquals(List.of("late", "now"), wheel.advance(6 * TICK));
+    }
+
+    @Test
+    void itemsMoreThanOneRotationAheadWaitForTheirOwnTick() {
+        // Slot 2, like tick 2, which passes first
+        wheel.schedule("far", 10 * TICK);
+
+        assertTrue(wheel.advance(2 * TICK).isEmpty());
+        assertTrue(wheel.advance(9 * TICK).isEmpty());
+        assertEquals(List.of("far"), wheel.advance(10 * TICK));
+    }
+
+    @Test
+    void catchUpAfterALongPauseVisitsEverySlotOnce() {
+        wheel.schedule("soon", 3 * TICK);
+        wheel.schedule("later", 20 * TICK);
+        wheel.schedule("much later", 100 * TICK);
+
+        List<String> due = wheel.advance(50 * TICK);
+
+        assertEquals(2, due.size());
+        assertTrue(due.containsAll(List.of("soon", "later")));
+        assertTrue(wheel.advance(99 * TICK).isEmpty());
+        assertEquals(List.of("much later"), wheel.advance(100 * TICK));
+    }
+
+    @Test
+    void clockGoingBackwardsFiresNothingAndDoesNotRewind() {
+        wheel.advance(10 * TICK);
+        wheel.schedule("a", 11 * TICK);
+
+        assertTrue(wheel.advance(4 * TICK).isEmpty());
+        assertEquals(List.of("a"), wheel.advance(11 * TICK));
+    }
+}
@@ -0,0 +1,89 @@
+package com.mobylab.springbackend.mail;
+
+import com.mobylab.springbackend.entity.Event;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CalendarInviteTest {
+
+    private final LocalDateTime start = LocalDateTime.of(2030, 5, 1, 18, 30);
+
+    @Test
+    void rendersOneEventInUtc() {
+        Event event = event("Concert").setEndTime(start.plusHours(2));
+
+        List<String> lines = lines(CalendarInvite.render(event, null));
+
+        assertEquals("BEGIN:VCALENDAR", lines.get(0));
+        assertEquals("END:VCALENDAR", lines.get(lines.size() - 1));
+        assertTrue(lines.contains("UID:" + event.getId() + "@eventory"));
+        assertTrue(lines.contains("DTSTART:" + utc(start)));
+        assertTrue(lines.contains("DTEND:" + utc(start.plusHours(2))));
+        assertTrue(lines.contains("SUMMARY:Concert"));
+        assertFalse(lines.stream().anyMatch(line -> line.startsWith("DESCRIPTION") || line.startsWith("LOCATION")));
+    }
+
+    @Test
+    void renderingTwiceGivesTheSameFile() {
+        Event event = event("Concert").setUpdatedAt(start.minusDays(3));
+
+        assertArrayEquals(CalendarInvite.render(event, "Hall"), CalendarInvite.render(event, "Hall"));
+        assertTrue(lines(CalendarInvite.render(event, "Hall")).contains("DTSTAMP:" + utc(start.minusDays(3))));
+    }
+
+    @Test
+    void textValuesAreEscaped() {
+        Event event = event("Rock, Pop; Jazz\\Blues").setDescription("Line one\r\nLine two");
+
+        List<String> lines = lines(CalendarInvite.render(event, "Hall A, Floor 2"));
+
+        assertTrue(lines.contains("SUMMARY:Rock\\, Pop\\; Jazz\\\\Blues"));
+        assertTrue(lines.contains("DESCRIPTION:Line one\\nLine two"));
+        assertTrue(lines.contains("LOCATION:Hall A\\, Floor 2"));
+    }
+
+    @Test
+    void longLinesAreFoldedAt75OctetsWithoutSplittingCharacters() {
+        // Two, three and four byte characters, the last one a surrogate pair in Java
+        String title = "Fête ".repeat(10) + "東京".repeat(20) + "🎵".repeat(20);
+        Event event = event(title);
+
+        byte[] ics = CalendarInvite.render(event, null);
+        String text = new String(ics, StandardCharsets.UTF_8);
+
+        for (String line : text.split("\r\n")) {
+            assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 75, line);
+            assertFalse(line.isEmpty() || Character.isLowSurrogate(line.charAt(line.startsWith(" ") ? 1 : 0)), line);
+        }
+        // Unfolding restores the original content line
+        assertTrue(lines(ics).contains("SUMMARY:" + title));
+        assertTrue(text.contains("\r\n "));
+    }
+
+    private Event event(String title) {
+        return new Event().setId(UUID.randomUUID()).setTitle(title).setStartTime(start);
+    }
+
+    private static String utc(LocalDateTime time) {
+        LocalDateTime inUtc = time.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+        return String.format("%04d%02d%02dT%02d%02d%02dZ", inUtc.getYear(), inUtc.getMonthValue(), inUtc.getDayOfMonth(),
+                inUtc.getHour(), inUtc.getMinute(), inUtc.getSecond());
+    }
+
+    private static List<String> lines(byte[] ics) {
+        String unfolded = new String(ics, StandardCharsets.UTF_8).replace("\r\n ", "");
+        return Arrays.asList(unfolded.split("\r\n"));
+    }
+}
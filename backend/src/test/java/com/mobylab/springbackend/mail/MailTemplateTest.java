@@ -0,0 +1,69 @@
+package com.mobylab.springbackend.mail;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MailTemplateTest {
+
+    @Test
+    void rendersPlaceholdersIncludingRepeatedAndAdjacentOnes() {
+        MailTemplate template = MailTemplate.compile("Hi {{ name }}, {{event}}{{suffix}} - {{name}}", false);
+
+        assertEquals("Hi Ana, Concert! - Ana",
+                template.render(Map.of("name", "Ana", "event", "Concert", "suffix", "!")));
+    }
+
+    @Test
+    void templateWithoutPlaceholdersRendersAsIs() {
+        assertEquals("No fields here", MailTemplate.compile("No fields here", true).render(Map.of()));
+    }
+
+    @Test
+    void boundTemplateRendersLikeTheOriginal() {
+        MailTemplate template = MailTemplate.compile("<p>{{greeting}} {{name}}, see you at {{event}} on {{date}}.</p>", true);
+        Map<String, String> perEvent = Map.of("event", "Jazz & Blues", "date", "May 1", "greeting", "Hello");
+        Map<String, String> all = Map.of("event", "Jazz & Blues", "date", "May 1", "greeting", "Hello", "name", "Ana");
+
+        MailTemplate bound = template.bind(perEvent);
+
+        assertEquals(template.render(all), bound.render(Map.of("name", "Ana")));
+        assertEquals("<p>Hello Ana, see you at Jazz &amp; Blues on May 1.</p>", bound.render(Map.of("name", "Ana")));
+    }
+
+    @Test
+    void bindingEverythingLeavesNothingToRender() {
+        MailTemplate bound = MailTemplate.compile("{{a}}-{{b}}", false).bind(Map.of("a", "1", "b", "2"));
+
+        assertEquals("1-2", bound.render(Map.of()));
+    }
+
+    @Test
+    void valuesBoundEarlyAreNotBoundAgain() {
+        // A value that looks like a placeholder is text, not a new field
+        MailTemplate bound = MailTemplate.compile("{{a}} {{b}}", false).bind(Map.of("a", "{{b}}"));
+
+        assertEquals("{{b}} x", bound.render(Map.of("b", "x")));
+    }
+
+    @Test
+    void htmlTemplatesEscapeValuesButNotLiterals() {
+        MailTemplate template = MailTemplate.compile("<b>{{title}}</b>", true);
+
+        assertEquals("<b>&lt;script&gt;&quot;a&quot; &amp; &#39;b&#39;&lt;/script&gt;</b>",
+                template.render(Map.of("title", "<script>\"a\" & 'b'</script>")));
+        assertEquals("<b>x & y</b>", MailTemplate.compile("<b>{{title}}</b>", false).render(Map.of("title", "x & y")));
+    }
+
+    @Test
+    void missingValuesAndUnclosedPlaceholdersAreRejected() {
+        MailTemplate template = MailTemplate.compile("{{a}} {{b}}", false);
+
+        assertThrows(IllegalArgumentException.class, () -> template.render(Map.of("a", "1")));
+        assertThrows(IllegalArgumentException.class, () -> template.bind(Map.of("a", "1")).render(Map.of()));
+        assertThrows(IllegalArgumentException.class, () -> MailTemplate.compile("Hi {{name", false));
+    }
+}
@@ -0,0 +1,104 @@
+package com.mobylab.springbackend.mail;
+
+import com.mobylab.springbackend.entity.EmailOutboxMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sustained throughput of the dispatch engine against an SMTP server that charges a fixed delay
+ * per connection. Timing dependent, so it only runs with the {@code benchmark} profile.
+ */
+@Tag("benchmark")
+class SmtpDispatchEngineBenchmarkTest {
+
+    private static final Duration HANDSHAKE = Duration.ofMillis(20);
+
+    private SmtpStandIn server;
+    private JavaMailSenderImpl mailSender;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new SmtpStandIn(HANDSHAKE);
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(server.port());
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        server.close();
+    }
+
+    @Test
+    void pooledConnectionsOutperformOneConnectionPerMessage() {
+        int baselineMessages = 50;
+        long start = System.nanoTime();
+        for (int i = 0; i < baselineMessages; i++) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setTo("user" + i + "@example.com");
+            message.setSubject("Baseline " + i);
+            message.setText("Hello");
+            mailSender.send(message);
+        }
+        double baselineRate = baselineMessages / seconds(start);
+
+        int messages = 2000;
+        SmtpDispatchEngine engine = new SmtpDispatchEngine(mailSender, new SimpleMeterRegistry(),
+                4, 100, Duration.ofSeconds(30), 0);
+        start = System.nanoTime();
+        Map<UUID, String> errors = engine.send(messages(messages));
+        double pooledRate = messages / seconds(start);
+        engine.shutdown();
+
+        assertTrue(errors.isEmpty(), () -> "Unexpected failures: " + errors);
+        assertTrue(pooledRate > baselineRate * 5,
+                () -> String.format("Pooled %.0f msg/s vs %.0f msg/s", pooledRate, baselineRate));
+    }
+
+    @Test
+    void rateLimitCapsSustainedThroughput() {
+        int rate = 200;
+        int messages = 600;
+        SmtpDispatchEngine engine = new SmtpDispatchEngine(mailSender, new SimpleMeterRegistry(),
+                4, 100, Duration.ofSeconds(30), rate);
+        long start = System.nanoTime();
+        Map<UUID, String> errors = engine.send(messages(messages));
+        double elapsed = seconds(start);
+        engine.shutdown();
+
+        assertTrue(errors.isEmpty(), () -> "Unexpected failures: " + errors);
+        // The first second's worth goes out as a burst, the rest at the limit
+        assertTrue(elapsed >= (messages - rate) / (double) rate * 0.9,
+                () -> String.format("Sent %d messages in %.2fs", messages, elapsed));
+    }
+
+    private static List<EmailOutboxMessage> messages(int count) {
+        List<EmailOutboxMessage> messages = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            messages.add(new EmailOutboxMessage()
+                    .setId(UUID.randomUUID())
+                    .setRecipient("user" + i + "@example.com")
+                    .setSubject("Message " + i)
+                    .setBody("Hello"));
+        }
+        return messages;
+    }
+
+    private static double seconds(long start) {
+        return (System.nanoTime() - start) / 1e9;
+    }
+}
@@ -0,0 +1,84 @@
+package com.mobylab.springbackend.mail;
+
+import com.mobylab.springbackend.entity.EmailOutboxMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SmtpDispatchEngineTest {
+
+    private SmtpStandIn server;
+    private JavaMailSenderImpl mailSender;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new SmtpStandIn(Duration.ZERO);
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(server.port());
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        server.close();
+    }
+
+    @Test
+    void deliversEveryMessageOverReusedConnections() {
+        int messages = 1000;
+        SmtpDispatchEngine engine = new SmtpDispatchEngine(mailSender, new SimpleMeterRegistry(),
+                4, 100, Duration.ofSeconds(30), 0);
+        Map<UUID, String> errors = engine.send(messages(messages));
+        engine.shutdown();
+
+        assertTrue(errors.isEmpty(), () -> "Unexpected failures: " + errors);
+        assertEquals(messages, server.delivered());
+        // Each connection is retired after 100 messages; at most one per sender is left partly used
+        assertTrue(server.connections() <= messages / 100 + 4, () -> server.connections() + " connections");
+    }
+
+    @Test
+    void idleConnectionsLeftAtTheTailAreClosed() throws Exception {
+        SmtpTransportPool pool = new SmtpTransportPool(mailSender, 100, Duration.ofMillis(50));
+        SmtpTransportPool.Connection first = pool.borrow();
+        SmtpTransportPool.Connection second = pool.borrow();
+        SmtpTransportPool.Connection third = pool.borrow();
+        pool.release(first);
+        pool.release(second);
+        assertEquals(3, pool.openConnections());
+
+        // Releasing the busy one closes the two that went idle too long ago
+        Thread.sleep(100);
+        pool.release(third);
+        assertEquals(1, pool.openConnections());
+
+        // With nothing sent, the sweep closes the last one
+        Thread.sleep(100);
+        pool.evictIdle();
+        assertEquals(0, pool.openConnections());
+    }
+
+    private static List<EmailOutboxMessage> messages(int count) {
+        List<EmailOutboxMessage> messages = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            messages.add(new EmailOutboxMessage()
+                    .setId(UUID.randomUUID())
+                    .setRecipient("user" + i + "@example.com")
+                    .setSubject("Message " + i)
+                    .setBody("Hello"));
+        }
+        return messages;
+    }
+}
@@ -0,0 +1,151 @@
+package com.mobylab.springbackend.service.impl;
+
+import com.mobylab.springbackend.entity.Event;
+import com.mobylab.springbackend.entity.EventReminder;
+import com.mobylab.springbackend.repository.EventReminderRepository;
+import com.mobylab.springbackend.repository.EventRepository;
+import com.mobylab.springbackend.repository.RegistrationRepository;
+import com.mobylab.springbackend.repository.projection.RecipientView;
+import com.mobylab.springbackend.service.EmailService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EventReminderServiceImplTest {
+
+    private static final EventReminder.Kind KIND = EventReminder.Kind.DAY_BEFORE;
+    private static final String OWNER = "node-1";
+    private static final Duration LEASE = Duration.ofMinutes(1);
+
+    private final UUID eventId = UUID.randomUUID();
+    private final LocalDateTime registeredAt = LocalDateTime.now().minusDays(3);
+
+    private EventReminderRepository reminderRepository;
+    private RegistrationRepository registrationRepository;
+    private EmailService emailService;
+    private EventReminderServiceImpl service;
+    private EventReminder reminder;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        reminderRepository = mock(EventReminderRepository.class);
+        EventRepository eventRepository = mock(EventRepository.class);
+        registrationRepository = mock(RegistrationRepository.class);
+        emailService = mock(EmailService.class);
+        service = new EventReminderServiceImpl(reminderRepository, eventRepository, registrationRepository, emailService,
+                mock(JdbcTemplate.class), mock(TransactionTemplate.class), 2);
+
+        reminder = new EventReminder().setEventId(eventId).setKind(KIND)
+                .setStatus(EventReminder.Status.PENDING).setLeaseOwner(OWNER);
+        event = new Event().setId(eventId).setStartTime(LocalDateTime.now().plusDays(2));
+        when(reminderRepository.lockOwned(eventId, KIND, OWNER)).thenReturn(Optional.of(reminder));
+        when(eventRepository.findById(eventId)).thenReturn(Optional.of(event));
+    }
+
+    @Test
+    void chunksResumeAfterTheLastRecipientSent() {
+        List<RecipientView> first = List.of(recipient(0), recipient(1));
+        List<RecipientView> second = List.of(recipient(2), recipient(3));
+        List<RecipientView> last = List.of(recipient(4));
+        when(registrationRepository.findReminderRecipients(eq(eventId), any(Limit.class))).thenReturn(first);
+        when(registrationRepository.findReminderRecipientsAfter(eq(eventId), eq(registeredAt.plusSeconds(1)),
+                eq(first.get(1).getRegistrationId()), any(Limit.class))).thenReturn(second);
+        when(registrationRepository.findReminderRecipientsAfter(eq(eventId), eq(registeredAt.plusSeconds(3)),
+                eq(second.get(1).getRegistrationId()), any(Limit.class))).thenReturn(last);
+
+        assertTrue(service.sendNextChunk(eventId, KIND, OWNER, LEASE));
+        assertEquals(first.get(1).getRegistrationTime(), reminder.getCursorRegistrationTime());
+        assertTrue(service.sendNextChunk(eventId, KIND, OWNER, LEASE));
+        assertFalse(service.sendNextChunk(eventId, KIND, OWNER, LEASE));
+
+        verify(emailService).sendEventReminders(first, event, KIND.getLead());
+        verify(emailService).sendEventReminders(second, event, KIND.getLead());
+        verify(emailService).sendEventReminders(last, event, KIND.getLead());
+        assertEquals(5, reminder.getSentCount());
+        assertEquals(last.get(0).getRegistrationId(), reminder.getCursorRegistrationId());
+        assertEquals(EventReminder.Status.SENT, reminder.getStatus());
+        assertNull(reminder.getLeaseOwner());
+    }
+
+    @Test
+    void fullLastChunkIsFollowedByAnEmptyOne() {
+        List<RecipientView> chunk = List.of(recipient(0), recipient(1));
+        when(registrationRepository.findReminderRecipients(eq(eventId), any(Limit.class))).thenReturn(chunk);
+        when(registrationRepository.findReminderRecipientsAfter(eq(eventId), any(), any(), any(Limit.class)))
+                .thenReturn(List.of());
+
+        assertTrue(service.sendNextChunk(eventId, KIND, OWNER, LEASE));
+        assertFalse(service.sendNextChunk(eventId, KIND, OWNER, LEASE));
+
+        verify(emailService).sendEventReminders(chunk, event, KIND.getLead());
+        assertEquals(2, reminder.getSentCount());
+        assertEquals(chunk.get(1).getRegistrationId(), reminder.getCursorRegistrationId());
+        assertEquals(EventReminder.Status.SENT, reminder.getStatus());
+    }
+
+    @Test
+    void lostLeaseSendsNothing() {
+        when(reminderRepository.lockOwned(eventId, KIND, OWNER)).thenReturn(Optional.empty());
+
+        assertFalse(service.sendNextChunk(eventId, KIND, OWNER, LEASE));
+
+        verify(registrationRepository, never()).findReminderRecipients(any(), any());
+        verify(emailService, never()).sendEventReminders(any(), any(), any());
+    }
+
+    @Test
+    void eventThatHasStartedIsSkipped() {
+        event.setStartTime(LocalDateTime.now().minusMinutes(1));
+
+        assertFalse(service.sendNextChunk(eventId, KIND, OWNER, LEASE));
+
+        assertEquals(EventReminder.Status.SKIPPED, reminder.getStatus());
+        verify(emailService, never()).sendEventReminders(any(), any(), any());
+    }
+
+    private RecipientView recipient(int position) {
+        UUID registrationId = UUID.randomUUID();
+        LocalDateTime registrationTime = registeredAt.plusSeconds(position);
+        return new RecipientView() {
+            @Override
+            public UUID getRegistrationId() {
+                return registrationId;
+            }
+
+            @Override
+            public LocalDateTime getRegistrationTime() {
+                return registrationTime;
+            }
+
+            @Override
+            public String getUsername() {
+                return "user" + position;
+            }
+
+            @Override
+            public String getEmail() {
+                return "user" + position + "@example.com";
+            }
+        };
+    }
+}
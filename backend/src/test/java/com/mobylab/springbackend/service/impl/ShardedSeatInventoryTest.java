@@ -0,0 +1,237 @@
+package com.mobylab.springbackend.service.impl;
+
+import com.mobylab.springbackend.entity.EventInventoryShard;
+import com.mobylab.springbackend.repository.EventInventoryShardRepository;
+import com.mobylab.springbackend.repository.EventRepository;
+import com.mobylab.springbackend.repository.projection.EventCapacityView;
+import com.mobylab.springbackend.service.event.RegisteredCountsRecomputedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives the inventory against scripted shard updates: each take or return answers with the
+ * remaining count of the shard it picked, or null when no shard could be picked.
+ */
+class ShardedSeatInventoryTest {
+
+    private final UUID eventId = UUID.randomUUID();
+
+    private EventInventoryShardRepository shardRepository;
+    private EventRepository eventRepository;
+    private JdbcTemplate jdbcTemplate;
+    private ApplicationEventPublisher eventPublisher;
+    private ShardedSeatInventory inventory;
+
+    private final Deque<Integer> pickedRemaining = new LinkedList<>();
+    private final List<String> updates = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        shardRepository = mock(EventInventoryShardRepository.class);
+        eventRepository = mock(EventRepository.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        when(jdbcTemplate.query(anyString(), any(ResultSetExtractor.class), any(Object[].class)))
+                .thenAnswer(invocation -> {
+                    updates.add(invocation.getArgument(0));
+                    return pickedRemaining.poll();
+                });
+
+        inventory = new ShardedSeatInventory(shardRepository, eventRepository, jdbcTemplate, transactionTemplate, eventPublisher);
+    }
+
+    @Test
+    void takeSkipsLockedShardsFirst() {
+        pickedRemaining.add(4);
+
+        assertTrue(inventory.take(eventId, 4));
+        assertEquals(1, updates.size());
+        assertTrue(updates.get(0).contains("SKIP LOCKED"));
+    }
+
+    @Test
+    void takeWaitsForALockedShardWhenEveryFreeOneIsHeld() {
+        pickedRemaining.add(null);
+        pickedRemaining.add(2);
+
+        assertTrue(inventory.take(eventId, 4));
+        assertEquals(2, updates.size());
+        assertTrue(updates.get(0).contains("SKIP LOCKED"));
+        assertFalse(updates.get(1).contains("SKIP LOCKED"));
+    }
+
+    @Test
+    void takeRetriesWhileAnotherShardStillHasSeats() {
+        // The shard waited for drained meanwhile, but another one has a seat left
+        pickedRemaining.addAll(Arrays.asList(null, null, 7));
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), any(Object[].class))).thenReturn(true);
+
+        assertTrue(inventory.take(eventId, 4));
+        assertEquals(3, updates.size());
+    }
+
+    @Test
+    void takeReportsSoldOutOnceEveryShardIsEmpty() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), any(Object[].class))).thenReturn(false);
+
+        assertFalse(inventory.take(eventId, 4));
+        assertEquals(2, updates.size());
+    }
+
+    @Test
+    void giveBackFallsBackToALockedShard() {
+        pickedRemaining.add(null);
+        pickedRemaining.add(1);
+
+        inventory.giveBack(eventId);
+
+        assertEquals(2, updates.size());
+        assertTrue(updates.get(0).contains("SKIP LOCKED"));
+        assertFalse(updates.get(1).contains("SKIP LOCKED"));
+    }
+
+    @Test
+    void drainedShardIsRebalancedOnSync() {
+        pickedRemaining.add(0);
+        assertTrue(inventory.take(eventId, 3));
+        when(shardRepository.lockByEventId(eventId)).thenReturn(shards(0, 5, 2));
+
+        inventory.sync();
+
+        assertArrayEquals(new int[]{3, 2, 2}, remaining(savedShards()));
+        verify(eventRepository).recomputeRegisteredCounts(List.of(eventId));
+    }
+
+    @Test
+    void takeLeavingSeatsOnlyRecomputesTheCounter() {
+        pickedRemaining.add(3);
+        assertTrue(inventory.take(eventId, 3));
+
+        inventory.sync();
+
+        verify(shardRepository, never()).lockByEventId(eventId);
+        verify(eventRepository).recomputeRegisteredCounts(List.of(eventId));
+        ArgumentCaptor<RegisteredCountsRecomputedEvent> published = ArgumentCaptor.forClass(RegisteredCountsRecomputedEvent.class);
+        verify(eventPublisher).publishEvent(published.capture());
+        assertEquals(List.of(eventId), published.getValue().getEventIds());
+    }
+
+    @Test
+    void configureSpreadsTheFreeSeatsOverNewShards() {
+        when(shardRepository.lockByEventId(eventId)).thenReturn(List.of());
+        givenCapacity(100, 10);
+
+        inventory.configure(eventId, 100, 4);
+
+        List<EventInventoryShard> saved = savedShards();
+        assertArrayEquals(new int[]{23, 23, 22, 22}, remaining(saved));
+        for (int shardNo = 0; shardNo < saved.size(); shardNo++) {
+            assertEquals(shardNo, saved.get(shardNo).getShardNo());
+            assertEquals(eventId, saved.get(shardNo).getEventId());
+        }
+    }
+
+    @Test
+    void configureDropsShardsWhenTheEventNoLongerUsesThem() {
+        List<EventInventoryShard> existing = shards(4, 4);
+        when(shardRepository.lockByEventId(eventId)).thenReturn(existing);
+        givenCapacity(100, 92);
+
+        inventory.configure(eventId, 100, 1);
+
+        verify(shardRepository).delete(existing.get(0));
+        verify(shardRepository).delete(existing.get(1));
+    }
+
+    @Test
+    void configureLeavesUnshardedEventsAlone() {
+        when(shardRepository.lockByEventId(eventId)).thenReturn(List.of());
+
+        inventory.configure(eventId, 100, null);
+
+        verify(eventRepository, never()).recomputeRegisteredCounts(anyList());
+        verify(shardRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void distributeSplitsSeatsEvenly() {
+        assertArrayEquals(new int[]{4, 3, 3}, ShardedSeatInventory.distribute(10, 3));
+        assertArrayEquals(new int[]{1, 1, 0, 0}, ShardedSeatInventory.distribute(2, 4));
+        assertArrayEquals(new int[]{0, 0}, ShardedSeatInventory.distribute(0, 2));
+    }
+
+    @Test
+    void distributeKeepsAnOverbookingOnTheFirstShard() {
+        assertArrayEquals(new int[]{-3, 0, 0}, ShardedSeatInventory.distribute(-3, 3));
+    }
+
+    private void givenCapacity(Integer maxAttendees, int registered) {
+        EventCapacityView capacity = new EventCapacityView() {
+            @Override
+            public Integer getMaxAttendees() {
+                return maxAttendees;
+            }
+
+            @Override
+            public int getRegisteredCount() {
+                return registered;
+            }
+        };
+        when(eventRepository.findCapacityById(eventId)).thenReturn(Optional.of(capacity));
+    }
+
+    private List<EventInventoryShard> shards(int... remaining) {
+        List<EventInventoryShard> shards = new ArrayList<>();
+        for (int shardNo = 0; shardNo < remaining.length; shardNo++) {
+            shards.add(new EventInventoryShard().setEventId(eventId).setShardNo(shardNo).setRemaining(remaining[shardNo]));
+        }
+        return shards;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<EventInventoryShard> savedShards() {
+        ArgumentCaptor<List<EventInventoryShard>> saved = ArgumentCaptor.forClass(List.class);
+        verify(shardRepository).saveAll(saved.capture());
+        return saved.getValue();
+    }
+
+    private static int[] remaining(List<EventInventoryShard> shards) {
+        return shards.stream().mapToInt(EventInventoryShard::getRemaining).toArray();
+    }
+}